@@ -0,0 +1,60 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the final call into a service implementation made by {@link MethodHandleInvoker} with the reflective
+ * {@link Method#invoke} used by CXF's JAXWSMethodInvoker, for a method taking an object and a primitive argument.
+ * <p>
+ * This class is in the bundle package to call the protected {@code performInvocation} method directly, without
+ * the CXF exchange set up shared by both invokers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvokerBenchmark {
+
+    public static class EchoService {
+        public String echo(String value, int times) {
+            return times == 1 ? value : value.repeat(times);
+        }
+    }
+
+    private EchoService service;
+    private Method method;
+    private MethodHandleInvoker methodHandleInvoker;
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        service = new EchoService();
+        method = EchoService.class.getMethod("echo", String.class, int.class);
+        methodHandleInvoker = new MethodHandleInvoker(service);
+        arguments = new Object[] { "value", 1 };
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return method.invoke(service, arguments);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Exception {
+        return methodHandleInvoker.performInvocation(null, service, method, arguments);
+    }
+}
@@ -29,6 +29,8 @@ import org.slf4j.LoggerFactory;
 import ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.mtomservice.MtomService;
 import ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.wsdlfirstservice.WsdlFirstService;
 
+import java.nio.file.Path;
+
 public class JakartaXmlWsExampleApplication extends Application<JakartaXmlWsExampleConfiguration> {
 
     private static final Logger LOG = LoggerFactory.getLogger(JakartaXmlWsExampleApplication.class);
@@ -68,10 +70,6 @@ public class JakartaXmlWsExampleApplication extends Application<JakartaXmlWsExam
         // publishEndpoint returns javax.xml.ws.Endpoint to enable further customization.
         // e.getProperties().put(...);
 
-        // Publish Hello world service again using different JakartaXmlWsBundle instance
-        endpoint = anotherJwsBundle.publishEndpoint(
-                new EndpointBuilder("/simple", new SimpleService()));
-
         // Java-first service protected with basic authentication
         endpoint = jwsBundle.publishEndpoint(
                 new EndpointBuilder("/javafirst", new JavaFirstServiceImpl())
@@ -92,17 +90,24 @@ public class JakartaXmlWsExampleApplication extends Application<JakartaXmlWsExam
                         new HibernateExampleService(personDAO))
                         .sessionFactory(hibernate.getSessionFactory()));
 
-        // Publish the same service again using different JakartaXmlWsBundle instance
-        endpoint = anotherJwsBundle.publishEndpoint(
+        // Publish Hello world and Hibernate services again using different JakartaXmlWsBundle instance.
+        // publishEndpoints prepares the endpoints concurrently and returns once all of them are published.
+        anotherJwsBundle.publishEndpoints(
+                new EndpointBuilder("/simple", new SimpleService()),
                 new EndpointBuilder("/hibernate",
                         new HibernateExampleService(personDAO))
                         .sessionFactory(hibernate.getSessionFactory()));
 
         // WSDL first service using MTOM. Invoking enableMTOM on EndpointBuilder is not necessary
         // if you use @MTOM Jakarta XML Web Services annotation on your service implementation class.
+        // Incoming attachments larger than 64 KB are spooled to disk instead of being held in memory.
+        var spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"));
         endpoint = jwsBundle.publishEndpoint(
-                new EndpointBuilder("/mtom", new MtomServiceImpl())
+                new EndpointBuilder("/mtom", new MtomServiceImpl(spoolDirectory))
                         .enableMtom()
+                        .attachmentMemoryThreshold(64 * 1024L)
+                        .attachmentDirectory(spoolDirectory)
+                        .attachmentMaxSize(100 * 1024 * 1024L)
         );
 
         // A RESTful resource that invokes WsdlFirstService on localhost and uses client side Jakarta XML Web Services handler.
@@ -1,17 +1,16 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws.example.ws;
 
 import com.codahale.metrics.annotation.Metered;
-import jakarta.activation.DataHandler;
 import jakarta.jws.WebService;
-import jakarta.mail.util.ByteArrayDataSource;
 import jakarta.xml.ws.soap.MTOM;
-import org.apache.cxf.helpers.IOUtils;
+import org.kiwiproject.dropwizard.jakarta.xml.ws.StreamingDataHandlers;
 import ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.mtomservice.Hello;
 import ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.mtomservice.HelloResponse;
 import ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.mtomservice.MtomService;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
 
 @MTOM // @MTOM annotation is not necessary if you invoke enableMtom on EndpointBuilder
 @WebService(endpointInterface = "ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org.mtomservice.MtomService",
@@ -19,15 +18,22 @@ import java.io.UncheckedIOException;
         name = "MtomService",
         wsdlLocation = "META-INF/MtomService.wsdl")
 public class MtomServiceImpl implements MtomService {
+
+    private final Path spoolDirectory;
+
+    public MtomServiceImpl(Path spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
     @Metered
     @Override
     public HelloResponse hello(Hello parameters) {
         try {
-            var bytes = IOUtils.readBytesFromStream(parameters.getBinary().getInputStream());
+            // Echo the attachment back by streaming it through a temporary file instead of a byte array,
+            // so that large attachments never have to fit in the heap.
             var response = new HelloResponse();
             response.setTitle(parameters.getTitle());
-            response.setBinary(new DataHandler(new ByteArrayDataSource(bytes,
-                    parameters.getBinary().getContentType())));
+            response.setBinary(StreamingDataHandlers.spoolToFile(parameters.getBinary(), spoolDirectory));
             return response;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -0,0 +1,128 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.collect.ImmutableList;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Reference results of a load test, stored in a properties file with the throughput (requests per second) and the
+ * p50 and p99 latencies (milliseconds) of each scenario, e.g. {@code simple.throughput}, {@code simple.p50} and
+ * {@code simple.p99}.
+ * <p>
+ * Results regress when the throughput of a scenario is lower than its baseline throughput, or a latency percentile
+ * is higher than its baseline latency, by more than the tolerance. Scenarios without baseline are not compared.
+ */
+public class Baseline {
+
+    private static final String THROUGHPUT = "throughput";
+    private static final String P50 = "p50";
+    private static final String P99 = "p99";
+
+    private final Properties properties;
+
+    private Baseline(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Read a baseline file.
+     *
+     * @param file Baseline file.
+     * @return Baseline.
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static Baseline read(Path file) {
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read baseline " + file, e);
+        }
+        return new Baseline(properties);
+    }
+
+    /**
+     * Create a baseline from load test results.
+     *
+     * @param results Results.
+     * @return Baseline.
+     */
+    public static Baseline of(List<ScenarioResult> results) {
+        var properties = new Properties();
+        for (var result : results) {
+            properties.setProperty(key(result.name(), THROUGHPUT), format(result.throughput()));
+            properties.setProperty(key(result.name(), P50), format(result.percentileMillis(50)));
+            properties.setProperty(key(result.name(), P99), format(result.percentileMillis(99)));
+        }
+        return new Baseline(properties);
+    }
+
+    /**
+     * Write this baseline to a file.
+     *
+     * @param file Baseline file.
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void write(Path file) {
+        try (var writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Load test baseline: throughput in requests/s, latencies in ms");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write baseline " + file, e);
+        }
+    }
+
+    /**
+     * Compare results with this baseline.
+     *
+     * @param results   Results.
+     * @param tolerance Relative regression tolerated, e.g. 0.2 for 20%.
+     * @return Descriptions of the regressions, empty if the results did not regress.
+     */
+    public ImmutableList<String> regressions(List<ScenarioResult> results, double tolerance) {
+        var regressions = ImmutableList.<String>builder();
+        for (var result : results) {
+            var throughput = baselineValue(result.name(), THROUGHPUT);
+            if (nonNull(throughput) && result.throughput() < throughput * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f requests/s is lower than baseline %.1f",
+                        result.name(), result.throughput(), throughput));
+            }
+            checkLatency(result, P50, 50, tolerance, regressions);
+            checkLatency(result, P99, 99, tolerance, regressions);
+        }
+        return regressions.build();
+    }
+
+    private void checkLatency(ScenarioResult result, String name, double percentile, double tolerance,
+                              ImmutableList.Builder<String> regressions) {
+        var latency = baselineValue(result.name(), name);
+        var actual = result.percentileMillis(percentile);
+        if (nonNull(latency) && actual > latency * (1 + tolerance)) {
+            regressions.add(String.format(Locale.ROOT, "%s: %s latency %.3f ms is higher than baseline %.3f ms",
+                    result.name(), name, actual, latency));
+        }
+    }
+
+    @Nullable
+    private Double baselineValue(String scenarioName, String name) {
+        var value = properties.getProperty(key(scenarioName, name));
+        return isNull(value) ? null : Double.valueOf(value);
+    }
+
+    private static String key(String scenarioName, String name) {
+        return scenarioName + "." + name;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
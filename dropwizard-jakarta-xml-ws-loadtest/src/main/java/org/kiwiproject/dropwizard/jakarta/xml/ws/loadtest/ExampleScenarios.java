@@ -0,0 +1,57 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Random;
+
+/**
+ * Scenarios calling the endpoints of {@code JakartaXmlWsExampleApplication}.
+ */
+public final class ExampleScenarios {
+
+    // Namespace derived from the package of SimpleService and HibernateExampleService
+    private static final String PACKAGE_NAMESPACE = "http://ws.example.ws.xml.jakarta.dropwizard.kiwiproject.org/";
+    private static final String WSDL_FIRST_NAMESPACE =
+            "http://org.kiwiproject.dropwizard.jakarta.xml.ws.example.ws/WsdlFirstService";
+    private static final String JAVA_FIRST_NAMESPACE = "http://org.kiwiproject.dropwizard.example/JavaFirstService";
+    private static final String MTOM_NAMESPACE =
+            "http://org.kiwiproject.dropwizard.jakarta.xml.ws.example.ws/MtomService";
+    private static final int MTOM_ATTACHMENT_SIZE = 16 * 1024;
+
+    private ExampleScenarios() {
+    }
+
+    /**
+     * Returns the scenarios of all the endpoints of the example application:
+     * <ul>
+     * <li>{@code simple}: echo of SimpleService,</li>
+     * <li>{@code wsdlfirst}: echo of WsdlFirstService, with its server handler and logging interceptors,</li>
+     * <li>{@code javafirst}: echo of JavaFirstService, with basic authentication,</li>
+     * <li>{@code hibernate}: list of the persons of HibernateExampleService, stored in H2, after creating one,</li>
+     * <li>{@code mtom}: hello of MtomService, with a 16 KB MTOM attachment.</li>
+     * </ul>
+     */
+    public static ImmutableList<Scenario> all() {
+        var attachment = new byte[MTOM_ATTACHMENT_SIZE];
+        new Random(0).nextBytes(attachment);
+
+        return ImmutableList.of(
+                Scenario.soap("simple", "/soap/simple",
+                        "<ws:echo xmlns:ws=\"" + PACKAGE_NAMESPACE + "\"><arg0>Hello</arg0></ws:echo>"),
+                Scenario.soap("wsdlfirst", "/soap/wsdlfirst",
+                        "<ws:Echo xmlns:ws=\"" + WSDL_FIRST_NAMESPACE + "\"><value>Hello</value></ws:Echo>"),
+                Scenario.soap("javafirst", "/soap/javafirst",
+                                "<ws:Echo xmlns:ws=\"" + JAVA_FIRST_NAMESPACE + "\">"
+                                        + "<EchoParameter>Hello</EchoParameter></ws:Echo>")
+                        .withBasicAuthentication("loadtest", "secret"),
+                Scenario.soap("hibernate", "/soap/hibernate",
+                                "<ws:getPersons xmlns:ws=\"" + PACKAGE_NAMESPACE + "\"/>")
+                        .withSetup("<ws:createPerson xmlns:ws=\"" + PACKAGE_NAMESPACE + "\"><arg0>"
+                                + "<fullName>Load Test</fullName><jobTitle>Tester</jobTitle></arg0></ws:createPerson>"),
+                Scenario.mtom("mtom", "/soap/mtom",
+                        "<ws:Hello xmlns:ws=\"" + MTOM_NAMESPACE + "\"><title>Hello</title><binary>"
+                                + "<xop:Include xmlns:xop=\"http://www.w3.org/2004/08/xop/include\""
+                                + " href=\"cid:attachment@loadtest\"/></binary></ws:Hello>",
+                        attachment));
+    }
+}
@@ -0,0 +1,179 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the requests of scenarios to an application over HTTP, and measures their latencies.
+ * <p>
+ * In a closed-loop run, a fixed number of clients each send a request as soon as they received the response of the
+ * previous one. In an open-loop run, requests are sent at a fixed rate without waiting for responses, and latencies
+ * are measured from the time each request was scheduled rather than sent, so that the latencies of requests delayed
+ * by a slow application are not underestimated (coordinated omission).
+ */
+public class LoadDriver implements AutoCloseable {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int OK = 200;
+
+    private final URI rootUri;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    /**
+     * @param rootUri Root URI of the application, e.g. {@code http://localhost:8080}.
+     */
+    public LoadDriver(URI rootUri) {
+        this.rootUri = rootUri;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("jakarta-xml-ws-loadtest-%d")
+                .setDaemon(true)
+                .build());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Send the setup request of a scenario, if it has one.
+     *
+     * @param scenario Scenario.
+     * @throws IOException           if the request cannot be sent
+     * @throws IllegalStateException if the response status is not 200 OK
+     * @throws InterruptedException  if interrupted
+     */
+    public void setUp(Scenario scenario) throws IOException, InterruptedException {
+        var request = scenario.setupRequest(rootUri);
+        if (isNull(request)) {
+            return;
+        }
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != OK) {
+            throw new IllegalStateException("Setup of scenario " + scenario.name() + " failed with status "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    /**
+     * Run a scenario.
+     *
+     * @param scenario Scenario.
+     * @param options  Options, providing the mode, concurrency and rate of the run.
+     * @param duration Duration of the run.
+     * @return Measurements of the run.
+     * @throws InterruptedException if interrupted
+     */
+    public ScenarioResult run(Scenario scenario, LoadTestOptions options, Duration duration)
+            throws InterruptedException {
+        var request = scenario.request(rootUri);
+        var latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        var errors = new LongAdder();
+
+        var start = System.nanoTime();
+        switch (options.mode()) {
+            case CLOSED -> runClosed(request, options.concurrency(), start + duration.toNanos(), latencies, errors);
+            case OPEN -> runOpen(request, options.rate(), start, duration.toNanos(), latencies, errors);
+        }
+        return new ScenarioResult(scenario.name(), latencies, errors.sum(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void runClosed(HttpRequest request, int concurrency, long end, Histogram latencies, LongAdder errors)
+            throws InterruptedException {
+        List<Future<?>> clients = new ArrayList<>(concurrency);
+        for (var i = 0; i < concurrency; i++) {
+            clients.add(executor.submit(() -> {
+                while (System.nanoTime() - end < 0) {
+                    var requestStart = System.nanoTime();
+                    if (send(request)) {
+                        latencies.recordValue(System.nanoTime() - requestStart);
+                    } else {
+                        errors.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (var client : clients) {
+            await(client);
+        }
+    }
+
+    private boolean send(HttpRequest request) throws InterruptedException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == OK;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void runOpen(HttpRequest request, int rate, long start, long durationNanos, Histogram latencies,
+                         LongAdder errors) throws InterruptedException {
+        var intervalNanos = 1e9 / rate;
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            var scheduled = start + (long) (i * intervalNanos);
+            if (scheduled - start >= durationNanos) {
+                break;
+            }
+            parkUntil(scheduled);
+            pending.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (isNull(error) && nonNull(response) && response.statusCode() == OK) {
+                            latencies.recordValue(System.nanoTime() - scheduled);
+                        } else {
+                            errors.increment();
+                        }
+                        return null;
+                    }));
+        }
+
+        await(CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)));
+    }
+
+    private static void parkUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private static void await(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test client failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports the results of a load test.
+ */
+public final class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private LoadReport() {
+    }
+
+    /**
+     * Print a table with the throughput and latency percentiles of each scenario.
+     *
+     * @param results Results.
+     * @param out     Stream the table is printed to.
+     */
+    public static void print(List<ScenarioResult> results, PrintStream out) {
+        out.printf(Locale.ROOT, "%-12s %10s %8s %12s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "requests/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (var result : results) {
+            out.printf(Locale.ROOT, "%-12s %10d %8d %12.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    result.name(), result.requests(), result.errors(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+                    result.percentileMillis(99.9), result.maxMillis());
+        }
+    }
+
+    /**
+     * Write the HdrHistogram percentile distribution of each scenario, in milliseconds, to a
+     * {@code <scenario>.hgrm} file, which can be plotted with the HdrHistogram plotter.
+     *
+     * @param results   Results.
+     * @param directory Directory of the files, created if needed.
+     * @throws UncheckedIOException if a file cannot be written
+     */
+    public static void writeHistograms(List<ScenarioResult> results, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (var result : results) {
+                var file = directory.resolve(result.name() + ".hgrm");
+                try (var out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                    result.latencies().outputPercentileDistribution(out, NANOS_PER_MILLI);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write histograms to " + directory, e);
+        }
+    }
+}
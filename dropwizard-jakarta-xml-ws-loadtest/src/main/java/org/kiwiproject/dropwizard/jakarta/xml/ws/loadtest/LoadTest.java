@@ -0,0 +1,128 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.kiwiproject.dropwizard.jakarta.xml.ws.example.JakartaXmlWsExampleApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Starts an application on random ports, runs load test scenarios against its endpoints, and reports the
+ * throughput and latency percentiles of each scenario. Each scenario is warmed up before being measured.
+ * <p>
+ * The {@link #main(String[])} method runs the {@link ExampleScenarios} against
+ * {@code JakartaXmlWsExampleApplication}, with {@link LoadTestOptions} read from system properties, and fails when
+ * requests fail or the results regress past the baseline file. Use {@link #run(DropwizardTestSupport, List,
+ * LoadTestOptions)} to load test another application using the bundle.
+ */
+public final class LoadTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.fromProperties(System.getProperties());
+        var application = new DropwizardTestSupport<>(JakartaXmlWsExampleApplication.class, "loadtest-config.yml",
+                new ResourceConfigurationSourceProvider(), ConfigOverride.randomPorts());
+
+        var results = run(application, ExampleScenarios.all(), options);
+        LoadReport.print(results, System.out);
+        check(results, options);
+    }
+
+    /**
+     * Start an application, run scenarios against it, and stop it.
+     *
+     * @param application Support of the application under test, not started yet.
+     * @param scenarios   Scenarios, run if included by the options.
+     * @param options     Options.
+     * @return Results of the scenarios that were run.
+     * @throws IllegalArgumentException if the options include unknown scenarios
+     * @throws Exception                if the application cannot be started, or a setup request fails
+     */
+    public static ImmutableList<ScenarioResult> run(DropwizardTestSupport<?> application, List<Scenario> scenarios,
+                                                    LoadTestOptions options) throws Exception {
+        var names = scenarios.stream().map(Scenario::name).toList();
+        var unknown = options.scenarios().stream().filter(name -> !names.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown scenarios " + unknown + ", expected some of " + names);
+        }
+
+        var results = ImmutableList.<ScenarioResult>builder();
+        application.before();
+        try (var driver = new LoadDriver(URI.create("http://localhost:" + application.getLocalPort()))) {
+            for (var scenario : scenarios) {
+                if (!options.includes(scenario.name())) {
+                    continue;
+                }
+                LOG.info("Running scenario {} ({} loop, warm-up {}, duration {})", scenario.name(),
+                        options.mode().name().toLowerCase(Locale.ROOT), options.warmUp(), options.duration());
+                driver.setUp(scenario);
+                if (!options.warmUp().isZero()) {
+                    driver.run(scenario, options, options.warmUp());
+                }
+                results.add(driver.run(scenario, options, options.duration()));
+            }
+        } finally {
+            application.after();
+        }
+
+        var scenarioResults = results.build();
+        var outputDirectory = options.outputDirectory();
+        if (nonNull(outputDirectory)) {
+            LoadReport.writeHistograms(scenarioResults, outputDirectory);
+            LOG.info("Wrote latency histograms to {}", outputDirectory);
+        }
+        return scenarioResults;
+    }
+
+    /**
+     * Check the results of a load test: write them to the baseline file if the options request it, or compare
+     * them with the baseline file if it exists.
+     *
+     * @param results Results.
+     * @param options Options.
+     * @throws IllegalStateException if requests failed, or the results regressed past the baseline
+     * @throws IOException           if the directory of the baseline file cannot be created
+     */
+    public static void check(List<ScenarioResult> results, LoadTestOptions options) throws IOException {
+        var failures = ImmutableList.<String>builder();
+        results.stream()
+                .filter(result -> result.errors() > 0)
+                .forEach(result -> failures.add(result.name() + ": " + result.errors() + " requests failed"));
+
+        var baseline = options.baseline();
+        if (isNull(baseline)) {
+            LOG.info("No baseline, results are not compared");
+        } else if (options.updateBaseline()) {
+            var parent = baseline.toAbsolutePath().getParent();
+            if (nonNull(parent)) {
+                Files.createDirectories(parent);
+            }
+            Baseline.of(results).write(baseline);
+            LOG.info("Wrote baseline {}", baseline);
+        } else if (Files.notExists(baseline)) {
+            LOG.warn("Baseline {} not found, results are not compared", baseline);
+        } else {
+            failures.addAll(Baseline.read(baseline).regressions(results, options.tolerance()));
+        }
+
+        var messages = failures.build();
+        if (!messages.isEmpty()) {
+            throw new IllegalStateException("Load test failed:\n" + String.join("\n", messages));
+        }
+    }
+}
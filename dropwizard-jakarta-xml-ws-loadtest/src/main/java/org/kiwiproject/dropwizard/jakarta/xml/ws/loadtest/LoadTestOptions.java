@@ -0,0 +1,111 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Options of a load test, read from {@code loadtest.*} properties:
+ * <ul>
+ * <li>{@code loadtest.mode}: {@code closed} (default) or {@code open},</li>
+ * <li>{@code loadtest.concurrency}: number of concurrent clients of a closed-loop test (default 8),</li>
+ * <li>{@code loadtest.rate}: requests per second sent by an open-loop test (default 200),</li>
+ * <li>{@code loadtest.warmUp}: duration of the warm-up of each scenario, e.g. {@code 5s} (default),</li>
+ * <li>{@code loadtest.duration}: duration of the measurement of each scenario, e.g. {@code 10s} (default),</li>
+ * <li>{@code loadtest.scenarios}: comma separated names of the scenarios to run (default all),</li>
+ * <li>{@code loadtest.baseline}: baseline file the results are compared with (default none),</li>
+ * <li>{@code loadtest.tolerance}: relative regression tolerated before failing, e.g. {@code 0.2} (default),</li>
+ * <li>{@code loadtest.updateBaseline}: {@code true} to write the results to the baseline file instead of
+ * comparing them (default false),</li>
+ * <li>{@code loadtest.outputDirectory}: directory the HdrHistogram percentile distributions are written to
+ * (default none).</li>
+ * </ul>
+ * Durations use the Dropwizard duration format.
+ */
+public record LoadTestOptions(Mode mode, int concurrency, int rate, Duration warmUp, Duration duration,
+                              ImmutableSet<String> scenarios, @Nullable Path baseline, double tolerance,
+                              boolean updateBaseline, @Nullable Path outputDirectory) {
+
+    /**
+     * How requests are sent.
+     */
+    public enum Mode {
+
+        /**
+         * A fixed number of clients each send a request as soon as they received the response of the previous one.
+         * Measures the maximum throughput.
+         */
+        CLOSED,
+
+        /**
+         * Requests are sent at a fixed rate, whatever the response times. Latencies are measured from the time each
+         * request was scheduled, so that they are not underestimated when the application falls behind.
+         */
+        OPEN
+    }
+
+    private static final String PREFIX = "loadtest.";
+
+    public LoadTestOptions {
+        checkArgument(nonNull(mode), "mode is null");
+        checkArgument(concurrency > 0, "concurrency must be positive");
+        checkArgument(rate > 0, "rate must be positive");
+        checkArgument(!warmUp.isNegative(), "warmUp must not be negative");
+        checkArgument(duration.compareTo(Duration.ZERO) > 0, "duration must be positive");
+        checkArgument(tolerance >= 0, "tolerance must not be negative");
+        checkArgument(!updateBaseline || nonNull(baseline), "updateBaseline requires a baseline");
+    }
+
+    /**
+     * Read the options from properties, e.g. system properties.
+     *
+     * @param properties Properties.
+     * @return Options.
+     * @throws IllegalArgumentException if a property is invalid
+     */
+    public static LoadTestOptions fromProperties(Properties properties) {
+        return new LoadTestOptions(
+                Mode.valueOf(property(properties, "mode", "closed").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(property(properties, "concurrency", "8")),
+                Integer.parseInt(property(properties, "rate", "200")),
+                duration(property(properties, "warmUp", "5s")),
+                duration(property(properties, "duration", "10s")),
+                ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings()
+                        .split(property(properties, "scenarios", ""))),
+                path(properties, "baseline"),
+                Double.parseDouble(property(properties, "tolerance", "0.2")),
+                Boolean.parseBoolean(property(properties, "updateBaseline", "false")),
+                path(properties, "outputDirectory"));
+    }
+
+    /**
+     * Returns whether the scenario of the given name is run.
+     */
+    public boolean includes(String scenarioName) {
+        return scenarios.isEmpty() || scenarios.contains(scenarioName);
+    }
+
+    private static String property(Properties properties, String name, String defaultValue) {
+        var value = properties.getProperty(PREFIX + name);
+        return (isNull(value) || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    @Nullable
+    private static Path path(Properties properties, String name) {
+        var value = property(properties, name, "");
+        return value.isEmpty() ? null : Path.of(value);
+    }
+
+    private static Duration duration(String value) {
+        return io.dropwizard.util.Duration.parse(value).toJavaDuration();
+    }
+}
@@ -0,0 +1,143 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * A SOAP request sent repeatedly to an endpoint during a load test.
+ *
+ * @param name        Name of the scenario, used in reports and baseline files.
+ * @param path        Path of the endpoint, relative to the application root, e.g. {@code /soap/simple}.
+ * @param contentType Content type of the request.
+ * @param body        Request body.
+ * @param userName    User name for HTTP basic authentication, or null.
+ * @param password    Password for HTTP basic authentication, or null.
+ * @param setupBody   SOAP envelope sent once before the scenario is run, e.g. to create test data, or null.
+ */
+public record Scenario(String name, String path, String contentType, byte[] body,
+                       @Nullable String userName, @Nullable String password, byte @Nullable [] setupBody) {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String SOAP_CONTENT_TYPE = "text/xml; charset=UTF-8";
+    private static final String MTOM_BOUNDARY = "jakarta-xml-ws-loadtest-boundary";
+    private static final String MTOM_ROOT_CONTENT_ID = "root.message@loadtest";
+
+    public Scenario {
+        checkArgument(nonNull(name) && !name.isBlank(), "name is blank");
+        checkArgument(nonNull(path) && path.startsWith("/"), "path must start with /");
+        checkArgument(nonNull(contentType), "contentType is null");
+        checkArgument(nonNull(body), "body is null");
+    }
+
+    /**
+     * Create a scenario sending a SOAP 1.1 envelope whose body contains the given payload.
+     *
+     * @param name    Name of the scenario.
+     * @param path    Path of the endpoint.
+     * @param payload Content of the SOAP body.
+     * @return Scenario.
+     */
+    public static Scenario soap(String name, String path, String payload) {
+        return new Scenario(name, path, SOAP_CONTENT_TYPE, envelope(payload), null, null, null);
+    }
+
+    /**
+     * Create a scenario sending a SOAP 1.1 envelope with an MTOM attachment. The payload references the attachment
+     * with {@code <xop:Include href="cid:attachment@loadtest"/>}, where the xop prefix is bound to
+     * {@code http://www.w3.org/2004/08/xop/include}.
+     *
+     * @param name       Name of the scenario.
+     * @param path       Path of the endpoint.
+     * @param payload    Content of the SOAP body.
+     * @param attachment Content of the binary attachment.
+     * @return Scenario.
+     */
+    public static Scenario mtom(String name, String path, String payload, byte[] attachment) {
+        var contentType = "multipart/related; type=\"application/xop+xml\"; boundary=\"" + MTOM_BOUNDARY
+                + "\"; start=\"<" + MTOM_ROOT_CONTENT_ID + ">\"; start-info=\"text/xml\"";
+
+        var body = new ByteArrayOutputStream();
+        body.writeBytes(ascii("--" + MTOM_BOUNDARY + "\r\n"
+                + "Content-Type: application/xop+xml; charset=UTF-8; type=\"text/xml\"\r\n"
+                + "Content-Transfer-Encoding: binary\r\n"
+                + "Content-ID: <" + MTOM_ROOT_CONTENT_ID + ">\r\n\r\n"));
+        body.writeBytes(envelope(payload));
+        body.writeBytes(ascii("\r\n--" + MTOM_BOUNDARY + "\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "Content-Transfer-Encoding: binary\r\n"
+                + "Content-ID: <attachment@loadtest>\r\n\r\n"));
+        body.writeBytes(attachment);
+        body.writeBytes(ascii("\r\n--" + MTOM_BOUNDARY + "--\r\n"));
+
+        return new Scenario(name, path, contentType, body.toByteArray(), null, null, null);
+    }
+
+    /**
+     * Returns a copy of this scenario sending HTTP basic authentication credentials.
+     */
+    public Scenario withBasicAuthentication(String userName, String password) {
+        return new Scenario(name, path, contentType, body, userName, password, setupBody);
+    }
+
+    /**
+     * Returns a copy of this scenario sending a SOAP envelope with the given payload once before it is run.
+     */
+    public Scenario withSetup(String setupPayload) {
+        return new Scenario(name, path, contentType, body, userName, password, envelope(setupPayload));
+    }
+
+    /**
+     * Build the HTTP request of this scenario.
+     *
+     * @param rootUri Root URI of the application, e.g. {@code http://localhost:8080}.
+     * @return HTTP request.
+     */
+    HttpRequest request(URI rootUri) {
+        return request(rootUri, contentType, body);
+    }
+
+    /**
+     * Build the HTTP request sent once before this scenario is run.
+     *
+     * @param rootUri Root URI of the application.
+     * @return HTTP request, or null if this scenario has no setup request.
+     */
+    @Nullable
+    HttpRequest setupRequest(URI rootUri) {
+        return isNull(setupBody) ? null : request(rootUri, SOAP_CONTENT_TYPE, setupBody);
+    }
+
+    private HttpRequest request(URI rootUri, String requestContentType, byte[] requestBody) {
+        var builder = HttpRequest.newBuilder(rootUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", requestContentType)
+                .header("SOAPAction", "\"\"")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        if (nonNull(userName) && nonNull(password)) {
+            var credentials = Base64.getEncoder()
+                    .encodeToString((userName + ":" + password).getBytes(StandardCharsets.UTF_8));
+            builder.header("Authorization", "Basic " + credentials);
+        }
+        return builder.build();
+    }
+
+    private static byte[] envelope(String payload) {
+        return ("<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<soapenv:Body>" + payload + "</soapenv:Body></soapenv:Envelope>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
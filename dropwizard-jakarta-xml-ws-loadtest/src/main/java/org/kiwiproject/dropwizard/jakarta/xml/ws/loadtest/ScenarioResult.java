@@ -0,0 +1,47 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * The measurements of a scenario.
+ *
+ * @param name      Name of the scenario.
+ * @param latencies Latencies of the successful requests, in nanoseconds.
+ * @param errors    Number of requests that failed or returned an HTTP error status, including SOAP faults.
+ * @param elapsed   Duration of the measurement.
+ */
+public record ScenarioResult(String name, Histogram latencies, long errors, Duration elapsed) {
+
+    /**
+     * Returns the number of successful requests.
+     */
+    public long requests() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * Returns the number of successful requests per second.
+     */
+    public double throughput() {
+        return requests() * 1e9 / Math.max(elapsed.toNanos(), 1);
+    }
+
+    /**
+     * Returns a latency percentile, in milliseconds.
+     *
+     * @param percentile Percentile, between 0 and 100.
+     * @return Latency of the percentile.
+     */
+    public double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * Returns the maximum latency, in milliseconds.
+     */
+    public double maxMillis() {
+        return latencies.getMaxValue() / 1e6;
+    }
+}
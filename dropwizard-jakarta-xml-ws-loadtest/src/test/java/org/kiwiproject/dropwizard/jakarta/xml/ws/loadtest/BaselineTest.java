@@ -0,0 +1,64 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class BaselineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsWrittenBaseline() {
+        var file = directory.resolve("baseline.properties");
+        Baseline.of(List.of(result("simple", 1000, 2_000_000))).write(file);
+
+        var baseline = Baseline.read(file);
+
+        assertAll(
+                () -> assertThat(baseline.regressions(List.of(result("simple", 1000, 2_000_000)), 0.2)).isEmpty(),
+                () -> assertThat(baseline.regressions(List.of(result("other", 10, 100_000_000)), 0.2)).isEmpty()
+        );
+    }
+
+    @Test
+    void detectsThroughputRegression() {
+        var baseline = Baseline.of(List.of(result("simple", 1000, 2_000_000)));
+
+        assertAll(
+                () -> assertThat(baseline.regressions(List.of(result("simple", 850, 2_000_000)), 0.2)).isEmpty(),
+                () -> assertThat(baseline.regressions(List.of(result("simple", 700, 2_000_000)), 0.2))
+                        .containsExactly("simple: throughput 700.0 requests/s is lower than baseline 1000.0")
+        );
+    }
+
+    @Test
+    void detectsLatencyRegression() {
+        var baseline = Baseline.of(List.of(result("simple", 1000, 2_000_000)));
+
+        assertAll(
+                () -> assertThat(baseline.regressions(List.of(result("simple", 1000, 2_300_000)), 0.2)).isEmpty(),
+                () -> assertThat(baseline.regressions(List.of(result("simple", 1000, 3_000_000)), 0.2))
+                        .satisfiesExactly(
+                                regression -> assertThat(regression).startsWith("simple: p50 latency 3.0"),
+                                regression -> assertThat(regression).startsWith("simple: p99 latency 3.0"))
+        );
+    }
+
+    /**
+     * Create the result of one second of requests with the same latency.
+     */
+    private static ScenarioResult result(String name, int requests, long latencyNanos) {
+        var latencies = new Histogram(3);
+        latencies.recordValueWithCount(latencyNanos, requests);
+        return new ScenarioResult(name, latencies, 0, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,69 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+class LoadTestOptionsTest {
+
+    @Test
+    void readsDefaults() {
+        var options = LoadTestOptions.fromProperties(new Properties());
+
+        assertAll(
+                () -> assertThat(options.mode()).isEqualTo(LoadTestOptions.Mode.CLOSED),
+                () -> assertThat(options.concurrency()).isEqualTo(8),
+                () -> assertThat(options.rate()).isEqualTo(200),
+                () -> assertThat(options.warmUp()).isEqualTo(Duration.ofSeconds(5)),
+                () -> assertThat(options.duration()).isEqualTo(Duration.ofSeconds(10)),
+                () -> assertThat(options.scenarios()).isEmpty(),
+                () -> assertThat(options.includes("simple")).isTrue(),
+                () -> assertThat(options.baseline()).isNull(),
+                () -> assertThat(options.tolerance()).isEqualTo(0.2),
+                () -> assertThat(options.updateBaseline()).isFalse(),
+                () -> assertThat(options.outputDirectory()).isNull()
+        );
+    }
+
+    @Test
+    void readsProperties() {
+        var properties = new Properties();
+        properties.setProperty("loadtest.mode", "open");
+        properties.setProperty("loadtest.rate", "500");
+        properties.setProperty("loadtest.warmUp", "0s");
+        properties.setProperty("loadtest.duration", "1 minute");
+        properties.setProperty("loadtest.scenarios", "simple, mtom");
+        properties.setProperty("loadtest.baseline", "baseline.properties");
+        properties.setProperty("loadtest.updateBaseline", "true");
+
+        var options = LoadTestOptions.fromProperties(properties);
+
+        assertAll(
+                () -> assertThat(options.mode()).isEqualTo(LoadTestOptions.Mode.OPEN),
+                () -> assertThat(options.rate()).isEqualTo(500),
+                () -> assertThat(options.warmUp()).isZero(),
+                () -> assertThat(options.duration()).isEqualTo(Duration.ofMinutes(1)),
+                () -> assertThat(options.scenarios()).containsExactly("simple", "mtom"),
+                () -> assertThat(options.includes("mtom")).isTrue(),
+                () -> assertThat(options.includes("hibernate")).isFalse(),
+                () -> assertThat(options.baseline()).isEqualTo(Path.of("baseline.properties")),
+                () -> assertThat(options.updateBaseline()).isTrue()
+        );
+    }
+
+    @Test
+    void rejectsUpdateBaselineWithoutBaseline() {
+        var properties = new Properties();
+        properties.setProperty("loadtest.updateBaseline", "true");
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> LoadTestOptions.fromProperties(properties))
+                .withMessage("updateBaseline requires a baseline");
+    }
+}
@@ -0,0 +1,81 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.google.common.collect.ImmutableSet;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.dropwizard.jakarta.xml.ws.example.JakartaXmlWsExampleApplication;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+class LoadTestTest {
+
+    /**
+     * Tag of the tests starting the example application, which only run with the load-test profile.
+     */
+    static final String LOAD_TEST = "load-test";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag(LOAD_TEST)
+    void runsExampleScenarios() throws Exception {
+        var baseline = directory.resolve("baseline.properties");
+        var options = new LoadTestOptions(LoadTestOptions.Mode.CLOSED, 2, 1, Duration.ZERO, Duration.ofMillis(500),
+                ImmutableSet.of(), baseline, 0.2, true, directory);
+        var application = new DropwizardTestSupport<>(JakartaXmlWsExampleApplication.class, "loadtest-config.yml",
+                new ResourceConfigurationSourceProvider(), ConfigOverride.randomPorts());
+
+        var results = LoadTest.run(application, ExampleScenarios.all(), options);
+        LoadTest.check(results, options);
+
+        assertAll(
+                () -> assertThat(results).extracting(ScenarioResult::name)
+                        .containsExactly("simple", "wsdlfirst", "javafirst", "hibernate", "mtom"),
+                () -> assertThat(results).allSatisfy(result -> {
+                    assertThat(result.requests()).isPositive();
+                    assertThat(result.errors()).isZero();
+                }),
+                () -> assertThat(baseline).exists(),
+                () -> assertThat(directory.resolve("simple.hgrm")).exists()
+        );
+    }
+
+    @Test
+    @Tag(LOAD_TEST)
+    void runsOpenLoop() throws Exception {
+        var options = new LoadTestOptions(LoadTestOptions.Mode.OPEN, 1, 100, Duration.ZERO, Duration.ofMillis(500),
+                ImmutableSet.of("simple"), null, 0.2, false, null);
+        var application = new DropwizardTestSupport<>(JakartaXmlWsExampleApplication.class, "loadtest-config.yml",
+                new ResourceConfigurationSourceProvider(), ConfigOverride.randomPorts());
+
+        var results = LoadTest.run(application, ExampleScenarios.all(), options);
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.requests()).isEqualTo(50);
+            assertThat(result.errors()).isZero();
+        });
+    }
+
+    @Test
+    void failsWhenRequestsFail() {
+        var options = new LoadTestOptions(LoadTestOptions.Mode.CLOSED, 1, 1, Duration.ZERO, Duration.ofSeconds(1),
+                ImmutableSet.of(), null, 0.2, false, null);
+        var results = List.of(new ScenarioResult("simple", new Histogram(3), 3, Duration.ofSeconds(1)));
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> LoadTest.check(results, options))
+                .withMessage("Load test failed:\nsimple: 3 requests failed");
+    }
+}
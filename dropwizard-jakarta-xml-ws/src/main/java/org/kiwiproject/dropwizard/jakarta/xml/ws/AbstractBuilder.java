@@ -1,15 +1,29 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.cxf.attachment.AttachmentDeserializer;
 import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.message.Message;
 
+import java.nio.file.Path;
+
 /**
  * Contains common code for ClientBuilder and EndpointBuilder.
  */
 public abstract class AbstractBuilder {
 
     protected boolean mtomEnabled = false;
+    protected Integer mtomThreshold;
+    protected Long attachmentMemoryThreshold;
+    protected Path attachmentDirectory;
+    protected Long attachmentMaxSize;
+    protected Integer compressionThreshold;
+    protected boolean fastInfosetEnabled = false;
+    protected boolean payloadSizeMetricsEnabled = false;
     protected ImmutableList<Interceptor<? extends Message>> cxfInInterceptors;
     protected ImmutableList<Interceptor<? extends Message>> cxfInFaultInterceptors;
     protected ImmutableList<Interceptor<? extends Message>> cxfOutInterceptors;
@@ -19,6 +33,59 @@ public abstract class AbstractBuilder {
         return mtomEnabled;
     }
 
+    public Integer getMtomThreshold() {
+        return mtomThreshold;
+    }
+
+    public Long getAttachmentMemoryThreshold() {
+        return attachmentMemoryThreshold;
+    }
+
+    public Path getAttachmentDirectory() {
+        return attachmentDirectory;
+    }
+
+    public Long getAttachmentMaxSize() {
+        return attachmentMaxSize;
+    }
+
+    public boolean isCompressionEnabled() {
+        return nonNull(compressionThreshold);
+    }
+
+    public Integer getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public boolean isPayloadSizeMetricsEnabled() {
+        return payloadSizeMetricsEnabled;
+    }
+
+    public boolean isFastInfosetEnabled() {
+        return fastInfosetEnabled;
+    }
+
+    /**
+     * Returns the CXF contextual properties that configure MTOM optimization and attachment spooling, containing
+     * only the options that were explicitly set on this builder.
+     */
+    public ImmutableMap<String, Object> getMtomProperties() {
+        var properties = ImmutableMap.<String, Object>builder();
+        if (nonNull(mtomThreshold)) {
+            properties.put(Message.MTOM_THRESHOLD, mtomThreshold);
+        }
+        if (nonNull(attachmentMemoryThreshold)) {
+            properties.put(AttachmentDeserializer.ATTACHMENT_MEMORY_THRESHOLD, attachmentMemoryThreshold);
+        }
+        if (nonNull(attachmentDirectory)) {
+            properties.put(AttachmentDeserializer.ATTACHMENT_DIRECTORY, attachmentDirectory.toString());
+        }
+        if (nonNull(attachmentMaxSize)) {
+            properties.put(AttachmentDeserializer.ATTACHMENT_MAX_SIZE, attachmentMaxSize);
+        }
+        return properties.build();
+    }
+
     public ImmutableList<Interceptor<? extends Message>> getCxfInInterceptors() {
         return cxfInInterceptors;
     }
@@ -101,4 +168,90 @@ public abstract class AbstractBuilder {
         this.mtomEnabled = true;
         return this;
     }
+
+    /**
+     * Set the minimum size of binary content that is sent as an MTOM attachment. Smaller content is inlined
+     * as base64 in the SOAP body. Only applies when MTOM is enabled.
+     *
+     * @param bytes Threshold in bytes.
+     */
+    public AbstractBuilder mtomThreshold(int bytes) {
+        checkArgument(bytes >= 0, "mtomThreshold must not be negative");
+        this.mtomThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Set the size above which incoming attachments are spooled to disk instead of being held in memory.
+     *
+     * @param bytes Threshold in bytes.
+     */
+    public AbstractBuilder attachmentMemoryThreshold(long bytes) {
+        checkArgument(bytes >= 0, "attachmentMemoryThreshold must not be negative");
+        this.attachmentMemoryThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * Set the directory used for spooling incoming attachments that exceed the memory threshold. When not set,
+     * CXF uses the directory given by the java.io.tmpdir system property.
+     *
+     * @param directory Spool directory.
+     */
+    public AbstractBuilder attachmentDirectory(Path directory) {
+        checkArgument(nonNull(directory), "attachmentDirectory is null");
+        this.attachmentDirectory = directory;
+        return this;
+    }
+
+    /**
+     * Set the maximum size of a single incoming attachment. Larger attachments are rejected with a fault.
+     *
+     * @param bytes Maximum attachment size in bytes.
+     */
+    public AbstractBuilder attachmentMaxSize(long bytes) {
+        checkArgument(bytes > 0, "attachmentMaxSize must be positive");
+        this.attachmentMaxSize = bytes;
+        return this;
+    }
+
+    /**
+     * Enable GZIP compression of outgoing messages using the CXF GZIP feature. Compression is negotiated using
+     * the Accept-Encoding and Content-Encoding HTTP headers, and incoming gzip or deflate encoded messages are
+     * decompressed. Sizes of outgoing messages before and after compression are recorded as metrics.
+     *
+     * @param minimumSize Messages smaller than this number of bytes are sent uncompressed.
+     * @see org.apache.cxf.transport.common.gzip.GZIPFeature
+     */
+    public AbstractBuilder compression(int minimumSize) {
+        checkArgument(minimumSize >= 0, "minimumSize must not be negative");
+        this.compressionThreshold = minimumSize;
+        return this;
+    }
+
+    /**
+     * Enable Fast Infoset binary XML encoding using the CXF Fast Infoset feature. Fast Infoset is negotiated using
+     * the application/fastinfoset media type in the Accept and Content-Type HTTP headers; peers that do not
+     * negotiate it keep using textual XML.
+     * <p>
+     * Requires the com.sun.xml.fastinfoset:FastInfoset library on the classpath.
+     *
+     * @see org.apache.cxf.feature.FastInfosetFeature
+     */
+    public AbstractBuilder enableFastInfoset() {
+        this.fastInfosetEnabled = true;
+        return this;
+    }
+
+    /**
+     * Record the sizes of request and response messages, including MTOM attachments, in histograms per operation
+     * named {@code <service class>.<operation>.requestBytes} and {@code <service class>.<operation>.responseBytes}.
+     * Messages are counted as they are streamed and are not buffered.
+     *
+     * @see PayloadSizeMetricsInterceptor
+     */
+    public AbstractBuilder payloadSizeMetrics() {
+        this.payloadSizeMetricsEnabled = true;
+        return this;
+    }
 }
@@ -4,6 +4,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
+import com.codahale.metrics.Meter;
 import io.dropwizard.auth.AuthenticationException;
 import io.dropwizard.auth.basic.BasicCredentials;
 import org.apache.cxf.common.security.SecurityToken;
@@ -16,6 +17,7 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.transport.Conduit;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +45,7 @@ public class BasicAuthenticationInterceptor<P extends Principal> extends Abstrac
     public static final String PRINCIPAL_KEY = "dropwizard.jakarta.xml.ws.principal";
 
     private BasicAuthentication<P> authentication;
+    private Meter rejectedMeter;
 
     public BasicAuthenticationInterceptor() {
         super(Phase.UNMARSHAL);
@@ -52,6 +55,14 @@ public class BasicAuthenticationInterceptor<P extends Principal> extends Abstrac
         this.authentication = authentication;
     }
 
+    /**
+     * Set a meter marked for each rejected request. Rejected requests are answered with an HTTP error status
+     * instead of a SOAP fault, so they are not counted by fault metrics.
+     */
+    public void setRejectedMeter(@Nullable Meter rejectedMeter) {
+        this.rejectedMeter = rejectedMeter;
+    }
+
     @Override
     public void handleMessage(final Message message) throws Fault {
 
@@ -93,6 +104,9 @@ public class BasicAuthenticationInterceptor<P extends Principal> extends Abstrac
     }
 
     private void sendErrorResponse(Message message, int responseCode) {
+        if (nonNull(rejectedMeter)) {
+            rejectedMeter.mark();
+        }
         var outMessage = getOutMessage(message);
         outMessage.put(Message.RESPONSE_CODE, responseCode);
         // Set the response headers
@@ -0,0 +1,283 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.common.util.UrlUtils;
+import org.apache.cxf.frontend.WSDLGetInterceptor;
+import org.apache.cxf.frontend.WSDLGetUtils;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * A CXF interceptor that serves {@code ?wsdl} and {@code ?xsd=} requests from a per-endpoint cache of rendered
+ * documents, instead of regenerating them from the service model on every request as {@link WSDLGetInterceptor}
+ * does.
+ * <p>
+ * Documents are rendered once per base address and requested document, so the address rewriting performed by
+ * CXF for published endpoint URLs and the request base URL is preserved. The cache key is made of the request
+ * URL, with its scheme and host in lower case and without a default port, and of the {@code xsd} or
+ * {@code wsdl} parameter value; other query parameters are ignored. At most 256 documents are cached per
+ * endpoint, the least recently used ones being evicted first. Cached responses carry ETag and
+ * Last-Modified headers, conditional requests are answered with 304 Not Modified, and when enabled a
+ * pre-compressed body is served to clients accepting gzip.
+ */
+public class CachingWsdlGetInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingWsdlGetInterceptor.class);
+
+    private static final String CONTENT_TYPE = "text/xml; charset=UTF-8";
+    private static final int MAX_CACHED_DOCUMENTS = 256;
+
+    private final boolean gzipEnabled;
+    private final Cache<String, CachedDocument> documents =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_DOCUMENTS).build();
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter notModified;
+
+    /**
+     * @param gzipEnabled    Whether to serve gzip compressed documents to clients that accept them.
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix for the hits, misses and notModified meters.
+     */
+    public CachingWsdlGetInterceptor(boolean gzipEnabled, MetricRegistry metricRegistry, String metricPrefix) {
+        super(Phase.RECEIVE);
+        addBefore(WSDLGetInterceptor.class.getName());
+        this.gzipEnabled = gzipEnabled;
+        this.hits = metricRegistry.meter(MetricRegistry.name(metricPrefix, "hits"));
+        this.misses = metricRegistry.meter(MetricRegistry.name(metricPrefix, "misses"));
+        this.notModified = metricRegistry.meter(MetricRegistry.name(metricPrefix, "notModified"));
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var method = (String) message.get(Message.HTTP_REQUEST_METHOD);
+        var query = (String) message.get(Message.QUERY_STRING);
+        if (!"GET".equals(method) || StringUtils.isEmpty(query)) {
+            return;
+        }
+
+        var params = UrlUtils.parseQueryString(query);
+        if (!params.containsKey("wsdl") && !params.containsKey("xsd")) {
+            return;
+        }
+
+        var baseUri = normalizeBaseUri((String) message.get(Message.REQUEST_URL));
+        // CXF gives xsd precedence over wsdl, and ignores other parameters
+        var documentParam = params.containsKey("xsd") ? "xsd" : "wsdl";
+        var documentValue = params.get(documentParam);
+        var cacheKey = baseUri + "?" + documentParam + "=" + documentValue;
+        var document = documents.getIfPresent(cacheKey);
+        if (isNull(document)) {
+            misses.mark();
+            document = render(message, baseUri, Collections.singletonMap(documentParam, documentValue));
+            documents.put(cacheKey, document);
+        } else {
+            hits.mark();
+        }
+
+        try {
+            sendResponse(message, document);
+        } catch (IOException e) {
+            throw new Fault(e);
+        }
+    }
+
+    int cachedDocumentCount() {
+        return (int) documents.size();
+    }
+
+    /**
+     * Returns the request URL with its scheme and host in lower case and without the default port of its scheme,
+     * or the request URL as is when it is not an absolute URI.
+     */
+    @Nullable
+    static String normalizeBaseUri(@Nullable String requestUrl) {
+        if (isNull(requestUrl)) {
+            return null;
+        }
+        try {
+            var uri = new URI(requestUrl);
+            if (isNull(uri.getScheme()) || isNull(uri.getHost())) {
+                return requestUrl;
+            }
+            var scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            var port = uri.getPort();
+            if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+                port = -1;
+            }
+            return new URI(scheme, uri.getUserInfo(), uri.getHost().toLowerCase(Locale.ROOT), port,
+                    uri.getPath(), null, null).toString();
+        } catch (URISyntaxException e) {
+            return requestUrl;
+        }
+    }
+
+    private CachedDocument render(Message message, @Nullable String baseUri, Map<String, String> params) {
+        var ctx = (String) message.get(Message.PATH_INFO);
+        var utils = (WSDLGetUtils) message.getContextualProperty(WSDLGetUtils.class.getName());
+        if (isNull(utils)) {
+            utils = new WSDLGetUtils();
+        }
+
+        var endpoint = message.getExchange().getEndpoint();
+        var out = new ByteArrayOutputStream();
+        try {
+            // CXF does not allow two documents to be generated for the same endpoint at the same time
+            synchronized (endpoint) {
+                var doc = utils.getDocument(message, baseUri, params, ctx, endpoint.getEndpointInfo());
+                StaxUtils.writeTo(doc, out);
+            }
+        } catch (XMLStreamException e) {
+            throw new Fault(e);
+        }
+
+        LOG.debug("Rendered and cached {}?{}", baseUri, params);
+        return new CachedDocument(out.toByteArray(), gzipEnabled);
+    }
+
+    private void sendResponse(Message message, CachedDocument document) throws IOException {
+        var requestHeaders = CastUtils.<String, List<String>>cast(
+                (Map<?, ?>) message.get(Message.PROTOCOL_HEADERS));
+
+        var responseHeaders = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        responseHeaders.put("ETag", List.of(document.etag));
+        responseHeaders.put("Last-Modified", List.of(DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(document.lastModified, ZoneOffset.UTC))));
+        responseHeaders.put("Vary", List.of("Accept-Encoding"));
+
+        byte[] body;
+        int responseCode;
+        if (isNotModified(requestHeaders, document)) {
+            notModified.mark();
+            responseCode = 304;
+            body = new byte[0];
+        } else if (nonNull(document.gzipped) && acceptsGzip(requestHeaders)) {
+            responseCode = 200;
+            body = document.gzipped;
+            responseHeaders.put("Content-Encoding", List.of("gzip"));
+        } else {
+            responseCode = 200;
+            body = document.content;
+        }
+        responseHeaders.put("Content-Length", List.of(String.valueOf(body.length)));
+
+        var exchange = message.getExchange();
+        var outMessage = new MessageImpl();
+        outMessage.setExchange(exchange);
+        exchange.setOutMessage(outMessage);
+        outMessage.put(Message.RESPONSE_CODE, responseCode);
+        outMessage.put(Message.CONTENT_TYPE, CONTENT_TYPE);
+        outMessage.put(Message.PROTOCOL_HEADERS, responseHeaders);
+
+        message.getInterceptorChain().abort();
+
+        var conduit = exchange.getDestination().getBackChannel(message);
+        exchange.setConduit(conduit);
+        conduit.prepare(outMessage);
+
+        var outputStream = outMessage.getContent(OutputStream.class);
+        outputStream.write(body);
+        outputStream.flush();
+        outputStream.close();
+    }
+
+    private static boolean isNotModified(Map<String, List<String>> requestHeaders, CachedDocument document) {
+        var ifNoneMatch = header(requestHeaders, "If-None-Match");
+        if (nonNull(ifNoneMatch)) {
+            return ifNoneMatch.equals("*") || ifNoneMatch.contains(document.etag);
+        }
+
+        var ifModifiedSince = header(requestHeaders, "If-Modified-Since");
+        if (nonNull(ifModifiedSince)) {
+            try {
+                var since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return !document.lastModified.isAfter(since);
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(Map<String, List<String>> requestHeaders) {
+        var acceptEncoding = header(requestHeaders, "Accept-Encoding");
+        return nonNull(acceptEncoding) && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static String header(Map<String, List<String>> headers, String name) {
+        if (isNull(headers)) {
+            return null;
+        }
+        for (var entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && nonNull(entry.getValue()) && !entry.getValue().isEmpty()) {
+                return String.join(",", entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A rendered document with its validators and optional pre-compressed body.
+     */
+    static class CachedDocument {
+
+        final byte[] content;
+        final byte[] gzipped;
+        final String etag;
+        final Instant lastModified;
+
+        CachedDocument(byte[] content, boolean gzip) {
+            this.content = content;
+            this.gzipped = gzip ? gzip(content) : null;
+            this.etag = "\"" + Hashing.sha256().hashBytes(content) + "\"";
+            // HTTP dates have second precision
+            this.lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        private static byte[] gzip(byte[] content) {
+            var out = new ByteArrayOutputStream(content.length / 4);
+            try (var gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(content);
+            } catch (IOException e) {
+                throw new Fault(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import com.google.common.base.Ticker;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A circuit breaker for the calls to a target address. After a number of consecutive failed calls the circuit opens
+ * and calls are rejected without being sent, until the open duration has elapsed. A single trial call is then
+ * allowed: the circuit closes if it succeeds, or opens again if it fails.
+ *
+ * @see ResilientClientProxy
+ */
+public class CircuitBreaker {
+
+    /**
+     * Signals that a call was rejected without being sent because the circuit breakers of all the addresses it
+     * could be sent to are open.
+     */
+    public static class OpenException extends IOException {
+
+        public OpenException(String message) {
+            super(message);
+        }
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final Ticker ticker;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * @param failureThreshold Number of consecutive failures opening the circuit.
+     * @param openDuration     Time the circuit stays open before a trial call is allowed.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Ticker.systemTicker());
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Ticker ticker) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns whether a call may be sent. When the open duration has elapsed, only the first caller is allowed,
+     * as the trial call.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (ticker.read() - openedAt >= openDurationNanos) {
+                    state = State.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Record a call that reached the target address, including calls returning a SOAP fault.
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Record a call that failed to reach the target address, e.g. because of a connection error or timeout.
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = ticker.read();
+        }
+    }
+
+    /**
+     * Returns whether calls are currently rejected.
+     */
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+}
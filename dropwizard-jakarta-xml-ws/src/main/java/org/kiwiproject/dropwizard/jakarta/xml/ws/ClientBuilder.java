@@ -4,15 +4,25 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import jakarta.xml.ws.handler.Handler;
 import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.message.Message;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+
 /**
  * Jakarta XML Web Services/CXF client builder.
  */
 public class ClientBuilder<T> extends AbstractBuilder {
 
+    /**
+     * Maximum delay before a retry, unless set with {@link #retry(int, Duration, Duration)}.
+     */
+    public static final Duration DEFAULT_RETRY_MAX_BACKOFF = Duration.ofSeconds(10);
+
     final Class<T> serviceClass;
     final String address;
     private int connectTimeout = 500;
@@ -20,6 +30,21 @@ public class ClientBuilder<T> extends AbstractBuilder {
     @SuppressWarnings("rawtypes")
     ImmutableList<Handler> handlers;
     String bindingId;
+    boolean requestCompressionForced;
+    boolean fastInfosetRequestsForced;
+    boolean operationMetricsEnabled;
+    ImmutableSet<String> idempotentOperations = ImmutableSet.of();
+    int retryMaxAttempts = 1;
+    Duration retryBackoff = Duration.ZERO;
+    Duration retryMaxBackoff = DEFAULT_RETRY_MAX_BACKOFF;
+    int circuitBreakerFailureThreshold;
+    Duration circuitBreakerOpenDuration;
+    double hedgePercentile;
+    ImmutableList<String> otherAddresses = ImmutableList.of();
+    LoadBalancingInterceptor.Strategy loadBalancingStrategy;
+    Consumer<T> warmUpInvocation;
+    int warmUpConnections;
+    boolean inProcess;
 
     public Class<T> getServiceClass() {
         return serviceClass;
@@ -29,6 +54,37 @@ public class ClientBuilder<T> extends AbstractBuilder {
         return address;
     }
 
+    /**
+     * Returns the address given to the constructor, followed by the other addresses used for load balancing.
+     */
+    public ImmutableList<String> getAddresses() {
+        return ImmutableList.<String>builder().add(address).addAll(otherAddresses).build();
+    }
+
+    public boolean isLoadBalancingEnabled() {
+        return nonNull(loadBalancingStrategy);
+    }
+
+    public LoadBalancingInterceptor.Strategy getLoadBalancingStrategy() {
+        return loadBalancingStrategy;
+    }
+
+    public boolean isWarmUpEnabled() {
+        return nonNull(warmUpInvocation);
+    }
+
+    public Consumer<T> getWarmUpInvocation() {
+        return warmUpInvocation;
+    }
+
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    public boolean isInProcess() {
+        return inProcess;
+    }
+
     public int getConnectTimeout() {
         return connectTimeout;
     }
@@ -46,6 +102,62 @@ public class ClientBuilder<T> extends AbstractBuilder {
         return bindingId;
     }
 
+    public boolean isRequestCompressionForced() {
+        return requestCompressionForced;
+    }
+
+    public boolean isFastInfosetRequestsForced() {
+        return fastInfosetRequestsForced;
+    }
+
+    public boolean isOperationMetricsEnabled() {
+        return operationMetricsEnabled;
+    }
+
+    public ImmutableSet<String> getIdempotentOperations() {
+        return idempotentOperations;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerFailureThreshold > 0;
+    }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgePercentile > 0;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * Returns whether the client proxy is wrapped to retry, short-circuit or hedge calls.
+     */
+    public boolean isResilienceEnabled() {
+        return retryMaxAttempts > 1 || isCircuitBreakerEnabled() || isHedgingEnabled()
+                || getAddresses().size() > 1;
+    }
+
     /**
      * Create a new ClientBuilder. Endpoint will be published relative to the CXF servlet path.
      *
@@ -138,4 +250,253 @@ public class ClientBuilder<T> extends AbstractBuilder {
     public ClientBuilder<T> enableMtom() {
         return (ClientBuilder<T>) super.enableMtom();
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> mtomThreshold(int bytes) {
+        return (ClientBuilder<T>) super.mtomThreshold(bytes);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> attachmentMemoryThreshold(long bytes) {
+        return (ClientBuilder<T>) super.attachmentMemoryThreshold(bytes);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> attachmentDirectory(Path directory) {
+        return (ClientBuilder<T>) super.attachmentDirectory(directory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> attachmentMaxSize(long bytes) {
+        return (ClientBuilder<T>) super.attachmentMaxSize(bytes);
+    }
+
+    /**
+     * Enable GZIP compression. The client advertises gzip support using the Accept-Encoding header, so that
+     * responses are compressed by servers that support it. Requests are sent uncompressed; use
+     * {@link #compression(int, boolean)} to also compress requests.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> compression(int minimumSize) {
+        return (ClientBuilder<T>) super.compression(minimumSize);
+    }
+
+    /**
+     * Enable GZIP compression, optionally compressing requests as well as accepting compressed responses.
+     * Only force request compression when the server is known to accept gzip encoded requests.
+     *
+     * @param minimumSize             Messages smaller than this number of bytes are sent uncompressed.
+     * @param forceRequestCompression Whether requests are compressed without prior negotiation.
+     * @return ClientBuilder instance.
+     */
+    public ClientBuilder<T> compression(int minimumSize, boolean forceRequestCompression) {
+        this.requestCompressionForced = forceRequestCompression;
+        return compression(minimumSize);
+    }
+
+    /**
+     * Advertise Fast Infoset support in the Accept header, so that servers supporting it respond using Fast
+     * Infoset. Requests are sent as textual XML; use {@link #enableFastInfoset(boolean)} to also encode requests.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> enableFastInfoset() {
+        return (ClientBuilder<T>) super.enableFastInfoset();
+    }
+
+    /**
+     * Enable Fast Infoset, optionally encoding requests as well as accepting encoded responses.
+     * Only force request encoding when the server is known to accept Fast Infoset, e.g. another endpoint
+     * published with {@link EndpointBuilder#enableFastInfoset()}.
+     *
+     * @param forceRequests Whether requests are encoded using Fast Infoset without prior negotiation.
+     * @return ClientBuilder instance.
+     */
+    public ClientBuilder<T> enableFastInfoset(boolean forceRequests) {
+        this.fastInfosetRequestsForced = forceRequests;
+        return enableFastInfoset();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ClientBuilder<T> payloadSizeMetrics() {
+        return (ClientBuilder<T>) super.payloadSizeMetrics();
+    }
+
+    /**
+     * Record a timer, error meters by cause (connect timeout, receive timeout, HTTP error, SOAP fault) and an
+     * in-flight counter for each operation called through the client, named after the service interface and
+     * operation, e.g. {@code SimpleService.echo}.
+     *
+     * @return ClientBuilder instance.
+     * @see ClientMetricsInterceptor
+     */
+    public ClientBuilder<T> operationMetrics() {
+        this.operationMetricsEnabled = true;
+        return this;
+    }
+
+    /**
+     * Mark operations as idempotent, so that they can be retried and hedged. Operations are identified by the
+     * name of their method in the service interface.
+     *
+     * @param operationNames Method names of idempotent operations.
+     * @return ClientBuilder instance.
+     */
+    public ClientBuilder<T> idempotentOperations(String... operationNames) {
+        checkArgument(nonNull(operationNames), "operationNames is null");
+        this.idempotentOperations = ImmutableSet.copyOf(operationNames);
+        return this;
+    }
+
+    /**
+     * Retry calls to idempotent operations that fail to reach the target address, e.g. on connection errors,
+     * timeouts and HTTP errors. SOAP faults are not retried. The delay before each retry doubles, starting at the
+     * given backoff, up to {@link #DEFAULT_RETRY_MAX_BACKOFF} or the given backoff if it is longer. Retries are
+     * counted in a {@code <service interface>.<operation>.retries} meter.
+     *
+     * @param maxAttempts Maximum number of attempts, including the first call.
+     * @param backoff     Delay before the first retry.
+     * @return ClientBuilder instance.
+     * @see #retry(int, Duration, Duration)
+     */
+    public ClientBuilder<T> retry(int maxAttempts, Duration backoff) {
+        checkArgument(nonNull(backoff) && !backoff.isNegative(), "backoff must not be negative");
+        return retry(maxAttempts, backoff,
+                backoff.compareTo(DEFAULT_RETRY_MAX_BACKOFF) > 0 ? backoff : DEFAULT_RETRY_MAX_BACKOFF);
+    }
+
+    /**
+     * Retry calls to idempotent operations that fail to reach the target address, e.g. on connection errors,
+     * timeouts and HTTP errors. SOAP faults are not retried. The delay before each retry doubles, starting at the
+     * given backoff, up to the given maximum. Each delay is randomized between half and all of its value, so that
+     * clients failing at the same time do not retry at the same time. Retries are counted in a
+     * {@code <service interface>.<operation>.retries} meter.
+     *
+     * @param maxAttempts Maximum number of attempts, including the first call.
+     * @param backoff     Delay before the first retry.
+     * @param maxBackoff  Maximum delay before a retry.
+     * @return ClientBuilder instance.
+     * @see #idempotentOperations(String...)
+     */
+    public ClientBuilder<T> retry(int maxAttempts, Duration backoff, Duration maxBackoff) {
+        checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        checkArgument(nonNull(backoff) && !backoff.isNegative(), "backoff must not be negative");
+        checkArgument(nonNull(maxBackoff) && maxBackoff.compareTo(backoff) >= 0,
+                "maxBackoff must not be less than backoff");
+        this.retryMaxAttempts = maxAttempts;
+        this.retryBackoff = backoff;
+        this.retryMaxBackoff = maxBackoff;
+        return this;
+    }
+
+    /**
+     * Reject calls without sending them while the target address is failing. Each address has its own circuit
+     * breaker, shared by all clients of the address created by the environment, which opens after the given number
+     * of consecutive calls failing to reach the address. When load balancing, addresses whose circuit breaker is
+     * open are not selected, and calls are only rejected when the circuit breakers of all addresses are open.
+     * Rejected calls throw a WebServiceException and are counted in a
+     * {@code <service interface>.circuitBreaker.shortCircuits} meter.
+     *
+     * @param failureThreshold Number of consecutive failures opening the circuit.
+     * @param openDuration     Time the circuit stays open before a trial call is allowed.
+     * @return ClientBuilder instance.
+     * @see CircuitBreaker
+     */
+    public ClientBuilder<T> circuitBreaker(int failureThreshold, Duration openDuration) {
+        checkArgument(failureThreshold > 0, "failureThreshold must be positive");
+        checkArgument(nonNull(openDuration) && !openDuration.isNegative(), "openDuration must not be negative");
+        this.circuitBreakerFailureThreshold = failureThreshold;
+        this.circuitBreakerOpenDuration = openDuration;
+        return this;
+    }
+
+    /**
+     * Send a second, hedged request for calls to idempotent operations that have not completed after the given
+     * percentile of the operation's recent latencies, and use the first successful response. Hedged requests are
+     * counted in a {@code <service interface>.<operation>.hedges} meter. Calls run on a bounded executor of the
+     * environment, shut down when the application stops, and are not hedged while it is saturated. The slower
+     * call is not interrupted: it keeps running until its response is received or its receive timeout elapses.
+     *
+     * @param percentile Latency percentile after which a hedged request is sent, e.g. 0.95.
+     * @return ClientBuilder instance.
+     * @see #idempotentOperations(String...)
+     */
+    public ClientBuilder<T> hedge(double percentile) {
+        checkArgument(percentile > 0 && percentile < 1, "percentile must be between 0 and 1");
+        this.hedgePercentile = percentile;
+        return this;
+    }
+
+    /**
+     * Spread calls across several addresses of the endpoint, e.g. the replicas of a backend, starting with the
+     * address given to the constructor. Calls that fail to connect to an address are sent again to another address,
+     * whether their operation is idempotent or not, and the address is not used for a while. Failovers are counted
+     * in a {@code <service interface>.<operation>.failovers} meter, and requests in metrics per address.
+     *
+     * @param strategy       How the address of each call is selected.
+     * @param otherAddresses Other addresses of the endpoint.
+     * @return ClientBuilder instance.
+     * @see LoadBalancingInterceptor
+     */
+    public ClientBuilder<T> loadBalancing(LoadBalancingInterceptor.Strategy strategy, String... otherAddresses) {
+        checkArgument(nonNull(strategy), "strategy is null");
+        checkArgument(nonNull(otherAddresses), "otherAddresses is null");
+        this.loadBalancingStrategy = strategy;
+        this.otherAddresses = ImmutableList.copyOf(otherAddresses);
+        return this;
+    }
+
+    /**
+     * Warm up the client at startup, by calling the given invocation with the client proxy.
+     *
+     * @param invocation Calls made to warm up the client, e.g. calls of read-only operations.
+     * @return ClientBuilder instance.
+     * @see #warmUp(int, Consumer)
+     */
+    public ClientBuilder<T> warmUp(Consumer<T> invocation) {
+        return warmUp(1, invocation);
+    }
+
+    /**
+     * Warm up the client at startup, by calling the given invocation with the client proxy from the given number
+     * of threads at the same time. This initializes the JAXB marshallers and interceptor chains of the client,
+     * compiles its hot paths, and leaves as many pooled connections open to the target address.
+     * <p>
+     * Clients created through the bundle are warmed up once the server has started, so they can call endpoints
+     * of the same application, and the warm-up health check of the bundle
+     * ({@link JakartaXmlWsBundle#getWarmUpHealthCheckName()}) is unhealthy until then. Failed warm-ups are logged,
+     * and do not prevent the application from starting.
+     *
+     * @param connections Number of concurrent invocations.
+     * @param invocation  Calls made to warm up the client, e.g. calls of read-only operations.
+     * @return ClientBuilder instance.
+     * @see JakartaXmlWsEnvironment#warmUpClients()
+     */
+    public ClientBuilder<T> warmUp(int connections, Consumer<T> invocation) {
+        checkArgument(connections > 0, "connections must be positive");
+        checkArgument(nonNull(invocation), "invocation is null");
+        this.warmUpConnections = connections;
+        this.warmUpInvocation = invocation;
+        return this;
+    }
+
+    /**
+     * Call an endpoint published by the same environment in-process, through CXF's local transport with direct
+     * dispatch, instead of over HTTP. The endpoint is identified by the path of the address relative to the
+     * environment's root path, e.g. {@code http://localhost:8080/soap/simple} calls the {@code /simple} endpoint of
+     * the {@code /soap} environment. In-process calls are counted in a {@code <service interface>.inProcess} meter.
+     *
+     * @return ClientBuilder instance.
+     * @see InProcessTransport
+     */
+    public ClientBuilder<T> inProcess() {
+        this.inProcess = true;
+        return this;
+    }
 }
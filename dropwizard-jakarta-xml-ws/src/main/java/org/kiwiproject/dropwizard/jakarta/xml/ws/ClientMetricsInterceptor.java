@@ -0,0 +1,236 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.InterceptorProvider;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.http.HTTPException;
+import org.jspecify.annotations.Nullable;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A CXF client interceptor that instruments the operations called through a client proxy, with metrics named
+ * after the service interface and operation, e.g. {@code SimpleService.echo}:
+ * <ul>
+ * <li>a timer of the calls, from the start of the request until the response or error is received,</li>
+ * <li>an {@code errors} meter, and {@code errors.connectTimeout}, {@code errors.receiveTimeout},
+ * {@code errors.httpError}, {@code errors.soapFault} and {@code errors.other} meters by cause,</li>
+ * <li>an {@code inFlight} counter of the calls in progress.</li>
+ * </ul>
+ * The interceptor starts timing in the first phase of the outgoing chain, and completes when the response or the
+ * fault has been read, when a one-way request has been sent, or when the outgoing or incoming chain fails, e.g. on
+ * transport errors or malformed responses. Use {@link #install(InterceptorProvider)} to add it and its companion
+ * interceptors to a client.
+ */
+public class ClientMetricsInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final String CALL = ClientMetricsInterceptor.class.getName() + ".call";
+
+    private final MetricRegistry metricRegistry;
+    private final String metricPrefix;
+    private final Map<String, OperationMetrics> operationMetrics = new ConcurrentHashMap<>();
+    private final ResponseInterceptor responseInterceptor = new ResponseInterceptor();
+    private final ResponseFailureInterceptor responseFailureInterceptor = new ResponseFailureInterceptor();
+    private final SentInterceptor sentInterceptor = new SentInterceptor();
+
+    /**
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the metric names, e.g. the service interface name.
+     */
+    public ClientMetricsInterceptor(MetricRegistry metricRegistry, String metricPrefix) {
+        super(Phase.SETUP);
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = metricPrefix;
+    }
+
+    /**
+     * Add this interceptor and its companion interceptors, which complete the calls, to the given client or proxy
+     * factory.
+     *
+     * @param interceptorProvider Client or proxy factory.
+     */
+    public void install(InterceptorProvider interceptorProvider) {
+        interceptorProvider.getOutInterceptors().add(this);
+        interceptorProvider.getOutInterceptors().add(sentInterceptor);
+        interceptorProvider.getInInterceptors().add(responseInterceptor);
+        interceptorProvider.getInInterceptors().add(responseFailureInterceptor);
+        interceptorProvider.getInFaultInterceptors().add(responseInterceptor);
+        interceptorProvider.getInFaultInterceptors().add(responseFailureInterceptor);
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var exchange = message.getExchange();
+        var bindingOperationInfo = isNull(exchange) ? null : exchange.getBindingOperationInfo();
+        if (isNull(bindingOperationInfo)) {
+            return;
+        }
+
+        var metrics = operationMetrics.computeIfAbsent(bindingOperationInfo.getName().getLocalPart(),
+                operationName -> new OperationMetrics(MetricRegistry.name(metricPrefix, operationName)));
+        metrics.inFlight.inc();
+        exchange.put(CALL, new Call(metrics, metrics.timer.time()));
+    }
+
+    @Override
+    public void handleFault(Message message) {
+        var exception = message.getContent(Exception.class);
+        complete(message.getExchange(), isNull(exception) ? "other" : transportErrorType(exception));
+    }
+
+    /**
+     * Completes the call of the exchange, if it is not completed yet.
+     *
+     * @param exchange  Message exchange.
+     * @param errorType Type of error, or null if the call succeeded.
+     */
+    private void complete(@Nullable Exchange exchange, @Nullable String errorType) {
+        var call = isNull(exchange) ? null : (Call) exchange.remove(CALL);
+        if (isNull(call)) {
+            return;
+        }
+
+        call.timerContext.stop();
+        call.metrics.inFlight.dec();
+        if (nonNull(errorType)) {
+            call.metrics.errors.mark();
+            metricRegistry.meter(MetricRegistry.name(call.metrics.name, "errors", errorType)).mark();
+        }
+    }
+
+    /**
+     * Returns the type of error of an exception raised while sending a request or receiving its response.
+     */
+    static String transportErrorType(Throwable exception) {
+        for (var cause = exception; nonNull(cause); cause = cause.getCause()) {
+            if (cause instanceof HttpConnectTimeoutException) {
+                return "connectTimeout";
+            } else if (cause instanceof HttpTimeoutException) {
+                return "receiveTimeout";
+            } else if (cause instanceof SocketTimeoutException) {
+                var message = String.valueOf(cause.getMessage()).toLowerCase(Locale.ROOT);
+                return message.contains("connect") ? "connectTimeout" : "receiveTimeout";
+            } else if (cause instanceof HTTPException) {
+                return "httpError";
+            }
+        }
+        return "other";
+    }
+
+    private class OperationMetrics {
+
+        private final String name;
+        private final Timer timer;
+        private final Meter errors;
+        private final Counter inFlight;
+
+        OperationMetrics(String name) {
+            this.name = name;
+            this.timer = metricRegistry.timer(name);
+            this.errors = metricRegistry.meter(MetricRegistry.name(name, "errors"));
+            this.inFlight = metricRegistry.counter(MetricRegistry.name(name, "inFlight"));
+        }
+    }
+
+    private record Call(OperationMetrics metrics, Timer.Context timerContext) {
+    }
+
+    /**
+     * Completes calls once their response, or the SOAP fault returned instead, has been read.
+     */
+    private class ResponseInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        ResponseInterceptor() {
+            super(ClientMetricsInterceptor.class.getName() + ".response", Phase.POST_LOGICAL);
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var exchange = message.getExchange();
+            if (isNull(exchange)) {
+                return;
+            }
+            var failed = nonNull(message.getContent(Exception.class)) || message == exchange.getInFaultMessage();
+            complete(exchange, failed ? "soapFault" : null);
+        }
+    }
+
+    /**
+     * Completes calls whose response or fault could not be read, e.g. malformed responses. It runs first in the
+     * incoming chain so that it is unwound when a later interceptor fails, which is the only notification of such
+     * failures for asynchronous calls.
+     */
+    private class ResponseFailureInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        ResponseFailureInterceptor() {
+            super(ClientMetricsInterceptor.class.getName() + ".responseFailure", Phase.RECEIVE);
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            // Calls are completed by the response interceptor, or by handleFault when reading fails
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            var exchange = message.getExchange();
+            if (isNull(exchange)) {
+                return;
+            }
+            complete(exchange, message == exchange.getInFaultMessage()
+                    ? "soapFault"
+                    : responseErrorType(message.getContent(Exception.class)));
+        }
+    }
+
+    /**
+     * Returns the type of error of an exception raised while reading a response, which is not a SOAP fault.
+     */
+    private static String responseErrorType(@Nullable Exception exception) {
+        return isNull(exception) ? "other" : transportErrorType(exception);
+    }
+
+    /**
+     * Completes calls once their request has been sent: one-way calls, and synchronous calls whose response has
+     * been handled while sending, in case the response was not seen by the response interceptor.
+     */
+    private class SentInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        SentInterceptor() {
+            super(ClientMetricsInterceptor.class.getName() + ".sent", Phase.PREPARE_SEND_ENDING);
+            addAfter(MessageSenderInterceptor.MessageSenderEndingInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var exchange = message.getExchange();
+            if (isNull(exchange)) {
+                return;
+            }
+            if (exchange.isOneWay()) {
+                complete(exchange, null);
+            } else if (nonNull(exchange.getInFaultMessage())) {
+                complete(exchange, "soapFault");
+            } else if (nonNull(exchange.getInMessage())) {
+                var exception = exchange.getInMessage().getContent(Exception.class);
+                complete(exchange, isNull(exception) ? null : responseErrorType(exception));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.io.CountingOutputStream;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A CXF out interceptor that records the size of outgoing messages in a histogram. It is installed twice
+ * around CXF's {@link GZIPOutInterceptor}: once before it, to count the bytes written to the transport
+ * (i.e. after compression), and once after it, to count the bytes produced by marshalling (i.e. before
+ * compression).
+ * <p>
+ * The output stream is wrapped with a counting stream, so the payload is never buffered by this interceptor.
+ */
+public class CompressionMetricsInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private final Histogram histogram;
+
+    private CompressionMetricsInterceptor(Histogram histogram, boolean beforeCompression) {
+        super(Phase.PREPARE_SEND);
+        this.histogram = histogram;
+        addAfter(MessageSenderInterceptor.class.getName());
+        if (beforeCompression) {
+            addAfter(GZIPOutInterceptor.class.getName());
+        } else {
+            addBefore(GZIPOutInterceptor.class.getName());
+        }
+    }
+
+    /**
+     * Create an interceptor recording message sizes before compression.
+     *
+     * @param histogram Histogram for uncompressed message sizes in bytes.
+     */
+    public static CompressionMetricsInterceptor uncompressed(Histogram histogram) {
+        return new CompressionMetricsInterceptor(histogram, true);
+    }
+
+    /**
+     * Create an interceptor recording message sizes after compression, as written to the transport.
+     *
+     * @param histogram Histogram for compressed message sizes in bytes.
+     */
+    public static CompressionMetricsInterceptor compressed(Histogram histogram) {
+        return new CompressionMetricsInterceptor(histogram, false);
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var outputStream = message.getContent(OutputStream.class);
+        if (nonNull(outputStream)) {
+            message.setContent(OutputStream.class, new RecordingOutputStream(outputStream, histogram));
+        }
+    }
+
+    /**
+     * Counts bytes written and records the total in the histogram when the stream is closed.
+     */
+    static class RecordingOutputStream extends CountingOutputStream {
+
+        private final Histogram histogram;
+        private boolean closed;
+
+        RecordingOutputStream(OutputStream out, Histogram histogram) {
+            super(out);
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    histogram.update(getCount());
+                }
+            }
+        }
+    }
+}
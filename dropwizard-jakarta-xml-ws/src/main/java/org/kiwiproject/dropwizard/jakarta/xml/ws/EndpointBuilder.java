@@ -3,12 +3,17 @@ package org.kiwiproject.dropwizard.jakarta.xml.ws;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
 
+import com.codahale.metrics.Reservoir;
+import com.google.common.collect.ImmutableList;
 import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.message.Message;
 import org.hibernate.SessionFactory;
 
+import java.nio.file.Path;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Jakarta XML Web Services/CXF server endpoint builder.
@@ -21,6 +26,20 @@ public class EndpointBuilder extends AbstractBuilder {
     SessionFactory sessionFactory;
     BasicAuthentication<? extends Principal> authentication;
     Map<String, Object> properties;
+    boolean wsdlCachingEnabled;
+    boolean wsdlGzipEnabled;
+    boolean lazy;
+    boolean methodHandleInvocation;
+    boolean metricsPerEndpoint;
+    boolean instrumentAllOperations;
+    boolean phaseTimingMetrics;
+    boolean faultMetrics;
+    Supplier<Reservoir> timerReservoirSupplier;
+    Supplier<?> instanceSupplier;
+    int maxInstances;
+    Duration poolMaxWait = ServiceInstanceFactories.PooledInstanceFactory.DEFAULT_MAX_WAIT;
+    ImmutableList<String> warmUpRequests = ImmutableList.of();
+    int warmUpMaxIterations;
 
     public String getPath() {
         return path;
@@ -47,6 +66,72 @@ public class EndpointBuilder extends AbstractBuilder {
         return properties;
     }
 
+    public boolean isWsdlCachingEnabled() {
+        return wsdlCachingEnabled;
+    }
+
+    public boolean isWsdlGzipEnabled() {
+        return wsdlGzipEnabled;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isMethodHandleInvocation() {
+        return methodHandleInvocation;
+    }
+
+    public boolean isMetricsPerEndpoint() {
+        return metricsPerEndpoint;
+    }
+
+    public boolean isInstrumentAllOperations() {
+        return instrumentAllOperations;
+    }
+
+    public boolean isPhaseTimingMetrics() {
+        return phaseTimingMetrics;
+    }
+
+    public boolean isFaultMetrics() {
+        return faultMetrics;
+    }
+
+    public boolean isWarmUpEnabled() {
+        return !warmUpRequests.isEmpty();
+    }
+
+    public ImmutableList<String> getWarmUpRequests() {
+        return warmUpRequests;
+    }
+
+    public int getWarmUpMaxIterations() {
+        return warmUpMaxIterations;
+    }
+
+    public Supplier<Reservoir> getTimerReservoirSupplier() {
+        return timerReservoirSupplier;
+    }
+
+    public Supplier<?> getInstanceSupplier() {
+        return instanceSupplier;
+    }
+
+    /**
+     * Returns the maximum number of pooled service instances, or zero when a new instance is created per request.
+     */
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    /**
+     * Returns the maximum time a request waits for a pooled service instance.
+     */
+    public Duration getPoolMaxWait() {
+        return poolMaxWait;
+    }
+
     /**
      * Create new EndpointBuilder. Endpoint will be published relative to the CXF servlet path.
      *
@@ -131,4 +216,224 @@ public class EndpointBuilder extends AbstractBuilder {
         this.properties = properties;
         return this;
     }
+
+    /**
+     * Defer building the CXF endpoint, JAXB context and invoker chain until the first request for the endpoint
+     * path arrives. This reduces startup time and idle heap for rarely used endpoints, at the cost of a slower
+     * first request. The one-time initialization latency is recorded in a lazyInitialization timer.
+     * <p>
+     * Lazy initialization is triggered by the CXF servlet, so it only applies to endpoints served over HTTP.
+     */
+    public EndpointBuilder lazy() {
+        this.lazy = true;
+        return this;
+    }
+
+    /**
+     * Serve requests with a bounded pool of service instances created by the given supplier, instead of the single
+     * service instance, for service implementations that are not thread-safe. Each instance serves one request at
+     * a time; when all instances are in use, requests wait for one to be released, for at most
+     * {@link ServiceInstanceFactories.PooledInstanceFactory#DEFAULT_MAX_WAIT}.
+     * <p>
+     * The service instance given to the constructor is only used to build the endpoint. Resources such as
+     * WebServiceContext are injected into each pooled instance when it is created.
+     *
+     * @param instanceSupplier Supplier of new service instances, of the same class as the service.
+     * @param maxInstances     Maximum number of service instances.
+     * @see ServiceInstanceFactories.PooledInstanceFactory
+     */
+    public EndpointBuilder pooled(Supplier<?> instanceSupplier, int maxInstances) {
+        return pooled(instanceSupplier, maxInstances,
+                ServiceInstanceFactories.PooledInstanceFactory.DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Serve requests with a bounded pool of service instances created by the given supplier, as with
+     * {@link #pooled(Supplier, int)}. Requests waiting longer than the given maximum for an instance fail with a
+     * SOAP fault.
+     *
+     * @param instanceSupplier Supplier of new service instances, of the same class as the service.
+     * @param maxInstances     Maximum number of service instances.
+     * @param maxWait          Maximum time a request waits for a service instance.
+     * @see ServiceInstanceFactories.PooledInstanceFactory
+     */
+    public EndpointBuilder pooled(Supplier<?> instanceSupplier, int maxInstances, Duration maxWait) {
+        checkArgument(nonNull(instanceSupplier), "instanceSupplier is null");
+        checkArgument(maxInstances > 0, "maxInstances must be positive");
+        checkArgument(nonNull(maxWait) && !maxWait.isNegative(), "maxWait must not be negative");
+        this.instanceSupplier = instanceSupplier;
+        this.maxInstances = maxInstances;
+        this.poolMaxWait = maxWait;
+        return this;
+    }
+
+    /**
+     * Serve each request with a new service instance created by the given supplier, instead of the single service
+     * instance. The service instance given to the constructor is only used to build the endpoint. Resources such as
+     * WebServiceContext are injected into each new instance.
+     *
+     * @param instanceSupplier Supplier of new service instances, of the same class as the service.
+     */
+    public EndpointBuilder perRequest(Supplier<?> instanceSupplier) {
+        checkArgument(nonNull(instanceSupplier), "instanceSupplier is null");
+        this.instanceSupplier = instanceSupplier;
+        this.maxInstances = 0;
+        return this;
+    }
+
+    /**
+     * Include the bundle path and endpoint path in the names of the endpoint metrics, so the same service published
+     * on several paths gets separate metrics. For example, the timer of a @Timed method foo of SimpleService
+     * published on /simple in the /soap bundle is named {@code SimpleService.soap.simple.foo} instead of
+     * {@code SimpleService.foo}. Absolute metric names get the paths appended.
+     */
+    public EndpointBuilder metricsPerEndpoint() {
+        this.metricsPerEndpoint = true;
+        return this;
+    }
+
+    /**
+     * Create the operation timers of the endpoint with reservoirs from the given supplier, instead of the default
+     * exponentially decaying reservoir. For example, {@code () -> new SlidingTimeWindowArrayReservoir(1, MINUTES)}
+     * keeps all measurements of the last minute, or an HdrHistogram based reservoir keeps accurate tail latency
+     * percentiles with bounded memory.
+     * <p>
+     * Timers are shared by name in the metric registry, so a timer that already exists keeps its reservoir.
+     *
+     * @param timerReservoirSupplier Supplier of timer reservoirs.
+     */
+    public EndpointBuilder timerReservoir(Supplier<Reservoir> timerReservoirSupplier) {
+        checkArgument(nonNull(timerReservoirSupplier), "timerReservoirSupplier is null");
+        this.timerReservoirSupplier = timerReservoirSupplier;
+        return this;
+    }
+
+    /**
+     * Count the faults returned by the endpoint per operation, by SOAP fault code, declared @WebFault exception,
+     * validation failure and unexpected exception, whether raised by the service or by an interceptor. Requests
+     * rejected by basic authentication are counted in an {@code authentication.rejected} meter.
+     *
+     * @see FaultMetricsInterceptor
+     */
+    public EndpointBuilder faultMetrics() {
+        this.faultMetrics = true;
+        return this;
+    }
+
+    /**
+     * Record the time spent in each CXF interceptor phase (receive, read, unmarshal, invoke, marshal, send, ...)
+     * of requests and responses, in histograms per operation. This adds a few interceptors to the chain of each
+     * message, so it is meant for diagnosing where time is spent rather than to be always enabled.
+     *
+     * @see PhaseTimingInterceptor
+     */
+    public EndpointBuilder phaseTimingMetrics() {
+        this.phaseTimingMetrics = true;
+        return this;
+    }
+
+    /**
+     * Warm up the endpoint at startup, before the server accepts requests, by replaying the given SOAP requests
+     * through it in-process using CXF's local transport. This exercises parsing, JAXB, validation, the invoker chain
+     * and the service implementation without any network I/O. The requests are replayed in rounds until no method
+     * was JIT compiled during a round, or until they have been replayed the given maximum number of times.
+     * <p>
+     * Warm-up requests go through the endpoint's interceptors, so they are counted in its metrics, and must be
+     * accepted by the service implementation, e.g. read-only requests. The warm-up fails when a request of a
+     * request-response operation is answered with a SOAP fault, and one-way requests are sent without waiting for
+     * their processing. Lazy endpoints are not warmed up.
+     *
+     * @param maxIterations Maximum number of times the requests are replayed.
+     * @param soapRequests  SOAP request envelopes.
+     * @see EndpointWarmUp
+     */
+    public EndpointBuilder warmUp(int maxIterations, String... soapRequests) {
+        checkArgument(maxIterations > 0, "maxIterations must be positive");
+        checkArgument(nonNull(soapRequests) && soapRequests.length > 0, "soapRequests is empty");
+        this.warmUpMaxIterations = maxIterations;
+        this.warmUpRequests = ImmutableList.copyOf(soapRequests);
+        return this;
+    }
+
+    /**
+     * Instrument every operation of the endpoint with a timer, an exception meter and an in-flight counter, without
+     * requiring @Timed or @ExceptionMetered annotations on the service methods.
+     *
+     * @see InstrumentedInvokerFactory#createDefaultMetrics
+     */
+    public EndpointBuilder instrumentAllOperations() {
+        this.instrumentAllOperations = true;
+        return this;
+    }
+
+    /**
+     * Invoke service methods through method handles bound at publish time, instead of CXF's reflective
+     * invocation.
+     *
+     * @see MethodHandleInvoker
+     */
+    public EndpointBuilder methodHandleInvocation() {
+        this.methodHandleInvocation = true;
+        return this;
+    }
+
+    /**
+     * Serve ?wsdl and ?xsd= requests from a cache of rendered documents, with ETag and Last-Modified support.
+     *
+     * @see CachingWsdlGetInterceptor
+     */
+    public EndpointBuilder cacheWsdl() {
+        return cacheWsdl(false);
+    }
+
+    /**
+     * Serve ?wsdl and ?xsd= requests from a cache of rendered documents, with ETag and Last-Modified support.
+     *
+     * @param gzipEnabled Whether to also serve pre-compressed documents to clients accepting gzip.
+     * @see CachingWsdlGetInterceptor
+     */
+    public EndpointBuilder cacheWsdl(boolean gzipEnabled) {
+        this.wsdlCachingEnabled = true;
+        this.wsdlGzipEnabled = gzipEnabled;
+        return this;
+    }
+
+    @Override
+    public EndpointBuilder mtomThreshold(int bytes) {
+        return (EndpointBuilder) super.mtomThreshold(bytes);
+    }
+
+    @Override
+    public EndpointBuilder attachmentMemoryThreshold(long bytes) {
+        return (EndpointBuilder) super.attachmentMemoryThreshold(bytes);
+    }
+
+    @Override
+    public EndpointBuilder attachmentDirectory(Path directory) {
+        return (EndpointBuilder) super.attachmentDirectory(directory);
+    }
+
+    @Override
+    public EndpointBuilder attachmentMaxSize(long bytes) {
+        return (EndpointBuilder) super.attachmentMaxSize(bytes);
+    }
+
+    @Override
+    public EndpointBuilder compression(int minimumSize) {
+        return (EndpointBuilder) super.compression(minimumSize);
+    }
+
+    /**
+     * Accept Fast Infoset encoded requests, and respond using Fast Infoset to clients that advertise it in the
+     * Accept header. Other clients continue to receive textual XML.
+     */
+    @Override
+    public EndpointBuilder enableFastInfoset() {
+        return (EndpointBuilder) super.enableFastInfoset();
+    }
+
+    @Override
+    public EndpointBuilder payloadSizeMetrics() {
+        return (EndpointBuilder) super.payloadSizeMetrics();
+    }
 }
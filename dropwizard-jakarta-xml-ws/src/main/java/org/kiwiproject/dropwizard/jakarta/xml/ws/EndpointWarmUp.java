@@ -0,0 +1,312 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.Soap12;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.MessageObserver;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Warms up a published endpoint by replaying SOAP requests through it in-process. A CXF local transport destination
+ * is temporarily bound to the message observer of the endpoint's server, so the requests go through the same
+ * interceptor chains and invokers as requests received by the CXF servlet, without network I/O.
+ * <p>
+ * Requests are replayed in rounds of {@value #ROUND_ITERATIONS} iterations, until the total JIT compilation time of
+ * the JVM did not increase during a round, or until the maximum number of iterations is reached. When the JVM does
+ * not support compilation time monitoring, the maximum number of iterations is always replayed.
+ * <p>
+ * Requests for one-way operations are sent without waiting for a response. The warm-up fails when a request for
+ * a request-response operation is answered with a SOAP fault or an error response, e.g. when the endpoint requires
+ * authentication that the request does not provide.
+ */
+public class EndpointWarmUp {
+
+    /**
+     * Number of iterations between two checks of the JIT compilation time.
+     */
+    static final int ROUND_ITERATIONS = 50;
+
+    private static final long RESPONSE_TIMEOUT_SECONDS = 30;
+
+    private static final Set<String> SOAP_ENVELOPE_NAMESPACES =
+            Set.of(Soap11.SOAP_NAMESPACE, Soap12.SOAP_NAMESPACE);
+
+    private final Bus bus;
+    private final Server server;
+    private final List<Request> requests;
+    private final int maxIterations;
+
+    /**
+     * A warm-up request, with whether it is for a one-way operation.
+     */
+    private record Request(byte[] content, boolean oneWay) {
+    }
+
+    /**
+     * A response received through the local transport.
+     */
+    private record Response(@Nullable Integer responseCode, byte[] content) {
+    }
+
+    /**
+     * @param bus           CXF bus of the endpoint.
+     * @param server        Published server of the endpoint.
+     * @param soapRequests  SOAP request envelopes.
+     * @param maxIterations Maximum number of times the requests are replayed.
+     */
+    public EndpointWarmUp(Bus bus, Server server, List<String> soapRequests, int maxIterations) {
+        checkArgument(nonNull(server), "server is null");
+        checkArgument(nonNull(soapRequests) && !soapRequests.isEmpty(), "soapRequests is empty");
+        checkArgument(maxIterations > 0, "maxIterations must be positive");
+        this.bus = bus;
+        this.server = server;
+        var endpointInfo = server.getEndpoint().getEndpointInfo();
+        this.requests = soapRequests.stream()
+                .map(request -> request.getBytes(StandardCharsets.UTF_8))
+                .map(content -> new Request(content, isOneWay(endpointInfo, bodyElement(content))))
+                .toList();
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Replay the requests through the endpoint.
+     *
+     * @return Number of iterations replayed.
+     * @throws UncheckedIOException  if a request cannot be sent or its response cannot be read
+     * @throws IllegalStateException if a response is not received in time, if a response is a SOAP fault or an
+     *                               error response, or if interrupted
+     */
+    public int run() {
+        var endpointAddress = server.getEndpoint().getEndpointInfo().getAddress();
+        var endpointInfo = new EndpointInfo(null, LocalTransportFactory.TRANSPORT_ID);
+        endpointInfo.setAddress("local://jakarta-xml-ws-warm-up" + endpointAddress);
+
+        var transportFactory = new LocalTransportFactory();
+        try {
+            var destination = transportFactory.getDestination(endpointInfo, bus);
+            destination.setMessageObserver(server.getDestination().getMessageObserver());
+            var conduit = transportFactory.getConduit(endpointInfo, bus);
+            var responses = new ResponseObserver();
+            conduit.setMessageObserver(responses);
+            try {
+                return replay(conduit, responses);
+            } finally {
+                conduit.close();
+                destination.shutdown();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to warm up endpoint " + endpointAddress, e);
+        }
+    }
+
+    private int replay(Conduit conduit, ResponseObserver responses) throws IOException {
+        var compilation = ManagementFactory.getCompilationMXBean();
+        var monitorCompilation = nonNull(compilation) && compilation.isCompilationTimeMonitoringSupported();
+        var compilationTime = monitorCompilation ? compilation.getTotalCompilationTime() : 0;
+
+        var iterations = 0;
+        while (iterations < maxIterations) {
+            for (var request : requests) {
+                send(conduit, responses, request);
+            }
+            iterations++;
+
+            if (monitorCompilation && iterations % ROUND_ITERATIONS == 0) {
+                var totalCompilationTime = compilation.getTotalCompilationTime();
+                if (totalCompilationTime == compilationTime) {
+                    break;
+                }
+                compilationTime = totalCompilationTime;
+            }
+        }
+        return iterations;
+    }
+
+    private static void send(Conduit conduit, ResponseObserver responses, Request request) throws IOException {
+        if (!request.oneWay()) {
+            responses.clear();
+        }
+        var message = new MessageImpl();
+        conduit.prepare(message);
+        try (var outputStream = message.getContent(OutputStream.class)) {
+            outputStream.write(request.content());
+        }
+        if (!request.oneWay()) {
+            checkResponse(responses.await());
+        }
+    }
+
+    private static void checkResponse(Response response) {
+        var faultString = faultString(response.content());
+        if (nonNull(faultString)) {
+            throw new IllegalStateException("Warm-up request failed with SOAP fault: " + faultString);
+        }
+        var responseCode = response.responseCode();
+        if (nonNull(responseCode) && responseCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+            throw new IllegalStateException("Warm-up request failed with response code " + responseCode);
+        }
+        if (response.content().length == 0) {
+            throw new IllegalStateException("Warm-up request received an empty response");
+        }
+    }
+
+    /**
+     * Returns whether the operation of the given SOAP body element is a one-way operation. The element is matched
+     * against the operation names, for RPC style operations, and against the elements of their input messages.
+     */
+    private static boolean isOneWay(EndpointInfo endpointInfo, @Nullable QName bodyElement) {
+        if (isNull(bodyElement) || isNull(endpointInfo.getBinding())) {
+            return false;
+        }
+        for (var bindingOperation : endpointInfo.getBinding().getOperations()) {
+            var operation = bindingOperation.getOperationInfo();
+            var input = operation.getInput();
+            var matches = bodyElement.equals(operation.getName()) || (nonNull(input) && input.getMessageParts()
+                    .stream()
+                    .anyMatch(part -> bodyElement.equals(part.getElementQName())));
+            if (matches) {
+                return operation.isOneWay();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the name of the first element of the SOAP body of the given envelope, or null if there is none or
+     * the envelope cannot be parsed.
+     */
+    @Nullable
+    private static QName bodyElement(byte[] envelope) {
+        try {
+            var reader = bodyReader(envelope);
+            return isNull(reader) ? null : reader.getName();
+        } catch (XMLStreamException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the fault string of the given SOAP envelope, or null if it does not contain a SOAP fault or cannot be
+     * parsed, e.g. when it is sent as an MTOM multipart message.
+     */
+    @Nullable
+    private static String faultString(byte[] envelope) {
+        try {
+            var reader = bodyReader(envelope);
+            if (isNull(reader) || !"Fault".equals(reader.getLocalName())
+                    || !SOAP_ENVELOPE_NAMESPACES.contains(reader.getNamespaceURI())) {
+                return null;
+            }
+            // SOAP 1.1 faultstring or SOAP 1.2 Reason/Text element
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && ("faultstring".equals(reader.getLocalName()) || "Text".equals(reader.getLocalName()))) {
+                    return reader.getElementText();
+                }
+            }
+            return "";
+        } catch (XMLStreamException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a reader positioned on the first element of the SOAP body of the given envelope, or null if there is
+     * none.
+     */
+    @Nullable
+    private static XMLStreamReader bodyReader(byte[] envelope) throws XMLStreamException {
+        var reader = StaxUtils.createXMLStreamReader(new ByteArrayInputStream(envelope));
+        var depth = 0;
+        var inBody = false;
+        while (reader.hasNext()) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2) {
+                    inBody = "Body".equals(reader.getLocalName());
+                } else if (depth == 3 && inBody) {
+                    return reader;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the responses sent back through the local transport, and signals their reception. Partial responses
+     * to one-way requests are ignored.
+     */
+    private static class ResponseObserver implements MessageObserver {
+
+        private final BlockingQueue<Response> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onMessage(Message message) {
+            var responseCode = (Integer) message.get(Message.RESPONSE_CODE);
+            var inputStream = message.getContent(InputStream.class);
+            var content = new byte[0];
+            try (inputStream) {
+                if (nonNull(inputStream)) {
+                    content = inputStream.readAllBytes();
+                }
+            } catch (IOException e) {
+                // Checked as an empty response
+            }
+            if (nonNull(responseCode) && responseCode == HttpURLConnection.HTTP_ACCEPTED && content.length == 0) {
+                return;
+            }
+            received.offer(new Response(responseCode, content));
+        }
+
+        void clear() {
+            received.clear();
+        }
+
+        Response await() {
+            try {
+                var response = received.poll(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (isNull(response)) {
+                    throw new IllegalStateException("No warm-up response received in "
+                            + RESPONSE_TIMEOUT_SECONDS + " seconds");
+                }
+                return response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while warming up endpoint", e);
+            }
+        }
+    }
+}
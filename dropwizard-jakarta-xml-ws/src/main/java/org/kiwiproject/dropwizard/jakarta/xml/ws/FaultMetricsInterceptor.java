@@ -0,0 +1,85 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.validation.ValidationException;
+import jakarta.xml.ws.WebFault;
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A CXF out-fault interceptor that counts the faults returned by an endpoint, whether raised by the service
+ * implementation, the invoker chain (e.g. parameter validation) or an interceptor. Faults are counted in meters
+ * named after the operation, {@code <metricPrefix>.<operation>.faults}, or {@code <metricPrefix>.faults} for faults
+ * raised before the operation is known, e.g. unparseable requests:
+ * <ul>
+ * <li>{@code faults}: all faults.</li>
+ * <li>{@code faults.code.<code>}: faults by SOAP fault code, e.g. {@code Client} and {@code Server} for SOAP 1.1 or
+ * {@code Sender} and {@code Receiver} for SOAP 1.2.</li>
+ * <li>{@code faults.declared.<exception>}: faults caused by a declared exception annotated with @WebFault, by
+ * exception simple class name.</li>
+ * <li>{@code faults.validation}: faults caused by parameter validation.</li>
+ * <li>{@code faults.unexpected}: faults caused by any other exception, e.g. runtime exceptions.</li>
+ * </ul>
+ */
+public class FaultMetricsInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private final MetricRegistry metricRegistry;
+    private final String metricPrefix;
+
+    /**
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the meter names, e.g. the service class name.
+     */
+    public FaultMetricsInterceptor(MetricRegistry metricRegistry, String metricPrefix) {
+        super(Phase.SETUP);
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = metricPrefix;
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var exception = message.getContent(Exception.class);
+        if (isNull(exception)) {
+            return;
+        }
+
+        var faults = MetricRegistry.name(metricPrefix, operationName(message), "faults");
+        metricRegistry.meter(faults).mark();
+        metricRegistry.meter(MetricRegistry.name(faults, "code", faultCode(message, exception))).mark();
+
+        var cause = (exception instanceof Fault && nonNull(exception.getCause())) ? exception.getCause() : exception;
+        if (cause.getClass().isAnnotationPresent(WebFault.class)) {
+            metricRegistry.meter(MetricRegistry.name(faults, "declared", cause.getClass().getSimpleName())).mark();
+        } else if (cause instanceof ValidationException) {
+            metricRegistry.meter(MetricRegistry.name(faults, "validation")).mark();
+        } else {
+            metricRegistry.meter(MetricRegistry.name(faults, "unexpected")).mark();
+        }
+    }
+
+    @Nullable
+    private static String operationName(Message message) {
+        var exchange = message.getExchange();
+        var bindingOperationInfo = isNull(exchange) ? null : exchange.getBindingOperationInfo();
+        return isNull(bindingOperationInfo) ? null : bindingOperationInfo.getName().getLocalPart();
+    }
+
+    /**
+     * Returns the fault code of the fault, as it is sent by the SOAP binding.
+     */
+    private static String faultCode(Message message, Exception exception) {
+        var fault = (exception instanceof Fault f) ? f : new Fault(exception);
+        if (message instanceof SoapMessage soapMessage) {
+            return SoapFault.createFault(fault, soapMessage.getVersion()).getFaultCode().getLocalPart();
+        }
+        return fault.getFaultCode().getLocalPart();
+    }
+}
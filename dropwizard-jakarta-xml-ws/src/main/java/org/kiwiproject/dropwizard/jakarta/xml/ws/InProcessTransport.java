@@ -0,0 +1,193 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Meter;
+import jakarta.xml.ws.BindingProvider;
+import org.apache.cxf.Bus;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.endpoint.UpfrontConduitSelector;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.Destination;
+import org.apache.cxf.transport.local.LocalConduit;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Dispatches the calls of clients to endpoints published in the same JVM in-process, using CXF's local transport
+ * with direct dispatch: requests and responses are passed between the client and the endpoint interceptor chains on
+ * the calling thread, through in-memory buffers, without HTTP or socket I/O.
+ * <p>
+ * A published endpoint is bound to a local destination named after its path when the first in-process client of
+ * that path is installed, sharing the message observer of the endpoint's server, so in-process calls go through the
+ * same interceptors and invokers as HTTP requests. Endpoints without in-process clients are never bound. HTTP basic
+ * authentication credentials of the client are passed to the endpoint; malformed credentials leave the call
+ * unauthenticated. Servlet filters and other
+ * HTTP-specific processing do not apply to in-process calls.
+ */
+public class InProcessTransport {
+
+    private static final String ADDRESS_PREFIX = "local://jakarta-xml-ws-in-process";
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BASIC = "Basic ";
+
+    private final Bus bus;
+    private final LocalTransportFactory transportFactory = new LocalTransportFactory();
+    private final Map<String, Server> servers = new HashMap<>();
+    private final Set<String> clientPaths = new HashSet<>();
+
+    /**
+     * @param bus CXF bus of the endpoints and clients.
+     */
+    public InProcessTransport(Bus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Register a published endpoint, so that in-process clients of its path call it. The endpoint is bound when the
+     * first in-process client of its path is installed, or right away if there already is one.
+     *
+     * @param path   Path of the endpoint.
+     * @param server Published server of the endpoint.
+     */
+    public synchronized void register(String path, Server server) {
+        servers.put(path, server);
+        if (clientPaths.contains(path)) {
+            bind(path, server);
+        }
+    }
+
+    /**
+     * Configure a client to call the endpoint of the given path in-process. The endpoint may be published after the
+     * client is created, but before it is called.
+     *
+     * @param proxyFactory   Proxy factory of the client.
+     * @param path           Path of the endpoint.
+     * @param calls          Meter counting the in-process calls.
+     * @param beforeDispatch Action run before each call, e.g. to initialize a lazy endpoint.
+     */
+    public void install(JaxWsProxyFactoryBean proxyFactory, String path, Meter calls, Runnable beforeDispatch) {
+        try {
+            proxyFactory.setConduitSelector(
+                    new UpfrontConduitSelector(transportFactory.getConduit(endpointInfo(path), bus)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create in-process conduit for " + path, e);
+        }
+        proxyFactory.getOutInterceptors().add(new DirectDispatchInterceptor(calls, beforeDispatch));
+
+        synchronized (this) {
+            var server = servers.get(path);
+            if (clientPaths.add(path) && nonNull(server)) {
+                bind(path, server);
+            }
+        }
+    }
+
+    private void bind(String path, Server server) {
+        var observer = server.getDestination().getMessageObserver();
+        destination(path).setMessageObserver(message -> {
+            readBasicAuthorization(message);
+            observer.onMessage(message);
+        });
+    }
+
+    private Destination destination(String path) {
+        try {
+            return transportFactory.getDestination(endpointInfo(path), bus);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create in-process destination for " + path, e);
+        }
+    }
+
+    private static EndpointInfo endpointInfo(String path) {
+        var endpointInfo = new EndpointInfo(null, LocalTransportFactory.TRANSPORT_ID);
+        endpointInfo.setAddress(ADDRESS_PREFIX + path);
+        return endpointInfo;
+    }
+
+    /**
+     * Sets the authorization policy of an incoming message from its basic Authorization header, as the HTTP
+     * transport does. Credentials that are not valid Base64 leave the message unauthenticated.
+     */
+    static void readBasicAuthorization(Message message) {
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>) message.get(Message.PROTOCOL_HEADERS));
+        if (isNull(headers) || nonNull(message.get(AuthorizationPolicy.class))) {
+            return;
+        }
+        var values = headers.get(AUTHORIZATION);
+        if (isNull(values) || values.isEmpty() || !values.get(0).startsWith(BASIC)) {
+            return;
+        }
+
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(values.get(0).substring(BASIC.length())),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        var separator = credentials.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        var policy = new AuthorizationPolicy();
+        policy.setAuthorizationType("Basic");
+        policy.setUserName(credentials.substring(0, separator));
+        policy.setPassword(credentials.substring(separator + 1));
+        message.put(AuthorizationPolicy.class, policy);
+    }
+
+    /**
+     * Enables direct dispatch on outgoing messages, counts them, and passes the client's basic authentication
+     * credentials in an Authorization header.
+     */
+    private static class DirectDispatchInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        private final Meter calls;
+        private final Runnable beforeDispatch;
+
+        DirectDispatchInterceptor(Meter calls, Runnable beforeDispatch) {
+            super(Phase.SETUP);
+            this.calls = calls;
+            this.beforeDispatch = beforeDispatch;
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            beforeDispatch.run();
+            message.put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
+            calls.mark();
+
+            var userName = (String) message.getContextualProperty(BindingProvider.USERNAME_PROPERTY);
+            var password = (String) message.getContextualProperty(BindingProvider.PASSWORD_PROPERTY);
+            if (nonNull(userName) && nonNull(password)) {
+                Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>) message.get(Message.PROTOCOL_HEADERS));
+                if (isNull(headers)) {
+                    headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    message.put(Message.PROTOCOL_HEADERS, headers);
+                }
+                var credentials = Base64.getEncoder()
+                        .encodeToString((userName + ":" + password).getBytes(StandardCharsets.UTF_8));
+                headers.put(AUTHORIZATION, List.of(BASIC + credentials));
+            }
+        }
+    }
+}
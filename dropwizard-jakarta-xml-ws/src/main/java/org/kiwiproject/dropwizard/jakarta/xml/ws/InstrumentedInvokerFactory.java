@@ -1,19 +1,24 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.Metered;
 import com.codahale.metrics.annotation.Timed;
 import com.google.common.collect.ImmutableMap;
 import org.apache.cxf.service.invoker.Invoker;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Provides factory methods for creating an instrumented CXF invoker chain.
@@ -23,37 +28,55 @@ import java.util.List;
  */
 public class InstrumentedInvokerFactory {
 
+    private static final String IN_FLIGHT_NAME_SUFFIX = "inFlight";
+    private static final String DEFAULT_TIMER_NAME_SUFFIX = "defaultTimer";
+
     private final MetricRegistry metricRegistry;
+    @Nullable
+    private final Supplier<Reservoir> reservoirSupplier;
 
     /**
      * Factory method for TimedInvoker.
      */
-    private Invoker timed(Invoker invoker, List<Method> timedMethods) {
+    private Invoker timed(Invoker invoker, List<ServiceModel.Operation> timedOperations,
+                          @Nullable String endpointName) {
 
         var timers = new ImmutableMap.Builder<String, Timer>();
 
-        for (var method : timedMethods) {
-            var timed = method.getAnnotation(Timed.class);
-            var name = chooseName(timed.name(), timed.absolute(), method);
-            var timer = metricRegistry.timer(name);
-            timers.put(method.getName(), timer);
+        for (var operation : timedOperations) {
+            var timed = requireNonNull(operation.getAnnotation(Timed.class));
+            var name = chooseName(timed.name(), timed.absolute(), operation.getMethod(), endpointName);
+            timers.put(operation.getName(), timer(name));
         }
 
         return new InstrumentedInvokers.TimedInvoker(invoker, timers.build());
     }
 
+    /**
+     * Returns the timer with the given name, creating it with a reservoir from the reservoir supplier if there is
+     * one. An existing timer is returned as is.
+     */
+    private Timer timer(String name) {
+        var supplier = this.reservoirSupplier;
+        if (isNull(supplier)) {
+            return metricRegistry.timer(name);
+        }
+        return metricRegistry.timer(name, () -> new Timer(supplier.get()));
+    }
+
     /**
      * Factory method for MeteredInvoker.
      */
-    private Invoker metered(Invoker invoker, List<Method> meteredMethods) {
+    private Invoker metered(Invoker invoker, List<ServiceModel.Operation> meteredOperations,
+                            @Nullable String endpointName) {
 
         var meters = new ImmutableMap.Builder<String, Meter>();
 
-        for (var method : meteredMethods) {
-            var metered = method.getAnnotation(Metered.class);
-            var name = chooseName(metered.name(), metered.absolute(), method);
+        for (var operation : meteredOperations) {
+            var metered = requireNonNull(operation.getAnnotation(Metered.class));
+            var name = chooseName(metered.name(), metered.absolute(), operation.getMethod(), endpointName);
             var meter = metricRegistry.meter(name);
-            meters.put(method.getName(), meter);
+            meters.put(operation.getName(), meter);
         }
 
         return new InstrumentedInvokers.MeteredInvoker(invoker, meters.build());
@@ -62,41 +85,64 @@ public class InstrumentedInvokerFactory {
     /**
      * Factory method for ExceptionMeteredInvoker.
      */
-    private Invoker exceptionMetered(Invoker invoker, List<Method> meteredMethods) {
+    private Invoker exceptionMetered(Invoker invoker, List<ServiceModel.Operation> meteredOperations,
+                                     @Nullable String endpointName) {
 
         var meters = new ImmutableMap.Builder<String, InstrumentedInvokers.ExceptionMeter>();
 
-        for (var method : meteredMethods) {
+        for (var operation : meteredOperations) {
 
-            var exceptionMetered = method.getAnnotation(ExceptionMetered.class);
+            var exceptionMetered = requireNonNull(operation.getAnnotation(ExceptionMetered.class));
             var name = chooseName(
                     exceptionMetered.name(),
                     exceptionMetered.absolute(),
-                    method,
+                    operation.getMethod(),
+                    endpointName,
                     ExceptionMetered.DEFAULT_NAME_SUFFIX);
             var meter = metricRegistry.meter(name);
-            meters.put(method.getName(), new InstrumentedInvokers.ExceptionMeter(meter, exceptionMetered.cause()));
+            meters.put(operation.getName(), new InstrumentedInvokers.ExceptionMeter(meter, exceptionMetered.cause()));
         }
 
         return new InstrumentedInvokers.ExceptionMeteredInvoker(invoker, meters.build());
     }
 
+    /**
+     * Factory method for InFlightInvoker.
+     */
+    private Invoker inFlight(Invoker invoker, List<ServiceModel.Operation> operations, @Nullable String endpointName) {
+
+        var counters = new ImmutableMap.Builder<String, Counter>();
+
+        for (var operation : operations) {
+            var name = chooseName(null, false, operation.getMethod(), endpointName, IN_FLIGHT_NAME_SUFFIX);
+            counters.put(operation.getName(), metricRegistry.counter(name));
+        }
+
+        return new InstrumentedInvokers.InFlightInvoker(invoker, counters.build());
+    }
+
     /**
      * Based on the private chooseName method in
      * com.codahale.metrics.jerseyX.InstrumentedResourceMethodApplicationListener,
      * where X is a Jersey version such as 2, 3, 31 (for 3.1), etc.
      *
+     * <p>
+     * When an endpoint name is given, it is inserted after the class name of relative names, and appended to
+     * absolute names, so the same service published on several endpoints gets separate metrics.
+     *
      * @see com.codahale.metrics.jersey3.InstrumentedResourceMethodApplicationListener
      */
-    private String chooseName(String explicitName, boolean absolute, Method method, String... suffixes) {
+    private String chooseName(String explicitName, boolean absolute, Method method, @Nullable String endpointName,
+                              String... suffixes) {
         if (nonNull(explicitName) && !explicitName.isEmpty()) {
             if (absolute) {
-                return explicitName;
+                return MetricRegistry.name(explicitName, endpointName);
             }
-            return MetricRegistry.name(method.getDeclaringClass(), explicitName);
+            return MetricRegistry.name(method.getDeclaringClass(), endpointName, explicitName);
         }
         return MetricRegistry.name(
                 MetricRegistry.name(method.getDeclaringClass(),
+                        endpointName,
                         method.getName()),
                 suffixes
         );
@@ -106,7 +152,28 @@ public class InstrumentedInvokerFactory {
      * @param metricRegistry Metric registry.
      */
     public InstrumentedInvokerFactory(MetricRegistry metricRegistry) {
+        this(metricRegistry, null);
+    }
+
+    /**
+     * @param metricRegistry    Metric registry.
+     * @param reservoirSupplier Supplier of the reservoirs of created timers, for example
+     *                          {@code () -> new SlidingTimeWindowArrayReservoir(1, TimeUnit.MINUTES)} or an
+     *                          HdrHistogram based reservoir, or null for the default exponentially decaying reservoir.
+     */
+    public InstrumentedInvokerFactory(MetricRegistry metricRegistry, @Nullable Supplier<Reservoir> reservoirSupplier) {
         this.metricRegistry = metricRegistry;
+        this.reservoirSupplier = reservoirSupplier;
+    }
+
+    /**
+     * Returns a factory using the same metric registry that creates timers with reservoirs from the given supplier.
+     * Timers that already exist in the registry keep their reservoir.
+     *
+     * @param reservoirSupplier Supplier of the reservoirs of created timers.
+     */
+    public InstrumentedInvokerFactory withReservoir(Supplier<Reservoir> reservoirSupplier) {
+        return new InstrumentedInvokerFactory(metricRegistry, reservoirSupplier);
     }
 
 
@@ -115,37 +182,97 @@ public class InstrumentedInvokerFactory {
      */
     public Invoker create(Object service, Invoker rootInvoker) {
 
-        List<Method> timedMethods = new ArrayList<>();
-        List<Method> meteredMethods = new ArrayList<>();
-        List<Method> exceptionMeteredMethods = new ArrayList<>();
+        var serviceModel = ServiceModel.of(service.getClass());
+        var timedMethods = serviceModel.getOperationsAnnotatedWith(Timed.class);
+        var meteredMethods = serviceModel.getOperationsAnnotatedWith(Metered.class);
+        var exceptionMeteredMethods = serviceModel.getOperationsAnnotatedWith(ExceptionMetered.class);
 
-        for (var method : service.getClass().getMethods()) {
+        var invoker = rootInvoker;
 
-            if (method.isAnnotationPresent(Timed.class)) {
-                timedMethods.add(method);
-            }
+        if (!timedMethods.isEmpty()) {
+            invoker = this.timed(invoker, timedMethods, null);
+        }
 
-            if (method.isAnnotationPresent(Metered.class)) {
-                meteredMethods.add(method);
-            }
+        if (!meteredMethods.isEmpty()) {
+            invoker = this.metered(invoker, meteredMethods, null);
+        }
 
-            if (method.isAnnotationPresent(ExceptionMetered.class)) {
-                exceptionMeteredMethods.add(method);
-            }
+        if (!exceptionMeteredMethods.isEmpty()) {
+            invoker = this.exceptionMetered(invoker, exceptionMeteredMethods, null);
         }
 
+        return invoker;
+    }
+
+    /**
+     * Factory method for creating the instrumented invoker chain of a single operation. Only the invokers for the
+     * annotations present on the operation are added; the given invoker is returned if there are none.
+     */
+    public Invoker create(ServiceModel.Operation operation, Invoker rootInvoker) {
+        return create(operation, rootInvoker, null);
+    }
+
+    /**
+     * Factory method for instrumenting a single operation regardless of its annotations, with a timer, an error
+     * meter and an in-flight counter. The timer and error meter have the same names as those created for
+     * {@code @Timed} and {@code @ExceptionMetered} with default attributes, and are not added when the operation
+     * already has these annotations. On {@code @Metered} operations the timer is named with a "defaultTimer" suffix
+     * instead, as the meter already has the default name. The in-flight counter is named after the method with an
+     * "inFlight" suffix.
+     *
+     * @param operation    Service operation.
+     * @param rootInvoker  Invoker to wrap, usually the chain created by {@link #create(ServiceModel.Operation,
+     *                     Invoker, String)}.
+     * @param endpointName Endpoint name included in metric names, or null to name metrics by class and method only.
+     */
+    public Invoker createDefaultMetrics(ServiceModel.Operation operation, Invoker rootInvoker,
+                                        @Nullable String endpointName) {
+
+        var operations = List.of(operation);
+        var method = operation.getMethod();
         var invoker = rootInvoker;
 
-        if (!timedMethods.isEmpty()) {
-            invoker = this.timed(invoker, timedMethods);
+        if (!operation.isAnnotationPresent(Timed.class)) {
+            var timerName = operation.isAnnotationPresent(Metered.class)
+                    ? chooseName(null, false, method, endpointName, DEFAULT_TIMER_NAME_SUFFIX)
+                    : chooseName(null, false, method, endpointName);
+            var timer = timer(timerName);
+            invoker = new InstrumentedInvokers.TimedInvoker(invoker, ImmutableMap.of(operation.getName(), timer));
         }
 
-        if (!meteredMethods.isEmpty()) {
-            invoker = this.metered(invoker, meteredMethods);
+        if (!operation.isAnnotationPresent(ExceptionMetered.class)) {
+            var meter = metricRegistry.meter(
+                    chooseName(null, false, method, endpointName, ExceptionMetered.DEFAULT_NAME_SUFFIX));
+            invoker = new InstrumentedInvokers.ExceptionMeteredInvoker(invoker, ImmutableMap.of(operation.getName(),
+                    new InstrumentedInvokers.ExceptionMeter(meter, Exception.class)));
         }
 
-        if (!exceptionMeteredMethods.isEmpty()) {
-            invoker = this.exceptionMetered(invoker, exceptionMeteredMethods);
+        return this.inFlight(invoker, operations, endpointName);
+    }
+
+    /**
+     * Factory method for creating the instrumented invoker chain of a single operation, with metric names
+     * qualified by the given endpoint name.
+     *
+     * @param operation    Service operation.
+     * @param rootInvoker  Invoker to wrap.
+     * @param endpointName Endpoint name included in metric names, or null to name metrics by class and method only.
+     */
+    public Invoker create(ServiceModel.Operation operation, Invoker rootInvoker, @Nullable String endpointName) {
+
+        var operations = List.of(operation);
+        var invoker = rootInvoker;
+
+        if (operation.isAnnotationPresent(Timed.class)) {
+            invoker = this.timed(invoker, operations, endpointName);
+        }
+
+        if (operation.isAnnotationPresent(Metered.class)) {
+            invoker = this.metered(invoker, operations, endpointName);
+        }
+
+        if (operation.isAnnotationPresent(ExceptionMetered.class)) {
+            invoker = this.exceptionMetered(invoker, operations, endpointName);
         }
 
         return invoker;
@@ -1,8 +1,10 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableMap;
@@ -79,6 +81,36 @@ public class InstrumentedInvokers {
         }
     }
 
+    /**
+     * Wraps underlying invoker and counts the invocations in progress of the given methods.
+     */
+    public static class InFlightInvoker extends AbstractInvoker {
+
+        private final ImmutableMap<String, Counter> counters;
+
+        public InFlightInvoker(Invoker underlying, ImmutableMap<String, Counter> counters) {
+            super(underlying);
+            this.counters = counters;
+        }
+
+        @Override
+        public Object invoke(Exchange exchange, Object o) {
+
+            var methodName = this.getTargetMethod(exchange).getName();
+            var counter = counters.get(methodName);
+            if (isNull(counter)) {
+                return this.underlying.invoke(exchange, o);
+            }
+
+            counter.inc();
+            try {
+                return this.underlying.invoke(exchange, o);
+            } finally {
+                counter.dec();
+            }
+        }
+    }
+
     public static class ExceptionMeter {
         private final Meter meter;
         private final Class<? extends Throwable> exceptionClass;
@@ -3,12 +3,18 @@ package org.kiwiproject.dropwizard.jakarta.xml.ws;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
 
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.health.HealthCheck;
 import io.dropwizard.core.ConfiguredBundle;
 import io.dropwizard.core.setup.Bootstrap;
 import io.dropwizard.core.setup.Environment;
+import io.dropwizard.lifecycle.Managed;
 import org.apache.cxf.jaxws.EndpointImpl;
 import org.jspecify.annotations.Nullable;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 /**
  * A Dropwizard bundle that enables Dropwizard applications to publish SOAP web services using
  * Jakarta XML Web Services and to create web service clients.
@@ -16,6 +22,14 @@ import org.jspecify.annotations.Nullable;
 public class JakartaXmlWsBundle<C> implements ConfiguredBundle<C> {
 
     protected static final String DEFAULT_PATH = "/soap";
+
+    /**
+     * Prefix of the name of the health check that is unhealthy until the endpoint and client warm-ups of a bundle
+     * have run. The name of each bundle's health check ends with its servlet path, see
+     * {@link #getWarmUpHealthCheckName()}.
+     */
+    public static final String WARM_UP_HEALTH_CHECK_NAME = "jakarta-xml-ws-warm-up";
+
     protected final JakartaXmlWsEnvironment jwsEnvironment;
     protected final String servletPath;
 
@@ -50,8 +64,67 @@ public class JakartaXmlWsBundle<C> implements ConfiguredBundle<C> {
         this.jwsEnvironment = jwsEnvironment;
     }
 
+    /**
+     * Create a new bundle instance that shares the CXF Bus of another bundle, while using its own servlet.
+     * Bus extensions, the policy engine and registries are then loaded only once. Service endpoints are
+     * published relative to the provided servletPath, and endpoint paths must be unique across all bundles
+     * sharing the bus. Each bundle's servlet only serves the endpoints of its bundle: requests for the endpoints of
+     * another bundle get a 404 response.
+     *
+     * @param servletPath Root path for service endpoints. Leading slash is required.
+     * @param busOwner    Bundle whose CXF Bus is shared.
+     * @param <C>         Configuration type.
+     * @return A new bundle using the CXF Bus of busOwner.
+     */
+    public static <C> JakartaXmlWsBundle<C> sharingBusWith(String servletPath, JakartaXmlWsBundle<?> busOwner) {
+        checkArgument(nonNull(servletPath), "Servlet path is null");
+        checkArgument(nonNull(busOwner), "busOwner is null");
+        return new JakartaXmlWsBundle<>(servletPath,
+                new JakartaXmlWsEnvironment(servletPath, busOwner.jwsEnvironment.getBus()));
+    }
+
+    /**
+     * Instrument every operation of the endpoints published by this bundle with a timer, an exception meter and an
+     * in-flight counter, without requiring metrics annotations on the service methods.
+     *
+     * @return This bundle.
+     * @see EndpointBuilder#instrumentAllOperations()
+     */
+    public JakartaXmlWsBundle<C> instrumentAllOperations() {
+        this.jwsEnvironment.setInstrumentAllOperations(true);
+        return this;
+    }
+
+    /**
+     * Create the operation timers of the endpoints published by this bundle with reservoirs from the given
+     * supplier, unless an endpoint sets its own.
+     *
+     * @param timerReservoirSupplier Supplier of timer reservoirs.
+     * @return This bundle.
+     * @see EndpointBuilder#timerReservoir(Supplier)
+     */
+    public JakartaXmlWsBundle<C> timerReservoir(Supplier<Reservoir> timerReservoirSupplier) {
+        checkArgument(nonNull(timerReservoirSupplier), "timerReservoirSupplier is null");
+        this.jwsEnvironment.setTimerReservoirSupplier(timerReservoirSupplier);
+        return this;
+    }
+
+    /**
+     * Call the endpoints of this bundle in-process from the clients created by this bundle whose address starts
+     * with the published endpoint URL prefix, instead of over HTTP.
+     *
+     * @return This bundle.
+     * @see ClientBuilder#inProcess()
+     * @see #getPublishedEndpointUrlPrefix(Object)
+     */
+    public JakartaXmlWsBundle<C> inProcessDispatch() {
+        this.jwsEnvironment.setInProcessDispatch(true);
+        return this;
+    }
+
     @Override
     public void initialize(Bootstrap<?> bootstrap) {
+        this.jwsEnvironment.setMetricRegistry(bootstrap.getMetricRegistry());
         this.jwsEnvironment.setInstrumentedInvokerBuilder(
                 new InstrumentedInvokerFactory(bootstrap.getMetricRegistry()));
     }
@@ -62,8 +135,22 @@ public class JakartaXmlWsBundle<C> implements ConfiguredBundle<C> {
         environment.servlets().addServlet("CXF Servlet " + jwsEnvironment.getDefaultPath(),
                 jwsEnvironment.buildServlet()).addMapping(servletPath);
 
-        environment.lifecycle().addServerLifecycleListener(
-                server -> jwsEnvironment.logEndpoints());
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // nothing to start, endpoints are published by the application
+            }
+
+            @Override
+            public void stop() {
+                jwsEnvironment.stop();
+            }
+        });
+        environment.lifecycle().addServerLifecycleListener(server -> jwsEnvironment.logEndpoints());
+
+        // Endpoints and clients are usually created once this bundle has run, so warm-ups are set up when the first
+        // one is configured
+        jwsEnvironment.onWarmUpConfigured(() -> registerWarmUps(environment));
 
         var publishedEndpointUrlPrefix = getPublishedEndpointUrlPrefix(configuration);
         if (nonNull(publishedEndpointUrlPrefix)) {
@@ -71,6 +158,44 @@ public class JakartaXmlWsBundle<C> implements ConfiguredBundle<C> {
         }
     }
 
+    /**
+     * Register the warm-ups of this bundle: endpoints are warmed up in-process before the connectors accept
+     * requests, clients once the server has started since they may call endpoints of this application, and the
+     * warm-up health check is unhealthy until both have run.
+     */
+    private void registerWarmUps(Environment environment) {
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                jwsEnvironment.warmUpEndpoints();
+            }
+
+            @Override
+            public void stop() {
+                // nothing to stop, the environment is stopped separately
+            }
+        });
+        environment.lifecycle().addServerLifecycleListener(server -> jwsEnvironment.warmUpClients());
+        environment.healthChecks().register(getWarmUpHealthCheckName(), new HealthCheck() {
+            @Override
+            protected Result check() {
+                return jwsEnvironment.isWarmUpPending() ? Result.unhealthy("Warm-up in progress") : Result.healthy();
+            }
+        });
+    }
+
+    /**
+     * Returns the name of the health check of this bundle that is unhealthy until its endpoint and client warm-ups
+     * have run, e.g. {@code jakarta-xml-ws-warm-up:/soap}. The health check is only registered once an endpoint or
+     * a client of this bundle is configured with a warm-up. Names differ between bundles with different paths, so
+     * that several bundles can be added to an application.
+     *
+     * @return Name of the warm-up health check.
+     */
+    public String getWarmUpHealthCheckName() {
+        return WARM_UP_HEALTH_CHECK_NAME + ":" + jwsEnvironment.getDefaultPath();
+    }
+
     /**
      * Publish Jakarta XML Web Services endpoint. Endpoint will be published relative to the CXF servlet path.
      *
@@ -82,6 +207,31 @@ public class JakartaXmlWsBundle<C> implements ConfiguredBundle<C> {
         return this.jwsEnvironment.publishEndpoint(endpointBuilder);
     }
 
+    /**
+     * Publish multiple Jakarta XML Web Services endpoints concurrently. Endpoints are prepared on a pool with at
+     * most as many threads as there are available processors, and this method returns once all of them are
+     * published.
+     *
+     * @param endpointBuilders EndpointBuilders.
+     * @return The published endpoints, in the same order as the given builders.
+     */
+    public List<EndpointImpl> publishEndpoints(EndpointBuilder... endpointBuilders) {
+        return publishEndpoints(Runtime.getRuntime().availableProcessors(), List.of(endpointBuilders));
+    }
+
+    /**
+     * Publish multiple Jakarta XML Web Services endpoints concurrently, preparing at most the given number of
+     * endpoints at the same time. This method returns once all endpoints are published.
+     *
+     * @param parallelism      Maximum number of endpoints prepared concurrently.
+     * @param endpointBuilders EndpointBuilders.
+     * @return The published endpoints, in the same order as the given builders.
+     */
+    public List<EndpointImpl> publishEndpoints(int parallelism, List<EndpointBuilder> endpointBuilders) {
+        checkArgument(nonNull(endpointBuilders), "EndpointBuilders is null");
+        return this.jwsEnvironment.publishEndpoints(endpointBuilders, parallelism);
+    }
+
     /**
      * Factory method for creating Jakarta XML Web Services clients.
      *
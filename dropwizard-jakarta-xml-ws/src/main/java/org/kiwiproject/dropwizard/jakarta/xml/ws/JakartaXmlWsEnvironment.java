@@ -1,25 +1,69 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.xml.ws.BindingProvider;
+import jakarta.xml.ws.WebServiceProvider;
 import jakarta.xml.ws.soap.SOAPBinding;
 import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
+import org.apache.cxf.annotations.DataBinding;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.feature.FastInfosetFeature;
 import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.jaxws.EndpointImpl;
+import org.apache.cxf.jaxws.JAXWSMethodInvoker;
 import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.service.invoker.Factory;
 import org.apache.cxf.service.invoker.Invoker;
+import org.apache.cxf.transport.common.gzip.GZIPFeature;
+import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.cxf.transport.http.HTTPConduit;
 import org.apache.cxf.transport.servlet.CXFNonSpringServlet;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Performs CXF Bus setup and provides methods for publishing Jakarta XML Web Services endpoints and creating
@@ -29,11 +73,42 @@ public class JakartaXmlWsEnvironment {
 
     private static final Logger LOG = LoggerFactory.getLogger(JakartaXmlWsEnvironment.class);
 
+    /**
+     * Endpoint info property holding the path of the environment that published the endpoint.
+     */
+    private static final String ENVIRONMENT_PATH_PROPERTY = JakartaXmlWsEnvironment.class.getName() + ".path";
+
+    /**
+     * Maximum number of threads running the calls of clients with hedged requests.
+     */
+    public static final int HEDGE_EXECUTOR_THREADS = 32;
+
+    /**
+     * Maximum number of hedged calls waiting for a thread. Calls are not hedged while the queue is full.
+     */
+    public static final int HEDGE_EXECUTOR_QUEUE_CAPACITY = 256;
+
     protected final Bus bus;
     protected final String defaultPath;
+    private final long busCreationNanos;
     private InstrumentedInvokerFactory instrumentedInvokerBuilder;
     private UnitOfWorkInvokerFactory unitOfWorkInvokerBuilder = new UnitOfWorkInvokerFactory();
     private String publishedEndpointUrlPrefix;
+    private MetricRegistry metricRegistry = new MetricRegistry();
+    private final Map<String, LazyEndpoint> lazyEndpoints = new ConcurrentHashMap<>();
+    private JaxbContextCache jaxbContextCache;
+    private final Set<Server> publishedServers = ConcurrentHashMap.newKeySet();
+    private boolean instrumentAllOperations;
+    private Supplier<Reservoir> timerReservoirSupplier;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private ExecutorService hedgeExecutor;
+    private final List<WarmUp> pendingEndpointWarmUps = new CopyOnWriteArrayList<>();
+    private final List<WarmUp> pendingClientWarmUps = new CopyOnWriteArrayList<>();
+    private boolean warmUpConfigured;
+    @Nullable
+    private Runnable warmUpConfiguredListener;
+    private final InProcessTransport inProcessTransport;
+    private boolean inProcessDispatch;
 
     public String getDefaultPath() {
         return this.defaultPath;
@@ -49,24 +124,183 @@ public class JakartaXmlWsEnvironment {
         bus-extension.txt file by using AppendingTransformer with Maven shade plugin.
         */
         System.setProperty(BusFactory.BUS_FACTORY_PROPERTY_NAME, "org.apache.cxf.bus.CXFBusFactory");
+        var stopwatch = Stopwatch.createStarted();
         this.bus = BusFactory.newInstance().createBus();
+        this.busCreationNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+        this.inProcessTransport = new InProcessTransport(bus);
+        this.jaxbContextCache = JaxbContextCache.of(bus);
+        this.defaultPath = defaultPath.replace("/*", "");
+        LOG.info("Created CXF bus for {} in {}", this.defaultPath, stopwatch);
+    }
+
+    /**
+     * Create an environment that uses an existing CXF bus, for example the bus of another environment, instead of
+     * creating its own. Bus extensions, the policy engine and registries are then loaded only once, while each
+     * environment keeps its own servlet and path.
+     * <p>
+     * Endpoint paths are registered on the bus, so they must be unique across all environments sharing it. The
+     * servlet of each environment only serves the endpoints the environment published, see {@link #buildServlet()}.
+     *
+     * @param defaultPath Root path for service endpoints.
+     * @param bus         CXF bus to share.
+     */
+    public JakartaXmlWsEnvironment(String defaultPath, Bus bus) {
+        checkArgument(nonNull(bus), "bus is null");
+        this.bus = bus;
+        this.busCreationNanos = 0;
+        this.inProcessTransport = new InProcessTransport(bus);
+        this.jaxbContextCache = JaxbContextCache.of(bus);
         this.defaultPath = defaultPath.replace("/*", "");
     }
 
+    public Bus getBus() {
+        return this.bus;
+    }
+
+    /**
+     * Build the CXF servlet serving the endpoints of this environment. When the bus is shared, the servlets of all
+     * environments sharing it find endpoints in the same registry: requests for the endpoints of another
+     * environment are rejected with a 404 status, so that each endpoint is only served under the path of the
+     * environment that published it. The service list still shows the endpoints of all environments.
+     */
     public HttpServlet buildServlet() {
-        var cxf = new CXFNonSpringServlet();
+        var cxf = new CXFNonSpringServlet() {
+            @Override
+            protected void invoke(HttpServletRequest request, HttpServletResponse response) throws ServletException {
+                initializeLazyEndpoint(request.getPathInfo());
+                if (!servesPath(destinationRegistry, request.getPathInfo())) {
+                    try {
+                        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                    } catch (IOException e) {
+                        throw new ServletException(e);
+                    }
+                    return;
+                }
+                super.invoke(request, response);
+            }
+        };
         cxf.setBus(bus);
         return cxf;
     }
 
+    /**
+     * Whether the servlet of this environment serves the given servlet path info: paths of endpoints published
+     * by another environment sharing the bus are not served.
+     *
+     * @param destinationRegistry Registry of the HTTP destinations of the bus.
+     * @param pathInfo            Request path relative to the CXF servlet path.
+     */
+    boolean servesPath(@Nullable DestinationRegistry destinationRegistry, @Nullable String pathInfo) {
+        if (isNull(destinationRegistry) || isNull(pathInfo)) {
+            return true;
+        }
+        var destination = destinationRegistry.getDestinationForPath(pathInfo, true);
+        if (isNull(destination)) {
+            return true;
+        }
+        var environmentPath = destination.getEndpointInfo().getProperty(ENVIRONMENT_PATH_PROPERTY, String.class);
+        return isNull(environmentPath) || environmentPath.equals(defaultPath);
+    }
+
+    /**
+     * Initialize the lazy endpoint serving the given servlet path info, if there is one that has not been
+     * initialized yet. As with CXF's destination lookup, the endpoint with the exact path is used, or else the
+     * endpoint with the longest path that is a prefix of the path info, e.g. {@code /a/b} rather than {@code /a}
+     * for {@code /a/b/c}. Concurrent callers for the same endpoint wait for a single initialization.
+     *
+     * @param pathInfo Request path relative to the CXF servlet path.
+     */
+    void initializeLazyEndpoint(@Nullable String pathInfo) {
+        if (lazyEndpoints.isEmpty() || isNull(pathInfo)) {
+            return;
+        }
+        var match = lazyEndpoints.get(pathInfo);
+        if (isNull(match)) {
+            for (var lazyEndpoint : lazyEndpoints.values()) {
+                if (lazyEndpoint.matches(pathInfo)
+                        && (isNull(match) || lazyEndpoint.getPath().length() > match.getPath().length())) {
+                    match = lazyEndpoint;
+                }
+            }
+        }
+        if (nonNull(match)) {
+            match.initialize();
+            lazyEndpoints.remove(match.getPath(), match);
+        }
+    }
+
     public void setPublishedEndpointUrlPrefix(String publishedEndpointUrlPrefix) {
         this.publishedEndpointUrlPrefix = publishedEndpointUrlPrefix;
     }
 
+    /**
+     * Call endpoints of this environment in-process from the clients whose address starts with the published
+     * endpoint URL prefix, as if they were created with {@link ClientBuilder#inProcess()}.
+     *
+     * @param inProcessDispatch Whether clients of this environment's endpoints are detected.
+     * @see #setPublishedEndpointUrlPrefix(String)
+     */
+    public void setInProcessDispatch(boolean inProcessDispatch) {
+        this.inProcessDispatch = inProcessDispatch;
+    }
+
     public void setInstrumentedInvokerBuilder(InstrumentedInvokerFactory instrumentedInvokerBuilder) {
         this.instrumentedInvokerBuilder = instrumentedInvokerBuilder;
     }
 
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+
+        // Only record the creation time of a bus created by this environment, so the timer count is the
+        // number of buses created
+        if (busCreationNanos > 0) {
+            metricRegistry.timer(MetricRegistry.name(JakartaXmlWsEnvironment.class, "busCreation"))
+                    .update(busCreationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        // The cache may be shared by the environments of a bus: name its metrics after the path of this one
+        var cache = this.jaxbContextCache;
+        if (nonNull(cache)) {
+            metricRegistry.gauge(MetricRegistry.name(JaxbContextCache.class, defaultPath, "created"),
+                    () -> (Gauge<Long>) cache::getCreatedCount);
+            metricRegistry.gauge(MetricRegistry.name(JaxbContextCache.class, defaultPath, "reused"),
+                    () -> (Gauge<Long>) cache::getReusedCount);
+            metricRegistry.gauge(MetricRegistry.name(JaxbContextCache.class, defaultPath, "size"),
+                    () -> (Gauge<Integer>) cache::size);
+        }
+    }
+
+    /**
+     * Set the JAXB context cache used by endpoints and clients, or null to let each endpoint and client build its
+     * own JAXB context. Defaults to the {@link JaxbContextCache#of(Bus) cache of the bus}, shared by the
+     * environments sharing the bus. Must be called before the bundle is initialized for the cache metrics to refer
+     * to the given cache.
+     */
+    public void setJaxbContextCache(@Nullable JaxbContextCache jaxbContextCache) {
+        this.jaxbContextCache = jaxbContextCache;
+    }
+
+    @Nullable
+    public JaxbContextCache getJaxbContextCache() {
+        return jaxbContextCache;
+    }
+
+    /**
+     * Instrument every operation of all endpoints published afterwards, as with
+     * {@link EndpointBuilder#instrumentAllOperations()}.
+     */
+    public void setInstrumentAllOperations(boolean instrumentAllOperations) {
+        this.instrumentAllOperations = instrumentAllOperations;
+    }
+
+    /**
+     * Set the supplier of the reservoirs of operation timers, for endpoints that do not set their own with
+     * {@link EndpointBuilder#timerReservoir(Supplier)}, or null for the default exponentially decaying reservoir.
+     */
+    public void setTimerReservoirSupplier(@Nullable Supplier<Reservoir> timerReservoirSupplier) {
+        this.timerReservoirSupplier = timerReservoirSupplier;
+    }
+
     public void setUnitOfWorkInvokerBuilder(UnitOfWorkInvokerFactory unitOfWorkInvokerBuilder) {
         this.unitOfWorkInvokerBuilder = unitOfWorkInvokerBuilder;
     }
@@ -79,11 +313,75 @@ public class JakartaXmlWsEnvironment {
         return new ValidatingInvoker(invoker, validator);
     }
 
+    protected ValidatingInvoker createValidatingInvoker(Invoker invoker, Validator validator,
+                                                        ServiceModel.Operation operation) {
+        return new ValidatingInvoker(invoker, validator, operation);
+    }
+
+    protected GZIPFeature createGzipFeature(int threshold, boolean force) {
+        var gzipFeature = new GZIPFeature();
+        gzipFeature.setThreshold(threshold);
+        gzipFeature.setForce(force);
+        return gzipFeature;
+    }
+
+    protected FastInfosetFeature createFastInfosetFeature(boolean force) {
+        var fastInfosetFeature = new FastInfosetFeature();
+        fastInfosetFeature.setForce(force);
+        return fastInfosetFeature;
+    }
+
+    /**
+     * Whether CXF would use its default JAXB data binding for the given class, which is the only case where
+     * the cached data binding can be used in its place.
+     */
+    private boolean usesCachedJaxbContext(Class<?> serviceClass) {
+        return nonNull(jaxbContextCache)
+                && !serviceClass.isAnnotationPresent(WebServiceProvider.class)
+                && !serviceClass.isAnnotationPresent(DataBinding.class);
+    }
+
+    private void addCompressionMetricsInterceptors(List<Interceptor<? extends Message>> outInterceptors,
+                                                   String metricPrefix) {
+        outInterceptors.add(CompressionMetricsInterceptor.uncompressed(
+                metricRegistry.histogram(MetricRegistry.name(metricPrefix, "compression", "uncompressedBytes"))));
+        outInterceptors.add(CompressionMetricsInterceptor.compressed(
+                metricRegistry.histogram(MetricRegistry.name(metricPrefix, "compression", "compressedBytes"))));
+    }
+
+    /**
+     * Returns the endpoint name included in the metric names of an endpoint using per-endpoint metrics, made of
+     * the segments of the bundle and endpoint paths, e.g. "soap.simple" for the /simple endpoint of the /soap
+     * bundle. Returns null for other endpoints.
+     */
+    @Nullable
+    private String endpointMetricName(EndpointBuilder endpointBuilder) {
+        if (!endpointBuilder.isMetricsPerEndpoint()) {
+            return null;
+        }
+        var endpointPath = endpointBuilder.getPath().replaceFirst("^[a-z]+://", "");
+        return Arrays.stream((defaultPath + "/" + endpointPath).split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .collect(Collectors.joining("."));
+    }
+
+    /**
+     * Returns the prefix of the metrics of an endpoint: the service class name, followed by the endpoint name
+     * when the endpoint uses per-endpoint metrics.
+     */
+    private String endpointMetricPrefix(EndpointBuilder endpointBuilder) {
+        return MetricRegistry.name(endpointBuilder.getService().getClass(), endpointMetricName(endpointBuilder));
+    }
+
     public void logEndpoints() {
         var serverRegistry = bus.getExtension(org.apache.cxf.endpoint.ServerRegistry.class);
-        if (!serverRegistry.getServers().isEmpty()) {
+        if (!publishedServers.isEmpty() || !lazyEndpoints.isEmpty()) {
             var endpoints = new StringBuilder();
             for (var server : serverRegistry.getServers()) {
+                // The bus may be shared with other environments
+                if (!publishedServers.contains(server)) {
+                    continue;
+                }
                 endpoints.append("    ")
                         .append(this.defaultPath)
                         .append(server.getEndpoint().getEndpointInfo().getAddress())
@@ -91,15 +389,28 @@ public class JakartaXmlWsEnvironment {
                         .append(server.getEndpoint().getEndpointInfo().getInterface().getName())
                         .append(")\n");
             }
+            appendLazyEndpoints(endpoints);
             LOG.info("Jakarta XML Web Services service endpoints [{}]:\n\n{}", this.defaultPath, endpoints);
         } else {
             LOG.info("Jakarta XML Web Services service endpoints were registered.");
         }
     }
 
+    private void appendLazyEndpoints(StringBuilder endpoints) {
+        for (var path : lazyEndpoints.keySet()) {
+            endpoints.append("    ")
+                    .append(this.defaultPath)
+                    .append(path)
+                    .append(" (lazy, initialized on first request)\n");
+        }
+    }
+
     /**
      * Publish Jakarta XML Web Services server side endpoint. Returns the native CXF Endpoint
      * to allow further customization.
+     * <p>
+     * When the builder is in {@link EndpointBuilder#lazy() lazy} mode, the returned endpoint is not yet published;
+     * it is published, and its invoker chain built, when the first request for its path arrives.
      */
     public EndpointImpl publishEndpoint(EndpointBuilder endpointBuilder) {
         checkArgument(nonNull(endpointBuilder), "EndpointBuilder is null");
@@ -110,38 +421,162 @@ public class JakartaXmlWsEnvironment {
         } else if (nonNull(publishedEndpointUrlPrefix)) {
             cxfEndpoint.setPublishedEndpointUrl(publishedEndpointUrlPrefix + endpointBuilder.getPath());
         }
+
+        // Shared JAXB context
+        if (usesCachedJaxbContext(endpointBuilder.getService().getClass())) {
+            cxfEndpoint.setDataBinding(jaxbContextCache.newDataBinding());
+        }
+
+        // GZIP compression
+        if (endpointBuilder.isCompressionEnabled()) {
+            cxfEndpoint.getFeatures().add(createGzipFeature(endpointBuilder.getCompressionThreshold(), false));
+        }
+
+        // Fast Infoset encoding, used only when negotiated by the client
+        if (endpointBuilder.isFastInfosetEnabled()) {
+            cxfEndpoint.getFeatures().add(createFastInfosetFeature(false));
+        }
+
+        if (endpointBuilder.isLazy()) {
+            var lazyEndpoint = new LazyEndpoint(endpointBuilder.getPath(),
+                    () -> completeEndpoint(endpointBuilder, cxfEndpoint),
+                    metricRegistry.timer(
+                            MetricRegistry.name(endpointMetricPrefix(endpointBuilder), "lazyInitialization")));
+            lazyEndpoints.put(endpointBuilder.getPath(), lazyEndpoint);
+            return cxfEndpoint;
+        }
+
+        completeEndpoint(endpointBuilder, cxfEndpoint);
+
+        if (endpointBuilder.isWarmUpEnabled()) {
+            var warmUp = new EndpointWarmUp(bus, cxfEndpoint.getServer(), endpointBuilder.getWarmUpRequests(),
+                    endpointBuilder.getWarmUpMaxIterations());
+            addWarmUp(pendingEndpointWarmUps, new WarmUp("endpoint " + defaultPath + endpointBuilder.getPath(),
+                    () -> LOG.info("Replayed {} warm-up iterations through endpoint {}{}", warmUp.run(),
+                            defaultPath, endpointBuilder.getPath())));
+        }
+
+        return cxfEndpoint;
+    }
+
+    /**
+     * Creates the factory of service instances for endpoints using pooled or per-request service instances.
+     */
+    protected Factory createServiceInstanceFactory(EndpointBuilder endpointBuilder) {
+        if (endpointBuilder.getMaxInstances() > 0) {
+            return new ServiceInstanceFactories.PooledInstanceFactory(
+                    endpointBuilder.getInstanceSupplier(),
+                    endpointBuilder.getMaxInstances(),
+                    endpointBuilder.getPoolMaxWait(),
+                    metricRegistry,
+                    MetricRegistry.name(endpointMetricPrefix(endpointBuilder), "pool"));
+        }
+        return new ServiceInstanceFactories.PerRequestInstanceFactory(endpointBuilder.getInstanceSupplier());
+    }
+
+    /**
+     * Builds the invoker chain of each operation of the published endpoint. Each chain only contains the invokers
+     * that apply to its operation: validation, unit of work, and instrumentation.
+     */
+    private OperationDispatchingInvoker createOperationDispatchingInvoker(EndpointBuilder endpointBuilder,
+                                                                          EndpointImpl cxfEndpoint) {
+        var serviceClass = endpointBuilder.getService().getClass();
+        var rootInvoker = cxfEndpoint.getService().getInvoker();
+        if (nonNull(endpointBuilder.getInstanceSupplier())) {
+            var factory = createServiceInstanceFactory(endpointBuilder);
+            rootInvoker = endpointBuilder.isMethodHandleInvocation()
+                    ? new MethodHandleInvoker(factory, serviceClass)
+                    : new JAXWSMethodInvoker(factory);
+        } else if (endpointBuilder.isMethodHandleInvocation()) {
+            if (rootInvoker.getClass() == JAXWSMethodInvoker.class) {
+                rootInvoker = new MethodHandleInvoker(endpointBuilder.getService());
+            } else {
+                LOG.warn("Method handle invocation is not supported with {}, using reflective invocation for {}",
+                        rootInvoker.getClass().getName(), endpointBuilder.getPath());
+            }
+        }
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        var serviceModel = ServiceModel.of(serviceClass);
+        var endpointName = endpointMetricName(endpointBuilder);
+        var instrumentAll = instrumentAllOperations || endpointBuilder.isInstrumentAllOperations();
+        var reservoirSupplier = nonNull(endpointBuilder.getTimerReservoirSupplier())
+                ? endpointBuilder.getTimerReservoirSupplier() : timerReservoirSupplier;
+        var instrumentedInvokers = isNull(reservoirSupplier)
+                ? instrumentedInvokerBuilder : instrumentedInvokerBuilder.withReservoir(reservoirSupplier);
+
+        var chains = new HashMap<Method, Invoker>();
+        for (var serviceInfo : cxfEndpoint.getService().getServiceInfos()) {
+            for (var operationInfo : serviceInfo.getInterface().getOperations()) {
+                var method = operationInfo.getProperty(Method.class.getName(), Method.class);
+                var operation = isNull(method) ? null : serviceModel.getOperation(method);
+                if (isNull(operation) || chains.containsKey(method)) {
+                    continue;
+                }
+
+                var invoker = rootInvoker;
+                if (operation.isValidated()) {
+                    invoker = this.createValidatingInvoker(invoker, validator, operation);
+                }
+
+                if (nonNull(endpointBuilder.getSessionFactory())) {
+                    // Note that this invoker is set up before instrumented invoker(s) in order for
+                    // instrumented invoker(s) to wrap "unit of work" invoker.
+                    invoker = unitOfWorkInvokerBuilder.create(operation, invoker, endpointBuilder.getSessionFactory());
+                }
+
+                invoker = instrumentedInvokers.create(operation, invoker, endpointName);
+                if (instrumentAll) {
+                    invoker = instrumentedInvokers.createDefaultMetrics(operation, invoker, endpointName);
+                }
+                chains.put(method, invoker);
+            }
+        }
+
+        // Operations that are not found in the service model still get validated
+        return new OperationDispatchingInvoker(
+                this.createValidatingInvoker(rootInvoker, validator), ImmutableMap.copyOf(chains));
+    }
+
+    /**
+     * Publishes the CXF endpoint and sets up its invoker chain and interceptors.
+     */
+    private void completeEndpoint(EndpointBuilder endpointBuilder, EndpointImpl cxfEndpoint) {
         cxfEndpoint.publish(endpointBuilder.getPath());
+        publishedServers.add(cxfEndpoint.getServer());
+        cxfEndpoint.getServer().getEndpoint().getEndpointInfo().setProperty(ENVIRONMENT_PATH_PROPERTY, defaultPath);
+        inProcessTransport.register(endpointBuilder.getPath(), cxfEndpoint.getServer());
 
         // MTOM support
         if (endpointBuilder.isMtomEnabled()) {
             ((SOAPBinding) cxfEndpoint.getBinding()).setMTOMEnabled(true);
         }
 
-        var invoker = cxfEndpoint.getService().getInvoker();
-
-        // validating invoker
-        var validatorFactory = Validation.buildDefaultValidatorFactory();
-        invoker = this.createValidatingInvoker(invoker, validatorFactory.getValidator());
-
-        if (nonNull(endpointBuilder.getSessionFactory())) {
-            // Add invoker to handle UnitOfWork annotations. Note that this invoker is set up before
-            // instrumented invoker(s) in order for instrumented invoker(s) to wrap "unit of work" invoker.
-            invoker = unitOfWorkInvokerBuilder.create(
-                    endpointBuilder.getService(), invoker, endpointBuilder.getSessionFactory());
-            cxfEndpoint.getService().setInvoker(invoker);
-        }
+        // MTOM optimization threshold and attachment spooling
+        cxfEndpoint.getServer().getEndpoint().putAll(endpointBuilder.getMtomProperties());
 
-        // Replace CXF service invoker with instrumented invoker(s)
-        invoker = instrumentedInvokerBuilder.create(endpointBuilder.getService(), invoker);
+        // Replace CXF service invoker with per-operation invoker chains
+        var invoker = createOperationDispatchingInvoker(endpointBuilder, cxfEndpoint);
+        LOG.debug("Invoker chains for {}: {}", endpointBuilder.getPath(), invoker.describeChains());
         cxfEndpoint.getService().setInvoker(invoker);
 
         if (nonNull(endpointBuilder.getAuthentication())) {
             // Configure CXF in interceptor to handle basic authentication
             var basicAuthInterceptor = this.createBasicAuthenticationInterceptor();
             basicAuthInterceptor.setAuthenticator(endpointBuilder.getAuthentication());
+            if (endpointBuilder.isFaultMetrics()) {
+                basicAuthInterceptor.setRejectedMeter(metricRegistry.meter(
+                        MetricRegistry.name(endpointMetricPrefix(endpointBuilder), "authentication", "rejected")));
+            }
             cxfEndpoint.getInInterceptors().add(basicAuthInterceptor);
         }
 
+        if (endpointBuilder.isWsdlCachingEnabled()) {
+            cxfEndpoint.getInInterceptors().add(new CachingWsdlGetInterceptor(
+                    endpointBuilder.isWsdlGzipEnabled(),
+                    metricRegistry,
+                    MetricRegistry.name(endpointMetricPrefix(endpointBuilder), "wsdl")));
+        }
+
         // CXF interceptors
 
         if (nonNull(endpointBuilder.getCxfInInterceptors())) {
@@ -160,12 +595,102 @@ public class JakartaXmlWsEnvironment {
             cxfEndpoint.getOutFaultInterceptors().addAll(endpointBuilder.getCxfOutFaultInterceptors());
         }
 
+        if (endpointBuilder.isCompressionEnabled()) {
+            addCompressionMetricsInterceptors(cxfEndpoint.getOutInterceptors(),
+                    endpointMetricPrefix(endpointBuilder));
+        }
+
+        if (endpointBuilder.isPayloadSizeMetricsEnabled()) {
+            var metricPrefix = endpointMetricPrefix(endpointBuilder);
+            cxfEndpoint.getInInterceptors().add(
+                    PayloadSizeMetricsInterceptor.in(metricRegistry, metricPrefix, "requestBytes"));
+            cxfEndpoint.getOutInterceptors().add(
+                    PayloadSizeMetricsInterceptor.out(metricRegistry, metricPrefix, "responseBytes"));
+        }
+
+        if (endpointBuilder.isFaultMetrics()) {
+            cxfEndpoint.getOutFaultInterceptors().add(
+                    new FaultMetricsInterceptor(metricRegistry, endpointMetricPrefix(endpointBuilder)));
+        }
+
+        if (endpointBuilder.isPhaseTimingMetrics()) {
+            var metricPrefix = endpointMetricPrefix(endpointBuilder);
+            cxfEndpoint.getInInterceptors().add(PhaseTimingInterceptor.in(metricRegistry, metricPrefix));
+            cxfEndpoint.getOutInterceptors().add(PhaseTimingInterceptor.out(metricRegistry, metricPrefix));
+        }
+
         if (nonNull(endpointBuilder.getProperties())) {
             cxfEndpoint.getProperties().putAll(
                     endpointBuilder.getProperties());
         }
+    }
 
-        return cxfEndpoint;
+    /**
+     * Publish multiple Jakarta XML Web Services server side endpoints concurrently, using a bounded pool of
+     * threads. Building the CXF service model, JAXB context and WSDL model of each endpoint happens in parallel;
+     * this method returns only once all endpoints are published, and the publication time of each endpoint is
+     * logged.
+     *
+     * @param endpointBuilders Endpoints to publish.
+     * @param parallelism      Maximum number of endpoints prepared at the same time.
+     * @return The native CXF endpoints, in the same order as the given builders.
+     * @throws IllegalStateException if publication is interrupted; if publishing an endpoint fails, its
+     *                               exception is rethrown after all other endpoints have completed
+     */
+    public List<EndpointImpl> publishEndpoints(List<EndpointBuilder> endpointBuilders, int parallelism) {
+        checkArgument(nonNull(endpointBuilders), "endpointBuilders is null");
+        checkArgument(parallelism > 0, "parallelism must be positive");
+
+        var stopwatch = Stopwatch.createStarted();
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        var threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("jakarta-xml-ws-publish-%d")
+                .setDaemon(true)
+                .build();
+        var executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, Math.max(1, endpointBuilders.size())), threadFactory);
+
+        try {
+            var futures = new ArrayList<Future<EndpointImpl>>(endpointBuilders.size());
+            for (var endpointBuilder : endpointBuilders) {
+                checkArgument(nonNull(endpointBuilder), "EndpointBuilder is null");
+                futures.add(executor.submit(() -> {
+                    // CXF and JAXB use the context class loader to locate extensions and generated classes
+                    Thread.currentThread().setContextClassLoader(contextClassLoader);
+                    var endpointStopwatch = Stopwatch.createStarted();
+                    var endpoint = publishEndpoint(endpointBuilder);
+                    LOG.info("Published endpoint {}{} in {} ms", defaultPath, endpointBuilder.getPath(),
+                            endpointStopwatch.elapsed(TimeUnit.MILLISECONDS));
+                    return endpoint;
+                }));
+            }
+
+            var endpoints = new ArrayList<EndpointImpl>(futures.size());
+            RuntimeException failure = null;
+            for (var future : futures) {
+                try {
+                    endpoints.add(future.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = (e.getCause() instanceof RuntimeException runtimeException)
+                                ? runtimeException
+                                : new IllegalStateException("Failed to publish endpoint", e.getCause());
+                    }
+                }
+            }
+            if (nonNull(failure)) {
+                throw failure;
+            }
+
+            LOG.info("Published {} endpoints [{}] in {} ms", endpoints.size(), defaultPath,
+                    stopwatch.elapsed(TimeUnit.MILLISECONDS));
+            return endpoints;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing endpoints", e);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -181,6 +706,11 @@ public class JakartaXmlWsEnvironment {
         proxyFactory.setServiceClass(clientBuilder.getServiceClass());
         proxyFactory.setAddress(clientBuilder.getAddress());
 
+        // Shared JAXB context
+        if (usesCachedJaxbContext(clientBuilder.getServiceClass())) {
+            proxyFactory.setDataBinding(jaxbContextCache.newDataBinding());
+        }
+
         // Jakarta XML Web Services handlers
         if (nonNull(clientBuilder.getHandlers())) {
             for (var h : clientBuilder.getHandlers()) {
@@ -207,6 +737,53 @@ public class JakartaXmlWsEnvironment {
             proxyFactory.getOutFaultInterceptors().addAll(clientBuilder.getCxfOutFaultInterceptors());
         }
 
+        // GZIP compression
+        if (clientBuilder.isCompressionEnabled()) {
+            proxyFactory.getFeatures().add(createGzipFeature(
+                    clientBuilder.getCompressionThreshold(), clientBuilder.isRequestCompressionForced()));
+            addCompressionMetricsInterceptors(proxyFactory.getOutInterceptors(),
+                    MetricRegistry.name(clientBuilder.getServiceClass()));
+        }
+
+        if (clientBuilder.isPayloadSizeMetricsEnabled()) {
+            var metricPrefix = MetricRegistry.name(clientBuilder.getServiceClass());
+            proxyFactory.getOutInterceptors().add(
+                    PayloadSizeMetricsInterceptor.out(metricRegistry, metricPrefix, "requestBytes"));
+            proxyFactory.getInInterceptors().add(
+                    PayloadSizeMetricsInterceptor.in(metricRegistry, metricPrefix, "responseBytes"));
+        }
+
+        if (clientBuilder.isOperationMetricsEnabled()) {
+            new ClientMetricsInterceptor(metricRegistry, MetricRegistry.name(clientBuilder.getServiceClass()))
+                    .install(proxyFactory);
+        }
+
+        // In-process dispatch to an endpoint of this environment
+        var inProcessPath = inProcessPath(clientBuilder);
+        if (nonNull(inProcessPath)) {
+            inProcessTransport.install(proxyFactory, inProcessPath,
+                    metricRegistry.meter(MetricRegistry.name(clientBuilder.getServiceClass(), "inProcess")),
+                    () -> initializeLazyEndpoint(inProcessPath));
+        }
+
+        // Load balancing, with the circuit breakers of the addresses
+        if (clientBuilder.isLoadBalancingEnabled()) {
+            var addressCircuitBreakers = clientBuilder.isCircuitBreakerEnabled()
+                    ? clientBuilder.getAddresses().stream()
+                            .distinct()
+                            .collect(ImmutableMap.toImmutableMap(Function.identity(),
+                                    address -> getCircuitBreaker(address, clientBuilder)))
+                    : ImmutableMap.<String, CircuitBreaker>of();
+            new LoadBalancingInterceptor(clientBuilder.getAddresses(), clientBuilder.getLoadBalancingStrategy(),
+                    addressCircuitBreakers, metricRegistry, MetricRegistry.name(clientBuilder.getServiceClass()))
+                    .install(proxyFactory);
+        }
+
+        // Fast Infoset encoding
+        if (clientBuilder.isFastInfosetEnabled()) {
+            proxyFactory.getFeatures().add(createFastInfosetFeature(clientBuilder.isFastInfosetRequestsForced()));
+        }
+
         var proxy = clientBuilder.getServiceClass().cast(proxyFactory.create());
 
         // MTOM support
@@ -216,11 +793,216 @@ public class JakartaXmlWsEnvironment {
             binding.setMTOMEnabled(true);
         }
 
-        var httpConduit = (HTTPConduit) ClientProxy.getClient(proxy).getConduit();
-        var client = httpConduit.getClient();
-        client.setConnectionTimeout(clientBuilder.getConnectTimeout());
-        client.setReceiveTimeout(clientBuilder.getReceiveTimeout());
+        // MTOM optimization threshold and attachment spooling
+        var cxfClient = ClientProxy.getClient(proxy);
+        cxfClient.getEndpoint().putAll(clientBuilder.getMtomProperties());
+
+        if (cxfClient.getConduit() instanceof HTTPConduit httpConduit) {
+            var client = httpConduit.getClient();
+            client.setConnectionTimeout(clientBuilder.getConnectTimeout());
+            client.setReceiveTimeout(clientBuilder.getReceiveTimeout());
+        }
+
+        var result = proxy;
+
+        // Retries, circuit breaker and hedged requests. The circuit breakers of load balanced clients are used by
+        // their LoadBalancingInterceptor, which knows the address of each call.
+        if (clientBuilder.isResilienceEnabled()) {
+            var circuitBreaker = clientBuilder.isCircuitBreakerEnabled() && !clientBuilder.isLoadBalancingEnabled()
+                    ? getCircuitBreaker(clientBuilder.getAddress(), clientBuilder)
+                    : null;
+            var executor = clientBuilder.isHedgingEnabled() ? getHedgeExecutor() : null;
+            result = new ResilientClientProxy(proxy, cxfClient, clientBuilder, circuitBreaker, executor, metricRegistry)
+                    .newProxy(clientBuilder.getServiceClass());
+        }
+
+        if (clientBuilder.isWarmUpEnabled()) {
+            var warmUpProxy = result;
+            addWarmUp(pendingClientWarmUps, new WarmUp(
+                    "client " + clientBuilder.getServiceClass().getName() + " of " + clientBuilder.getAddress(),
+                    () -> warmUpClient(warmUpProxy, clientBuilder.getWarmUpInvocation(),
+                            clientBuilder.getWarmUpConnections())));
+        }
+
+        return result;
+    }
 
-        return proxy;
+    /**
+     * Returns the path of the endpoint of this environment called by the client in-process, or null if the client
+     * calls its address over HTTP.
+     */
+    @Nullable
+    private String inProcessPath(ClientBuilder<?> clientBuilder) {
+        var address = clientBuilder.getAddress();
+        if (inProcessDispatch && nonNull(publishedEndpointUrlPrefix)
+                && address.startsWith(publishedEndpointUrlPrefix + "/")) {
+            return address.substring(publishedEndpointUrlPrefix.length());
+        }
+        if (clientBuilder.isInProcess()) {
+            var rootPath = defaultPath.startsWith("/") ? defaultPath : "/" + defaultPath;
+            var path = URI.create(address).getPath();
+            checkArgument(nonNull(path) && path.startsWith(rootPath + "/"),
+                    "%s is not an endpoint address under %s", address, rootPath);
+            return path.substring(rootPath.length());
+        }
+        return null;
+    }
+
+    /**
+     * Run the invocation of a client warm-up from the given number of threads at the same time.
+     */
+    private static <T> void warmUpClient(T proxy, Consumer<T> invocation, int connections) {
+        if (connections == 1) {
+            invocation.accept(proxy);
+            return;
+        }
+
+        var threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("jakarta-xml-ws-warm-up-%d")
+                .setDaemon(true)
+                .build();
+        var executor = Executors.newFixedThreadPool(connections, threadFactory);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<?>>(connections);
+            for (var i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    invocation.accept(proxy);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw (e.getCause() instanceof RuntimeException runtimeException)
+                    ? runtimeException
+                    : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while warming up client", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run the pending warm-ups of the published endpoints, replaying their warm-up requests in-process. Each
+     * warm-up is timed and logged; a failed warm-up is logged and does not prevent the following ones from running.
+     *
+     * @return Whether all warm-ups succeeded.
+     * @see EndpointBuilder#warmUp(int, String...)
+     */
+    public boolean warmUpEndpoints() {
+        return runWarmUps(pendingEndpointWarmUps);
+    }
+
+    /**
+     * Run the pending warm-ups of the clients created with a warm-up invocation. Each warm-up is timed and logged;
+     * a failed warm-up is logged and does not prevent the following ones from running.
+     *
+     * @return Whether all warm-ups succeeded.
+     * @see ClientBuilder#warmUp(int, Consumer)
+     */
+    public boolean warmUpClients() {
+        return runWarmUps(pendingClientWarmUps);
+    }
+
+    private static boolean runWarmUps(List<WarmUp> pendingWarmUps) {
+        var succeeded = true;
+        for (var warmUp : List.copyOf(pendingWarmUps)) {
+            var stopwatch = Stopwatch.createStarted();
+            try {
+                warmUp.task().run();
+                LOG.info("Warmed up {} in {}", warmUp.name(), stopwatch);
+            } catch (RuntimeException e) {
+                succeeded = false;
+                LOG.warn("Warm-up of {} failed after {}", warmUp.name(), stopwatch, e);
+            }
+            pendingWarmUps.remove(warmUp);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Returns whether some endpoint or client warm-ups have not run yet.
+     */
+    public boolean isWarmUpPending() {
+        return !pendingEndpointWarmUps.isEmpty() || !pendingClientWarmUps.isEmpty();
+    }
+
+    /**
+     * Run the given listener once, when the first endpoint or client warm-up is configured, or right away if one
+     * already is. This lets the bundle set up warm-ups at startup only for applications that use them, as endpoints
+     * and clients are usually created after the bundle has run.
+     *
+     * @param listener Listener run when warm-up is configured.
+     */
+    public synchronized void onWarmUpConfigured(Runnable listener) {
+        checkArgument(nonNull(listener), "listener is null");
+        if (warmUpConfigured) {
+            listener.run();
+        } else {
+            warmUpConfiguredListener = listener;
+        }
+    }
+
+    private void addWarmUp(List<WarmUp> pendingWarmUps, WarmUp warmUp) {
+        pendingWarmUps.add(warmUp);
+        synchronized (this) {
+            if (!warmUpConfigured) {
+                warmUpConfigured = true;
+                if (nonNull(warmUpConfiguredListener)) {
+                    warmUpConfiguredListener.run();
+                }
+            }
+        }
+    }
+
+    private record WarmUp(String name, Runnable task) {
+    }
+
+    /**
+     * Returns the circuit breaker of the given address, shared by all clients of the address, creating it with the
+     * options of the given client on first use.
+     */
+    private CircuitBreaker getCircuitBreaker(String address, ClientBuilder<?> clientBuilder) {
+        return circuitBreakers.computeIfAbsent(address,
+                key -> new CircuitBreaker(clientBuilder.getCircuitBreakerFailureThreshold(),
+                        clientBuilder.getCircuitBreakerOpenDuration()));
+    }
+
+    /**
+     * Returns the executor running the calls of clients with hedged requests, creating it on first use. It has at
+     * most {@link #HEDGE_EXECUTOR_THREADS} daemon threads, released when idle, and rejects calls once
+     * {@link #HEDGE_EXECUTOR_QUEUE_CAPACITY} calls are waiting.
+     */
+    private synchronized ExecutorService getHedgeExecutor() {
+        if (isNull(hedgeExecutor)) {
+            var executor = new ThreadPoolExecutor(HEDGE_EXECUTOR_THREADS, HEDGE_EXECUTOR_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(HEDGE_EXECUTOR_QUEUE_CAPACITY),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("jakarta-xml-ws-hedge-%d")
+                            .setDaemon(true)
+                            .build());
+            executor.allowCoreThreadTimeOut(true);
+            hedgeExecutor = executor;
+        }
+        return hedgeExecutor;
+    }
+
+    /**
+     * Release the resources of this environment once the application stops: the executor of hedged requests is
+     * shut down, so clients call their endpoint without hedging afterward, and the JAXB context cache is cleared.
+     */
+    public synchronized void stop() {
+        if (nonNull(hedgeExecutor)) {
+            hedgeExecutor.shutdownNow();
+        }
+        if (nonNull(jaxbContextCache)) {
+            jaxbContextCache.clear();
+        }
     }
 }
@@ -0,0 +1,194 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import jakarta.xml.bind.JAXBException;
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.jaxb.JAXBContextCache.CachedContextAndSchemas;
+import org.apache.cxf.jaxb.JAXBDataBinding;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of JAXB contexts keyed by the set of classes, the default namespace and the context properties they are
+ * built for, shared by server endpoints and client proxies. Publishing the same service on several paths or
+ * bundles, or creating a client for a service published in the same application, then reuses a single JAXB context
+ * instead of building an identical one each time.
+ * <p>
+ * Unlike CXF's own JAXB context cache, which only holds contexts weakly, contexts stay cached until the cache
+ * is {@link #clear() cleared}. By default, each CXF bus has its own cache, shared by the bundles sharing the bus
+ * and cleared when they stop. The number of contexts created and reused is available for monitoring.
+ * <p>
+ * Contexts that need type references, which CXF derives from the service model for some parameters, depend on more
+ * than their classes and are never cached.
+ */
+public class JaxbContextCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    /**
+     * Returns the cache of the given CXF bus, creating it on first use. It is released with the bus.
+     *
+     * @param bus CXF bus.
+     * @return The cache of the bus.
+     */
+    public static JaxbContextCache of(Bus bus) {
+        checkArgument(nonNull(bus), "bus is null");
+        synchronized (bus) {
+            var cache = bus.getExtension(JaxbContextCache.class);
+            if (isNull(cache)) {
+                cache = new JaxbContextCache();
+                bus.setExtension(cache, JaxbContextCache.class);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Remove all cached JAXB contexts. Endpoints and clients keep the contexts they already use.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Create a new JAXB data binding for a single endpoint or client, which obtains its JAXB context from this
+     * cache.
+     */
+    public JAXBDataBinding newDataBinding() {
+        return new CachingJaxbDataBinding(this);
+    }
+
+    /**
+     * Returns the number of JAXB contexts built because no cached context existed for the class set.
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Returns the number of times a cached JAXB context was reused.
+     */
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    /**
+     * Returns the number of cached JAXB contexts.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    CachedContextAndSchemas get(Set<Class<?>> classes,
+                                @Nullable String defaultNamespace,
+                                Map<String, Object> contextProperties,
+                                ContextFactory factory) throws JAXBException {
+
+        var key = new Key(Set.copyOf(classes), defaultNamespace,
+                Collections.unmodifiableMap(new HashMap<>(contextProperties)));
+        var entry = entries.get(key);
+        if (nonNull(entry)) {
+            reused.incrementAndGet();
+            classes.addAll(entry.classes);
+            return entry.contextAndSchemas;
+        }
+
+        // Build outside any lock, since building a JAXB context can take a long time. If two threads race,
+        // both contexts are valid and the first one stored wins.
+        var contextAndSchemas = factory.create(classes);
+        created.incrementAndGet();
+        var existing = entries.putIfAbsent(key, new Entry(contextAndSchemas, Set.copyOf(classes)));
+        return nonNull(existing) ? existing.contextAndSchemas : contextAndSchemas;
+    }
+
+    @FunctionalInterface
+    interface ContextFactory {
+        CachedContextAndSchemas create(Set<Class<?>> classes) throws JAXBException;
+    }
+
+    private record Key(Set<Class<?>> classes,
+                       @Nullable String defaultNamespace,
+                       Map<String, Object> contextProperties) {
+    }
+
+    private record Entry(CachedContextAndSchemas contextAndSchemas, Set<Class<?>> classes) {
+    }
+
+    /**
+     * A JAXB data binding that obtains its context from a {@link JaxbContextCache}.
+     */
+    static class CachingJaxbDataBinding extends JAXBDataBinding {
+
+        private static final Logger LOG = LoggerFactory.getLogger(CachingJaxbDataBinding.class);
+
+        /**
+         * The type references of {@link JAXBDataBinding}, which it does not expose; null if they cannot be read, in
+         * which case no context is cached.
+         */
+        @Nullable
+        private static final Field TYPE_REFS = typeRefsField();
+
+        private final JaxbContextCache cache;
+
+        CachingJaxbDataBinding(JaxbContextCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public CachedContextAndSchemas createJAXBContextAndSchemas(Set<Class<?>> classes, String defaultNs)
+                throws JAXBException {
+            if (hasTypeReferences()) {
+                return super.createJAXBContextAndSchemas(classes, defaultNs);
+            }
+
+            // CXF adds the extra classes to the set before building the context, so they are part of the key
+            var extraClasses = getExtraClass();
+            if (nonNull(extraClasses)) {
+                Collections.addAll(classes, extraClasses);
+            }
+
+            // CXF adds classes to the set while building the context, and reads them back afterward
+            var contextProperties = getContextProperties();
+            return cache.get(classes, defaultNs, nonNull(contextProperties) ? contextProperties : Map.of(),
+                    contextClasses -> super.createJAXBContextAndSchemas(contextClasses, defaultNs));
+        }
+
+        private boolean hasTypeReferences() {
+            if (isNull(TYPE_REFS)) {
+                return true;
+            }
+            try {
+                return TYPE_REFS.get(this) instanceof Collection<?> typeRefs && !typeRefs.isEmpty();
+            } catch (IllegalAccessException e) {
+                return true;
+            }
+        }
+
+        @Nullable
+        private static Field typeRefsField() {
+            try {
+                var field = JAXBDataBinding.class.getDeclaredField("typeRefs");
+                field.setAccessible(true);
+                return field;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.warn("Cannot read the type references of JAXB data bindings, JAXB contexts will not be cached", e);
+                return null;
+            }
+        }
+    }
+}
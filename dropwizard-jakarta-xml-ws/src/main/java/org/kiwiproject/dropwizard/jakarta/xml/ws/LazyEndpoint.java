@@ -0,0 +1,60 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * An endpoint whose path is registered but whose CXF endpoint, JAXB context and invoker chain are only built
+ * when the first request for it arrives.
+ * <p>
+ * Initialization runs at most once. Concurrent first requests block until it completes. If initialization
+ * fails, the exception is propagated to the request that triggered it and the next request tries again.
+ *
+ * @see EndpointBuilder#lazy()
+ */
+class LazyEndpoint {
+
+    private final String path;
+    private final Runnable initializer;
+    private final Timer initializationTimer;
+    private volatile boolean initialized;
+
+    /**
+     * @param path                Endpoint path relative to the CXF servlet path.
+     * @param initializer         Publishes the endpoint.
+     * @param initializationTimer Records the one-time initialization latency.
+     */
+    LazyEndpoint(String path, Runnable initializer, Timer initializationTimer) {
+        this.path = path;
+        this.initializer = initializer;
+        this.initializationTimer = initializationTimer;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Whether a request with the given path info, relative to the CXF servlet path, targets this endpoint.
+     */
+    boolean matches(String pathInfo) {
+        return pathInfo.equals(path) || pathInfo.startsWith(path + "/");
+    }
+
+    void initialize() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                try (var ignored = initializationTimer.time()) {
+                    initializer.run();
+                }
+                initialized = true;
+            }
+        }
+    }
+}
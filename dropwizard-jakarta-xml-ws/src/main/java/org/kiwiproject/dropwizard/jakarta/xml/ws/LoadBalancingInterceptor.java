@@ -0,0 +1,369 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.InterceptorProvider;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A CXF client interceptor that spreads the requests of a client across several addresses, e.g. the replicas of a
+ * backend, by setting the address of each outgoing message before it is sent. Addresses are selected among the
+ * healthy ones using a {@link Strategy}; an address is unhealthy for a while after a request failed to connect
+ * to it. When all addresses are unhealthy, they are all used again.
+ * <p>
+ * Metrics are kept per address, named {@code <metricPrefix>.addresses.<address>}:
+ * <ul>
+ * <li>{@code requests}: a timer of the requests, until their response or fault is received,</li>
+ * <li>{@code failures}: a meter of the requests that failed to be sent or whose response could not be received,</li>
+ * <li>{@code inFlight}: a counter of the requests in progress,</li>
+ * <li>{@code healthy}: a gauge returning whether the address is currently selected.</li>
+ * </ul>
+ * When circuit breakers are given, each address has its own: addresses whose circuit breaker is open are not
+ * selected, calls failing to reach an address are recorded as failures of its circuit breaker, and other calls as
+ * successes. When the circuit breakers of all addresses are open, requests fail with a
+ * {@link CircuitBreaker.OpenException} and are counted in a {@code <metricPrefix>.circuitBreaker.shortCircuits}
+ * meter.
+ * <p>
+ * Requests failing to connect are not resent by this interceptor: clients with several addresses fail over to
+ * another address by calling the operation again, see {@link ResilientClientProxy}. Use
+ * {@link #install(InterceptorProvider)} to add it and its companion interceptors to a client.
+ */
+public class LoadBalancingInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    /**
+     * How the address of each request is selected.
+     */
+    public enum Strategy {
+
+        /**
+         * Use the addresses in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Use the address with the fewest requests in progress.
+         */
+        LEAST_IN_FLIGHT,
+
+        /**
+         * Use addresses randomly, with a probability inversely proportional to their recent latency. Addresses
+         * that have not been used yet are selected first.
+         */
+        LATENCY_WEIGHTED
+    }
+
+    /**
+     * How long an address is not selected after a request failed to connect to it.
+     */
+    public static final Duration UNHEALTHY_DURATION = Duration.ofSeconds(10);
+
+    private static final String REQUEST = LoadBalancingInterceptor.class.getName() + ".request";
+
+    private final ImmutableList<Target> targets;
+    private final Strategy strategy;
+    private final long unhealthyNanos;
+    private final Ticker ticker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Meter shortCircuits;
+    private final ResponseInterceptor responseInterceptor = new ResponseInterceptor();
+    private final SentInterceptor sentInterceptor = new SentInterceptor();
+
+    /**
+     * @param addresses      Addresses of the endpoint.
+     * @param strategy       Strategy selecting the address of each request.
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the metric names, e.g. the service interface name.
+     */
+    public LoadBalancingInterceptor(List<String> addresses, Strategy strategy, MetricRegistry metricRegistry,
+                                    String metricPrefix) {
+        this(addresses, strategy, Map.of(), metricRegistry, metricPrefix);
+    }
+
+    /**
+     * @param addresses       Addresses of the endpoint.
+     * @param strategy        Strategy selecting the address of each request.
+     * @param circuitBreakers Circuit breakers of the addresses, by address. Addresses without circuit breaker are
+     *                        always selectable.
+     * @param metricRegistry  Metric registry.
+     * @param metricPrefix    Prefix of the metric names, e.g. the service interface name.
+     */
+    public LoadBalancingInterceptor(List<String> addresses, Strategy strategy,
+                                    Map<String, CircuitBreaker> circuitBreakers, MetricRegistry metricRegistry,
+                                    String metricPrefix) {
+        this(addresses, strategy, circuitBreakers, metricRegistry, metricPrefix, UNHEALTHY_DURATION,
+                Ticker.systemTicker());
+    }
+
+    LoadBalancingInterceptor(List<String> addresses, Strategy strategy, Map<String, CircuitBreaker> circuitBreakers,
+                             MetricRegistry metricRegistry, String metricPrefix, Duration unhealthyDuration,
+                             Ticker ticker) {
+        super(Phase.PREPARE_SEND);
+        addBefore(MessageSenderInterceptor.class.getName());
+        checkArgument(nonNull(addresses) && !addresses.isEmpty(), "addresses is empty");
+        checkArgument(nonNull(strategy), "strategy is null");
+        checkArgument(nonNull(circuitBreakers), "circuitBreakers is null");
+        this.strategy = strategy;
+        this.unhealthyNanos = unhealthyDuration.toNanos();
+        this.ticker = ticker;
+        this.targets = addresses.stream()
+                .map(address -> new Target(address, circuitBreakers.get(address), metricRegistry,
+                        MetricRegistry.name(metricPrefix, "addresses", address)))
+                .collect(ImmutableList.toImmutableList());
+        this.shortCircuits = metricRegistry.meter(MetricRegistry.name(metricPrefix, "circuitBreaker", "shortCircuits"));
+    }
+
+    /**
+     * Add this interceptor and its companion interceptors, which complete the requests, to the given client or
+     * proxy factory.
+     *
+     * @param interceptorProvider Client or proxy factory.
+     */
+    public void install(InterceptorProvider interceptorProvider) {
+        interceptorProvider.getOutInterceptors().add(this);
+        interceptorProvider.getOutInterceptors().add(sentInterceptor);
+        interceptorProvider.getInInterceptors().add(responseInterceptor);
+        interceptorProvider.getInFaultInterceptors().add(responseInterceptor);
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var exchange = message.getExchange();
+        if (isNull(exchange)) {
+            return;
+        }
+
+        var target = select();
+        if (isNull(target)) {
+            shortCircuits.mark();
+            throw new Fault(new CircuitBreaker.OpenException("Circuit breakers are open for all addresses "
+                    + targets.stream().map(candidate -> candidate.address).toList()));
+        }
+        message.put(Message.ENDPOINT_ADDRESS, target.address);
+        target.inFlight.inc();
+        exchange.put(REQUEST, new Request(target, target.timer.time()));
+    }
+
+    @Override
+    public void handleFault(Message message) {
+        var exception = message.getContent(Exception.class);
+        var failed = nonNull(exception) && Throwables.getCausalChain(exception).stream()
+                .anyMatch(IOException.class::isInstance);
+        var request = complete(message.getExchange(), failed);
+        if (nonNull(request)) {
+            request.target.failures.mark();
+            if (nonNull(exception) && isConnectionFailure(exception)) {
+                request.target.unhealthyUntil = ticker.read() + unhealthyNanos;
+            }
+        }
+    }
+
+    /**
+     * Returns the address of the next request, or null if the circuit breakers of all addresses are open.
+     */
+    @Nullable
+    String selectAddress() {
+        var target = select();
+        return isNull(target) ? null : target.address;
+    }
+
+    /**
+     * Selects the target of the next request among the healthy targets, skipping those whose circuit breaker
+     * rejects the request.
+     *
+     * @return The selected target, or null if the circuit breakers of all candidates are open.
+     */
+    @Nullable
+    private Target select() {
+        var now = ticker.read();
+        var healthy = targets.stream()
+                .filter(target -> target.isHealthy(now))
+                .toList();
+        var candidates = new ArrayList<>(healthy.isEmpty() ? targets : healthy);
+        while (!candidates.isEmpty()) {
+            var start = Math.floorMod(next.getAndIncrement(), candidates.size());
+            var target = switch (strategy) {
+                case ROUND_ROBIN -> candidates.get(start);
+                case LEAST_IN_FLIGHT -> leastInFlight(candidates, start);
+                case LATENCY_WEIGHTED -> latencyWeighted(candidates, start);
+            };
+            if (isNull(target.circuitBreaker) || target.circuitBreaker.tryAcquire()) {
+                return target;
+            }
+            candidates.remove(target);
+        }
+        return null;
+    }
+
+    private static Target leastInFlight(List<Target> candidates, int start) {
+        var selected = candidates.get(start);
+        for (var i = 1; i < candidates.size(); i++) {
+            var candidate = candidates.get((start + i) % candidates.size());
+            if (candidate.inFlight.getCount() < selected.inFlight.getCount()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    private static Target latencyWeighted(List<Target> candidates, int start) {
+        var weights = new double[candidates.size()];
+        var totalWeight = 0.0;
+        for (var i = 0; i < candidates.size(); i++) {
+            var candidate = candidates.get((start + i) % candidates.size());
+            var latency = candidate.averageLatencyNanos();
+            if (latency == 0) {
+                return candidate;
+            }
+            weights[i] = 1.0 / latency;
+            totalWeight += weights[i];
+        }
+
+        var random = ThreadLocalRandom.current().nextDouble(totalWeight);
+        for (var i = 0; i < weights.length; i++) {
+            random -= weights[i];
+            if (random < 0) {
+                return candidates.get((start + i) % candidates.size());
+            }
+        }
+        return candidates.get(start);
+    }
+
+    /**
+     * Completes the request of the exchange, if it is not completed yet.
+     *
+     * @param exchange Exchange of the request.
+     * @param failed   Whether the request failed to reach its address.
+     * @return The completed request, or null if there was none.
+     */
+    @Nullable
+    private Request complete(@Nullable Exchange exchange, boolean failed) {
+        var request = isNull(exchange) ? null : (Request) exchange.remove(REQUEST);
+        if (nonNull(request)) {
+            var nanos = request.timerContext.stop();
+            request.target.inFlight.dec();
+            request.target.recordLatency(nanos);
+            var circuitBreaker = request.target.circuitBreaker;
+            if (nonNull(circuitBreaker)) {
+                if (failed) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Returns whether the exception was raised because a connection to the target address could not be opened, in
+     * which case the request has not been sent and can be sent to another address.
+     */
+    static boolean isConnectionFailure(Throwable exception) {
+        return "connectTimeout".equals(ClientMetricsInterceptor.transportErrorType(exception))
+                || Throwables.getCausalChain(exception).stream().anyMatch(cause ->
+                        cause instanceof ConnectException
+                                || cause instanceof NoRouteToHostException
+                                || cause instanceof UnknownHostException);
+    }
+
+    private class Target {
+
+        private static final double LATENCY_WEIGHT = 0.2;
+
+        private final String address;
+        private final @Nullable CircuitBreaker circuitBreaker;
+        private final Timer timer;
+        private final Meter failures;
+        private final Counter inFlight;
+        private volatile long unhealthyUntil = Long.MIN_VALUE;
+        private double averageLatencyNanos;
+
+        Target(String address, @Nullable CircuitBreaker circuitBreaker, MetricRegistry metricRegistry,
+               String metricName) {
+            this.address = address;
+            this.circuitBreaker = circuitBreaker;
+            this.timer = metricRegistry.timer(MetricRegistry.name(metricName, "requests"));
+            this.failures = metricRegistry.meter(MetricRegistry.name(metricName, "failures"));
+            this.inFlight = metricRegistry.counter(MetricRegistry.name(metricName, "inFlight"));
+            metricRegistry.gauge(MetricRegistry.name(metricName, "healthy"),
+                    () -> () -> isHealthy(ticker.read()));
+        }
+
+        boolean isHealthy(long now) {
+            return unhealthyUntil == Long.MIN_VALUE || now - unhealthyUntil >= 0;
+        }
+
+        synchronized void recordLatency(long nanos) {
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? nanos
+                    : averageLatencyNanos * (1 - LATENCY_WEIGHT) + nanos * LATENCY_WEIGHT;
+        }
+
+        synchronized double averageLatencyNanos() {
+            return averageLatencyNanos;
+        }
+    }
+
+    private record Request(Target target, Timer.Context timerContext) {
+    }
+
+    /**
+     * Completes requests once their response, or the SOAP fault returned instead, has been received.
+     */
+    private class ResponseInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        ResponseInterceptor() {
+            super(LoadBalancingInterceptor.class.getName() + ".response", Phase.RECEIVE);
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            complete(message.getExchange(), false);
+        }
+    }
+
+    /**
+     * Completes one-way requests once they have been sent.
+     */
+    private class SentInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        SentInterceptor() {
+            super(LoadBalancingInterceptor.class.getName() + ".sent", Phase.PREPARE_SEND_ENDING);
+            addAfter(MessageSenderInterceptor.MessageSenderEndingInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var exchange = message.getExchange();
+            if (nonNull(exchange) && (exchange.isOneWay() || nonNull(exchange.getInMessage()))) {
+                complete(exchange, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Primitives;
+import org.apache.cxf.jaxws.JAXWSMethodInvoker;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.service.invoker.Factory;
+import org.apache.cxf.service.invoker.SingletonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CXF root invoker that calls service methods through method handles created once per operation, instead of
+ * the reflective {@link Method#invoke} used by {@link JAXWSMethodInvoker}.
+ * <p>
+ * Only the final call into the service implementation is replaced. Setting up the WebServiceContext, mapping
+ * exceptions to SOAP faults and handling @UseAsyncMethod are still performed by JAXWSMethodInvoker. Exceptions
+ * thrown by the service are wrapped in an {@link InvocationTargetException}, and arguments that do not match the
+ * method parameters are rejected with an {@link IllegalArgumentException} before the call, like reflective
+ * invocation does, so they are mapped to faults in the same way.
+ * <p>
+ * Since JDK 18, {@link Method#invoke} is itself implemented with method handles, so the difference is mostly
+ * on JDK 17. Module {@code dropwizard-jakarta-xml-ws-benchmarks} compares both with JMH.
+ * <p>
+ * CXF passes the service endpoint interface method of the operation when the service declares an endpoint
+ * interface, so each method handle is registered for the implementation method and for the interface methods it
+ * implements. Methods for which no method handle can be created, or that take the CXF Exchange as a parameter, are
+ * invoked reflectively.
+ */
+public class MethodHandleInvoker extends JAXWSMethodInvoker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandleInvoker.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Object[] NO_ARGUMENTS = {};
+
+    private final ImmutableMap<Method, Target> targets;
+
+    /**
+     * Method handle of a service method, with the types its receiver and arguments are checked against.
+     */
+    private record Target(MethodHandle methodHandle, Class<?> declaringClass, Class<?>[] parameterTypes) {
+    }
+
+    /**
+     * @param service Service implementation.
+     */
+    public MethodHandleInvoker(Object service) {
+        this(new SingletonFactory(service), service.getClass());
+    }
+
+    /**
+     * @param factory      Factory providing service implementation instances.
+     * @param serviceClass Service implementation class.
+     */
+    public MethodHandleInvoker(Factory factory, Class<?> serviceClass) {
+        super(factory);
+        this.targets = createTargets(serviceClass);
+    }
+
+    private static ImmutableMap<Method, Target> createTargets(Class<?> serviceClass) {
+        Map<Method, Target> targets = new LinkedHashMap<>();
+        for (var operation : ServiceModel.of(serviceClass).getOperations()) {
+            var method = operation.getMethod();
+            if (Arrays.asList(method.getParameterTypes()).contains(Exchange.class)) {
+                continue;
+            }
+            try {
+                method.trySetAccessible();
+                var methodHandle = MethodHandles.lookup().unreflect(method)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(INVOKER_TYPE);
+                var target = new Target(methodHandle, method.getDeclaringClass(), method.getParameterTypes());
+                targets.putIfAbsent(method, target);
+                for (var interfaceMethod : operation.getInterfaceMethods()) {
+                    targets.putIfAbsent(interfaceMethod, target);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                LOG.debug("Unable to create method handle for {}, it will be invoked reflectively", method, e);
+            }
+        }
+        return ImmutableMap.copyOf(targets);
+    }
+
+    @Override
+    protected Object performInvocation(Exchange exchange, Object serviceObject, Method m, Object[] paramArray)
+            throws Exception {
+
+        var target = targets.get(m);
+        if (isNull(target)) {
+            return super.performInvocation(exchange, serviceObject, m, paramArray);
+        }
+
+        // Check the arguments first, so that only exceptions thrown by the service are wrapped
+        var arguments = isNull(paramArray) ? NO_ARGUMENTS : paramArray;
+        checkArguments(target, serviceObject, arguments);
+
+        try {
+            return (Object) target.methodHandle().invokeExact(serviceObject, arguments);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException when the service object or the arguments do not match the method, as
+     * {@link Method#invoke} does.
+     */
+    private static void checkArguments(Target target, Object serviceObject, Object[] arguments) {
+        if (!target.declaringClass().isInstance(serviceObject)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+        var parameterTypes = target.parameterTypes();
+        if (arguments.length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments: " + arguments.length
+                    + " expected: " + parameterTypes.length);
+        }
+        for (var i = 0; i < parameterTypes.length; i++) {
+            var argument = arguments[i];
+            var parameterType = parameterTypes[i];
+            if (isNull(argument) ? parameterType.isPrimitive() : !Primitives.wrap(parameterType).isInstance(argument)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given method is invoked through a method handle.
+     */
+    boolean hasMethodHandle(Method method) {
+        return targets.containsKey(method);
+    }
+}
@@ -0,0 +1,58 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.nonNull;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.service.invoker.Invoker;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+/**
+ * Dispatches each invocation to the invoker chain built for its target operation, using a single lookup.
+ * Each chain only contains the invokers that apply to its operation, e.g. an operation without @Timed
+ * does not pass through a TimedInvoker. Invocations of operations without a chain are passed to the underlying
+ * invoker.
+ */
+public class OperationDispatchingInvoker extends AbstractInvoker {
+
+    private final ImmutableMap<Method, Invoker> chains;
+
+    /**
+     * @param underlying Invoker for operations without a chain.
+     * @param chains     Invoker chains keyed by the operation method set on the CXF OperationInfo.
+     */
+    public OperationDispatchingInvoker(Invoker underlying, ImmutableMap<Method, Invoker> chains) {
+        super(underlying);
+        this.chains = chains;
+    }
+
+    @Override
+    public Object invoke(Exchange exchange, Object o) {
+        var chain = chains.get(this.getTargetMethod(exchange));
+        return nonNull(chain) ? chain.invoke(exchange, o) : underlying.invoke(exchange, o);
+    }
+
+    /**
+     * Returns a description of the invoker chain of each operation, keyed by operation name, for example
+     * {@code "TimedInvoker -> ValidatingInvoker -> JAXWSMethodInvoker"}.
+     */
+    public ImmutableMap<String, String> describeChains() {
+        var descriptions = new TreeMap<String, String>();
+        chains.forEach((method, chain) -> descriptions.put(method.getName(), describe(chain)));
+        return ImmutableMap.copyOf(descriptions);
+    }
+
+    private static String describe(Invoker chain) {
+        var names = new ArrayList<String>();
+        var invoker = chain;
+        while (invoker instanceof AbstractInvoker abstractInvoker) {
+            names.add(invoker.getClass().getSimpleName());
+            invoker = abstractInvoker.underlying;
+        }
+        names.add(invoker.getClass().getSimpleName());
+        return String.join(" -> ", names);
+    }
+}
@@ -0,0 +1,147 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.CountingInputStream;
+import org.apache.cxf.attachment.AttachmentInInterceptor;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.interceptor.OutgoingChainInterceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.jspecify.annotations.Nullable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A CXF interceptor that records the size of incoming or outgoing messages in a histogram per operation, named
+ * {@code <metricPrefix>.<operation>.<metricName>}, e.g. {@code SimpleService.echo.requestBytes}.
+ * <p>
+ * Message streams are wrapped with counting streams, so the payload is never buffered by this interceptor. Sizes
+ * are counted before compression, and include MTOM attachments since they are part of the same stream:
+ * <ul>
+ * <li>Outgoing messages are counted below the attachment serializer, and recorded when the stream is closed.</li>
+ * <li>Incoming messages are counted before attachments are split from the stream, and recorded once the message
+ * has been processed (after invocation on endpoints, after unmarshalling on clients). Attachments that were not
+ * read at that point are not counted.</li>
+ * </ul>
+ * Messages that are not bound to an operation, e.g. WSDL requests, are not recorded.
+ */
+public class PayloadSizeMetricsInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final String COUNTING_STREAM = PayloadSizeMetricsInterceptor.class.getName() + ".countingStream";
+
+    private final MetricRegistry metricRegistry;
+    private final String metricPrefix;
+    private final String metricName;
+    private final boolean incoming;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final RecordingInterceptor recordingInterceptor;
+
+    private PayloadSizeMetricsInterceptor(boolean incoming, MetricRegistry metricRegistry, String metricPrefix,
+                                          String metricName) {
+        super(incoming ? Phase.RECEIVE : Phase.PREPARE_SEND);
+        this.incoming = incoming;
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = metricPrefix;
+        this.metricName = metricName;
+        this.recordingInterceptor = new RecordingInterceptor();
+    }
+
+    /**
+     * Create an interceptor recording the sizes of incoming messages, i.e. requests of endpoints and responses
+     * of clients.
+     *
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the histogram names, e.g. the service class name.
+     * @param metricName     Last part of the histogram names, e.g. "requestBytes".
+     */
+    public static PayloadSizeMetricsInterceptor in(MetricRegistry metricRegistry, String metricPrefix,
+                                                   String metricName) {
+        var interceptor = new PayloadSizeMetricsInterceptor(true, metricRegistry, metricPrefix, metricName);
+        interceptor.addAfter(GZIPInInterceptor.class.getName());
+        interceptor.addBefore(AttachmentInInterceptor.class.getName());
+        return interceptor;
+    }
+
+    /**
+     * Create an interceptor recording the sizes of outgoing messages, i.e. responses of endpoints and requests
+     * of clients.
+     *
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the histogram names, e.g. the service class name.
+     * @param metricName     Last part of the histogram names, e.g. "responseBytes".
+     */
+    public static PayloadSizeMetricsInterceptor out(MetricRegistry metricRegistry, String metricPrefix,
+                                                    String metricName) {
+        var interceptor = new PayloadSizeMetricsInterceptor(false, metricRegistry, metricPrefix, metricName);
+        interceptor.addAfter(MessageSenderInterceptor.class.getName());
+        interceptor.addAfter(GZIPOutInterceptor.class.getName());
+        return interceptor;
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        if (incoming) {
+            var inputStream = message.getContent(InputStream.class);
+            var chain = message.getInterceptorChain();
+            if (nonNull(inputStream) && nonNull(chain)) {
+                var countingStream = new CountingInputStream(inputStream);
+                message.setContent(InputStream.class, countingStream);
+                message.put(COUNTING_STREAM, countingStream);
+                chain.add(recordingInterceptor);
+            }
+        } else {
+            var outputStream = message.getContent(OutputStream.class);
+            var histogram = histogram(message);
+            if (nonNull(outputStream) && nonNull(histogram)) {
+                message.setContent(OutputStream.class,
+                        new CompressionMetricsInterceptor.RecordingOutputStream(outputStream, histogram));
+            }
+        }
+    }
+
+    /**
+     * Returns the histogram of the operation of the message, or null if the message is not bound to an operation.
+     */
+    @Nullable
+    private Histogram histogram(Message message) {
+        var exchange = message.getExchange();
+        var bindingOperationInfo = isNull(exchange) ? null : exchange.getBindingOperationInfo();
+        if (isNull(bindingOperationInfo)) {
+            return null;
+        }
+        var operationName = bindingOperationInfo.getName().getLocalPart();
+        return histograms.computeIfAbsent(operationName,
+                name -> metricRegistry.histogram(MetricRegistry.name(metricPrefix, name, metricName)));
+    }
+
+    /**
+     * Records the number of bytes read from the incoming message, once the message has been processed.
+     */
+    private class RecordingInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        RecordingInterceptor() {
+            super(PayloadSizeMetricsInterceptor.class.getName() + ".recording", Phase.POST_INVOKE);
+            addBefore(OutgoingChainInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var countingStream = (CountingInputStream) message.get(COUNTING_STREAM);
+            var histogram = histogram(message);
+            if (nonNull(countingStream) && nonNull(histogram)) {
+                histogram.update(countingStream.getCount());
+            }
+        }
+    }
+}
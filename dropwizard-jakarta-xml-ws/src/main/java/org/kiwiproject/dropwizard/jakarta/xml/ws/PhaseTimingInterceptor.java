@@ -0,0 +1,174 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.OutgoingChainInterceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A CXF interceptor that records how long each phase of the interceptor chain takes, in nanoseconds, in a histogram
+ * per operation and phase named {@code <metricPrefix>.<operation>.phases.<in|out>.<phase>}, e.g.
+ * {@code SimpleService.echo.phases.in.unmarshal}.
+ * <p>
+ * The interceptor is installed in the first phase of the chain. When a message is received or sent, it adds a marker
+ * at the start of each following phase of the message's chain and one at its end, so the time spent in every
+ * interceptor of a phase, including bus, binding and handler interceptors, is attributed to that phase. Phase
+ * durations are recorded once the chain has completed, when the operation of the message is known. Messages that
+ * are not bound to an operation, and chains interrupted by a fault, are not recorded.
+ * <p>
+ * On endpoints, the timing of incoming messages ends before the response is sent, so the post-invoke phase does not
+ * include the outgoing chain.
+ */
+public class PhaseTimingInterceptor extends AbstractPhaseInterceptor<Message> {
+
+    private static final String PHASE_TIMES = PhaseTimingInterceptor.class.getName() + ".phaseTimes";
+
+    private final MetricRegistry metricRegistry;
+    private final String metricPrefix;
+    private final String direction;
+
+    private PhaseTimingInterceptor(String phase, MetricRegistry metricRegistry, String metricPrefix,
+                                   String direction) {
+        super(phase);
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = metricPrefix;
+        this.direction = direction;
+    }
+
+    /**
+     * Create an interceptor recording the phase durations of incoming messages.
+     *
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the histogram names, e.g. the service class name.
+     */
+    public static PhaseTimingInterceptor in(MetricRegistry metricRegistry, String metricPrefix) {
+        return new PhaseTimingInterceptor(Phase.RECEIVE, metricRegistry, metricPrefix, "in");
+    }
+
+    /**
+     * Create an interceptor recording the phase durations of outgoing messages.
+     *
+     * @param metricRegistry Metric registry.
+     * @param metricPrefix   Prefix of the histogram names, e.g. the service class name.
+     */
+    public static PhaseTimingInterceptor out(MetricRegistry metricRegistry, String metricPrefix) {
+        return new PhaseTimingInterceptor(Phase.SETUP, metricRegistry, metricPrefix, "out");
+    }
+
+    @Override
+    public void handleMessage(Message message) throws Fault {
+        var chain = message.getInterceptorChain();
+        if (isNull(chain)) {
+            return;
+        }
+
+        // Interceptor ids of each phase of this message's chain, in chain order
+        var phases = new LinkedHashMap<String, Set<String>>();
+        for (var interceptor : chain) {
+            if (interceptor instanceof PhaseInterceptor<?> phaseInterceptor) {
+                phases.computeIfAbsent(phaseInterceptor.getPhase(), phase -> new HashSet<>())
+                        .add(phaseInterceptor.getId());
+            }
+        }
+
+        message.put(PHASE_TIMES, new PhaseTimes(getPhase(), System.nanoTime()));
+
+        String lastPhase = getPhase();
+        for (var phase : phases.entrySet()) {
+            if (!phase.getKey().equals(getPhase())) {
+                chain.add(new PhaseStartInterceptor(phase.getKey(), phase.getValue()));
+            }
+            lastPhase = phase.getKey();
+        }
+        var lastPhaseIds = phases.getOrDefault(lastPhase, Set.of());
+        chain.add(new ChainEndInterceptor(lastPhase, lastPhaseIds));
+    }
+
+    /**
+     * Times of the phases of a message, kept in the message while its chain runs.
+     */
+    private static class PhaseTimes {
+
+        private final List<Map.Entry<String, Long>> durations = new ArrayList<>();
+        private String phase;
+        private long phaseStart;
+
+        PhaseTimes(String phase, long phaseStart) {
+            this.phase = phase;
+            this.phaseStart = phaseStart;
+        }
+
+        void startPhase(String nextPhase, long now) {
+            durations.add(Map.entry(phase, now - phaseStart));
+            phase = nextPhase;
+            phaseStart = now;
+        }
+    }
+
+    /**
+     * Marks the start of a phase, and the end of the previous one.
+     */
+    private static class PhaseStartInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        PhaseStartInterceptor(String phase, Set<String> phaseInterceptorIds) {
+            super(PhaseTimingInterceptor.class.getName() + "." + phase, phase);
+            getBefore().addAll(phaseInterceptorIds);
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var phaseTimes = (PhaseTimes) message.get(PHASE_TIMES);
+            if (nonNull(phaseTimes)) {
+                phaseTimes.startPhase(getPhase(), System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Marks the end of the last phase, and records the phase durations.
+     */
+    private class ChainEndInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        ChainEndInterceptor(String phase, Set<String> phaseInterceptorIds) {
+            super(PhaseTimingInterceptor.class.getName() + ".end", phase);
+            var outgoingChainInterceptorId = OutgoingChainInterceptor.class.getName();
+            for (var id : phaseInterceptorIds) {
+                if (id.equals(outgoingChainInterceptorId)) {
+                    addBefore(id);
+                } else {
+                    addAfter(id);
+                }
+            }
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            var phaseTimes = (PhaseTimes) message.remove(PHASE_TIMES);
+            var exchange = message.getExchange();
+            var bindingOperationInfo = isNull(exchange) ? null : exchange.getBindingOperationInfo();
+            if (isNull(phaseTimes) || isNull(bindingOperationInfo)) {
+                return;
+            }
+
+            phaseTimes.startPhase(null, System.nanoTime());
+            var operationName = bindingOperationInfo.getName().getLocalPart();
+            for (var duration : phaseTimes.durations) {
+                metricRegistry.histogram(MetricRegistry.name(metricPrefix, operationName, "phases", direction,
+                        duration.getKey())).update(duration.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.math.LongMath;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.soap.SOAPFaultException;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.frontend.ClientProxy;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An invocation handler wrapping a CXF client proxy, to retry, short-circuit and hedge the calls of its operations.
+ * Since it extends {@link ClientProxy}, {@link ClientProxy#getClient(Object)} still returns the CXF client of the
+ * wrapped proxy.
+ * <ul>
+ * <li>Calls to idempotent operations that fail to reach the target address are retried with an exponential
+ * backoff, capped and randomized. Retries are counted in a {@code <service interface>.<operation>.retries}
+ * meter.</li>
+ * <li>Calls are rejected without being sent while the circuit breaker of the target address is open. Rejected calls
+ * are counted in a {@code <service interface>.circuitBreaker.shortCircuits} meter. Clients with several addresses
+ * have no circuit breaker here: their {@link LoadBalancingInterceptor} uses the circuit breaker of each address.</li>
+ * <li>Calls to idempotent operations that have not completed after a percentile of the operation's recent
+ * latencies are hedged: a second call is sent and the first successful response is used. Hedged calls are counted
+ * in a {@code <service interface>.<operation>.hedges} meter. The hedge delay of each operation is computed from its
+ * latencies at most once every {@link #HEDGE_DELAY_REFRESH_INTERVAL}. Calls are not hedged while the hedge executor is
+ * saturated. Once a call succeeds, the other one is not sent if it is still queued, but a call already sent keeps
+ * running until its response is received or its receive timeout elapses, and its result is discarded.</li>
+ * </ul>
+ * A call fails to reach the target address when it throws a WebServiceException caused by an I/O error, e.g. a
+ * connection error, a timeout or an HTTP error status. SOAP faults and declared exceptions are never retried.
+ * <p>
+ * When the client has several addresses, calls of any operation failing to connect to an address are sent again,
+ * without backoff, up to once per other address. The address of each call is selected by a
+ * {@link LoadBalancingInterceptor}. Failovers are counted in a {@code <service interface>.<operation>.failovers}
+ * meter.
+ */
+public class ResilientClientProxy extends ClientProxy {
+
+    /**
+     * Number of successful calls of an operation needed before its calls are hedged.
+     */
+    static final int MIN_HEDGE_SAMPLES = 100;
+
+    /**
+     * Interval between two computations of the hedge delay of an operation, as taking a snapshot of its latencies
+     * copies and sorts them.
+     */
+    static final Duration HEDGE_DELAY_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final Object delegate;
+    private final Class<?> serviceClass;
+    private final String address;
+    private final ImmutableSet<String> idempotentOperations;
+    private final int maxAttempts;
+    private final int maxFailovers;
+    private final long backoffNanos;
+    private final long maxBackoffNanos;
+    private final double hedgePercentile;
+    private final @Nullable CircuitBreaker circuitBreaker;
+    private final @Nullable Executor hedgeExecutor;
+    private final MetricRegistry metricRegistry;
+    private final String metricPrefix;
+    private final Map<String, OperationLatencies> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate       CXF client proxy to wrap.
+     * @param client         CXF client of the proxy.
+     * @param clientBuilder  Builder of the client, providing the idempotent operations, retry and hedging options.
+     * @param circuitBreaker Circuit breaker of the single target address, or null to send all calls.
+     * @param hedgeExecutor  Executor running hedged calls, or null to disable hedging.
+     * @param metricRegistry Metric registry.
+     */
+    public ResilientClientProxy(Object delegate, Client client, ClientBuilder<?> clientBuilder,
+                                @Nullable CircuitBreaker circuitBreaker, @Nullable Executor hedgeExecutor,
+                                MetricRegistry metricRegistry) {
+        super(client);
+        this.delegate = delegate;
+        this.serviceClass = clientBuilder.getServiceClass();
+        this.address = String.join(", ", clientBuilder.getAddresses());
+        this.idempotentOperations = clientBuilder.getIdempotentOperations();
+        this.maxAttempts = clientBuilder.getRetryMaxAttempts();
+        this.maxFailovers = clientBuilder.getAddresses().size() - 1;
+        this.backoffNanos = clientBuilder.getRetryBackoff().toNanos();
+        this.maxBackoffNanos = clientBuilder.getRetryMaxBackoff().toNanos();
+        this.hedgePercentile = clientBuilder.getHedgePercentile();
+        this.circuitBreaker = circuitBreaker;
+        this.hedgeExecutor = hedgeExecutor;
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = MetricRegistry.name(serviceClass);
+    }
+
+    /**
+     * Create a proxy implementing the same interfaces as the wrapped proxy, and handled by this instance.
+     *
+     * @param serviceClass Service interface.
+     * @param <T>          Service interface type.
+     * @return Resilient client proxy.
+     */
+    public <T> T newProxy(Class<T> serviceClass) {
+        return serviceClass.cast(Proxy.newProxyInstance(serviceClass.getClassLoader(),
+                delegate.getClass().getInterfaces(), this));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        var declaringClass = method.getDeclaringClass();
+        if (!declaringClass.isInterface() || !declaringClass.isAssignableFrom(serviceClass)) {
+            // Object and BindingProvider methods
+            return invokeDelegate(method, args);
+        }
+
+        var operationName = method.getName();
+        var idempotent = idempotentOperations.contains(operationName);
+        if (idempotent && nonNull(hedgeExecutor) && hedgePercentile > 0) {
+            return invokeHedged(operationName, method, args);
+        }
+        return invokeWithRetries(operationName, method, args, idempotent);
+    }
+
+    private Object invokeHedged(String operationName, Method method, Object[] args) throws Throwable {
+        var operationLatencies = latencies(operationName);
+        if (operationLatencies.histogram.getCount() < MIN_HEDGE_SAMPLES) {
+            return invokeWithRetries(operationName, method, args, true);
+        }
+
+        var thresholdNanos = operationLatencies.hedgeDelayNanos(hedgePercentile, System.nanoTime());
+        CompletableFuture<Object> primary;
+        try {
+            primary = invokeAsync(operationName, method, args);
+        } catch (RejectedExecutionException e) {
+            // The hedge executor is saturated or stopped: call without hedging
+            return invokeWithRetries(operationName, method, args, true);
+        }
+        try {
+            return primary.get(thresholdNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The primary call is slow: hedge it below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceException("Interrupted while calling " + operationName, e);
+        }
+
+        CompletableFuture<Object> hedge;
+        try {
+            hedge = invokeAsync(operationName, method, args);
+        } catch (RejectedExecutionException e) {
+            return await(primary, operationName);
+        }
+        metricRegistry.meter(MetricRegistry.name(metricPrefix, operationName, "hedges")).mark();
+
+        var firstSuccess = new CompletableFuture<>();
+        var pending = new AtomicInteger(2);
+        for (var call : List.of(primary, hedge)) {
+            call.whenComplete((result, error) -> {
+                if (isNull(error)) {
+                    firstSuccess.complete(result);
+                } else if (pending.decrementAndGet() == 0) {
+                    firstSuccess.completeExceptionally(error);
+                }
+            });
+        }
+        // The losing call is not sent if it is still queued; a call in progress is not interrupted
+        firstSuccess.whenComplete((result, error) -> {
+            primary.cancel(false);
+            hedge.cancel(false);
+        });
+
+        return await(firstSuccess, operationName);
+    }
+
+    private static Object await(CompletableFuture<?> call, String operationName) throws Throwable {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceException("Interrupted while calling " + operationName, e);
+        }
+    }
+
+    private CompletableFuture<Object> invokeAsync(String operationName, Method method, Object[] args) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return invokeWithRetries(operationName, method, args, true);
+            } catch (Throwable e) {
+                throw new CompletionException(e);
+            }
+        }, hedgeExecutor);
+    }
+
+    private Object invokeWithRetries(String operationName, Method method, Object[] args, boolean idempotent)
+            throws Throwable {
+        var attempts = idempotent ? maxAttempts : 1;
+        var failovers = 0;
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return invokeOnce(operationName, method, args);
+            } catch (Throwable e) {
+                if (failovers < maxFailovers && LoadBalancingInterceptor.isConnectionFailure(e)) {
+                    // The call was not sent: send it to another address, without counting it as an attempt
+                    failovers++;
+                    attempt--;
+                    metricRegistry.meter(MetricRegistry.name(metricPrefix, operationName, "failovers")).mark();
+                    continue;
+                }
+                if (attempt >= attempts || !isTransportFailure(e)) {
+                    throw e;
+                }
+                metricRegistry.meter(MetricRegistry.name(metricPrefix, operationName, "retries")).mark();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(
+                            backoffNanos(attempt, backoffNanos, maxBackoffNanos, ThreadLocalRandom.current()));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the delay before the retry following the given attempt: the backoff doubled after each attempt, up to
+     * the maximum backoff, randomized between half and all of its value.
+     */
+    static long backoffNanos(int attempt, long backoffNanos, long maxBackoffNanos, Random random) {
+        var exponential = LongMath.saturatedMultiply(backoffNanos, LongMath.saturatedPow(2, attempt - 1));
+        var capped = Math.min(exponential, maxBackoffNanos);
+        var half = capped / 2;
+        return half + (long) (random.nextDouble() * (capped - half));
+    }
+
+    private Object invokeOnce(String operationName, Method method, Object[] args) throws Throwable {
+        if (nonNull(circuitBreaker) && !circuitBreaker.tryAcquire()) {
+            metricRegistry.meter(MetricRegistry.name(metricPrefix, "circuitBreaker", "shortCircuits")).mark();
+            throw new WebServiceException("Circuit breaker is open for " + address);
+        }
+
+        var start = System.nanoTime();
+        try {
+            var result = invokeDelegate(method, args);
+            latencies(operationName).histogram.update(System.nanoTime() - start);
+            if (nonNull(circuitBreaker)) {
+                circuitBreaker.onSuccess();
+            }
+            return result;
+        } catch (Throwable e) {
+            if (nonNull(circuitBreaker)) {
+                if (isTransportFailure(e)) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private OperationLatencies latencies(String operationName) {
+        return latencies.computeIfAbsent(operationName, name -> new OperationLatencies());
+    }
+
+    /**
+     * The recent latencies of an operation, and its hedge delay computed from them.
+     */
+    static class OperationLatencies {
+
+        private static final long REFRESH_INTERVAL_NANOS = HEDGE_DELAY_REFRESH_INTERVAL.toNanos();
+
+        final Histogram histogram = new Histogram(new ExponentiallyDecayingReservoir());
+
+        private volatile long hedgeDelayNanos;
+        private volatile long refreshedAtNanos;
+        private volatile boolean computed;
+
+        /**
+         * Returns the given percentile of the latencies, computed again if it is older than the refresh interval.
+         * Concurrent calls may both compute it, which is harmless.
+         */
+        long hedgeDelayNanos(double percentile, long nowNanos) {
+            if (!computed || nowNanos - refreshedAtNanos >= REFRESH_INTERVAL_NANOS) {
+                hedgeDelayNanos = (long) histogram.getSnapshot().getValue(percentile);
+                refreshedAtNanos = nowNanos;
+                computed = true;
+            }
+            return hedgeDelayNanos;
+        }
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        return (exception instanceof CompletionException && nonNull(exception.getCause()))
+                ? exception.getCause()
+                : exception;
+    }
+
+    /**
+     * Returns whether the exception was raised because the call failed to reach the target address. Calls rejected
+     * by the circuit breakers of a {@link LoadBalancingInterceptor} were not sent, and are not transport failures.
+     */
+    static boolean isTransportFailure(Throwable exception) {
+        var causes = Throwables.getCausalChain(exception);
+        return exception instanceof WebServiceException
+                && !(exception instanceof SOAPFaultException)
+                && causes.stream().anyMatch(IOException.class::isInstance)
+                && causes.stream().noneMatch(CircuitBreaker.OpenException.class::isInstance);
+    }
+}
@@ -0,0 +1,194 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.cxf.common.injection.ResourceInjector;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.jaxws.context.WebServiceContextResourceResolver;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.resource.DefaultResourceManager;
+import org.apache.cxf.resource.ResourceManager;
+import org.apache.cxf.resource.ResourceResolver;
+import org.apache.cxf.service.invoker.Factory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Provides CXF service instance factories used with CXF's factory invokers, for service implementations that
+ * are not thread-safe. Resources such as WebServiceContext are injected into each instance created, and its
+ * {@code @PostConstruct} methods are called, as CXF does for the service instance of an endpoint.
+ *
+ * @see org.apache.cxf.service.invoker.FactoryInvoker
+ */
+public class ServiceInstanceFactories {
+
+    private ServiceInstanceFactories() {
+        // utility class
+    }
+
+    /**
+     * Creates a service instance with the given supplier and injects its resources, using the resource resolvers
+     * of the exchange's bus and a WebServiceContext resolver, like CXF's JaxWsServerFactoryBean.
+     */
+    private static Object newInstance(Supplier<?> instanceSupplier, Exchange exchange) {
+        var instance = instanceSupplier.get();
+        var bus = exchange.getBus();
+        var busResourceManager = isNull(bus) ? null : bus.getExtension(ResourceManager.class);
+        List<ResourceResolver> resolvers = nonNull(busResourceManager)
+                ? busResourceManager.getResourceResolvers() : List.of();
+        var resourceManager = new DefaultResourceManager(resolvers);
+        resourceManager.addResourceResolver(new WebServiceContextResourceResolver());
+        var injector = new ResourceInjector(resourceManager);
+        injector.inject(instance);
+        injector.construct(instance);
+        return instance;
+    }
+
+    /**
+     * Factory that provides service instances from a bounded pool. Instances are created on demand up to the
+     * maximum, and an instance is used by one request at a time. When all instances are in use, requests wait
+     * for an instance to be released, up to a maximum wait after which they fail with a Fault.
+     * <p>
+     * Registers the following metrics under the given prefix: {@code size} and {@code inUse} gauges,
+     * a {@code saturated} meter marked each time a request has to wait, a {@code wait} timer of the time
+     * spent waiting, and a {@code timeouts} meter of the requests that failed waiting.
+     */
+    public static class PooledInstanceFactory implements Factory {
+
+        /**
+         * Maximum time a request waits for a service instance, unless set in the constructor.
+         */
+        public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+        private final Supplier<?> instanceSupplier;
+        private final int maxInstances;
+        private final Duration maxWait;
+        private final Semaphore permits;
+        private final Queue<Object> idleInstances = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Meter saturated;
+        private final Timer wait;
+        private final Meter timeouts;
+
+        /**
+         * @param instanceSupplier Supplier of new service instances.
+         * @param maxInstances     Maximum number of service instances.
+         * @param metricRegistry   Metric registry.
+         * @param metricPrefix     Prefix of the pool metrics.
+         */
+        public PooledInstanceFactory(Supplier<?> instanceSupplier, int maxInstances,
+                                     MetricRegistry metricRegistry, String metricPrefix) {
+            this(instanceSupplier, maxInstances, DEFAULT_MAX_WAIT, metricRegistry, metricPrefix);
+        }
+
+        /**
+         * @param instanceSupplier Supplier of new service instances.
+         * @param maxInstances     Maximum number of service instances.
+         * @param maxWait          Maximum time a request waits for a service instance.
+         * @param metricRegistry   Metric registry.
+         * @param metricPrefix     Prefix of the pool metrics.
+         */
+        public PooledInstanceFactory(Supplier<?> instanceSupplier, int maxInstances, Duration maxWait,
+                                     MetricRegistry metricRegistry, String metricPrefix) {
+            this.instanceSupplier = instanceSupplier;
+            this.maxInstances = maxInstances;
+            this.maxWait = maxWait;
+            this.permits = new Semaphore(maxInstances, true);
+            this.saturated = metricRegistry.meter(MetricRegistry.name(metricPrefix, "saturated"));
+            this.wait = metricRegistry.timer(MetricRegistry.name(metricPrefix, "wait"));
+            this.timeouts = metricRegistry.meter(MetricRegistry.name(metricPrefix, "timeouts"));
+            metricRegistry.gauge(MetricRegistry.name(metricPrefix, "size"), () -> (Gauge<Integer>) this::getSize);
+            metricRegistry.gauge(MetricRegistry.name(metricPrefix, "inUse"), () -> (Gauge<Integer>) this::getInUse);
+        }
+
+        @Override
+        public Object create(Exchange exchange) throws Throwable {
+            if (!permits.tryAcquire()) {
+                saturated.mark();
+                boolean acquired;
+                try (var ignored = wait.time()) {
+                    acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                if (!acquired) {
+                    timeouts.mark();
+                    throw new Fault(new TimeoutException(
+                            "No service instance available after waiting " + maxWait.toMillis() + " ms"));
+                }
+            }
+
+            var instance = idleInstances.poll();
+            if (isNull(instance)) {
+                // Release the permit if the instance cannot be created, including on errors
+                var created = false;
+                try {
+                    instance = newInstance(instanceSupplier, exchange);
+                    size.incrementAndGet();
+                    created = true;
+                } finally {
+                    if (!created) {
+                        permits.release();
+                    }
+                }
+            }
+            return instance;
+        }
+
+        @Override
+        public void release(Exchange exchange, Object instance) {
+            idleInstances.offer(instance);
+            permits.release();
+        }
+
+        /**
+         * Returns the number of service instances created.
+         */
+        public int getSize() {
+            return size.get();
+        }
+
+        /**
+         * Returns the number of service instances currently serving requests.
+         */
+        public int getInUse() {
+            return maxInstances - permits.availablePermits();
+        }
+    }
+
+    /**
+     * Factory that creates a new service instance for each request.
+     */
+    public static class PerRequestInstanceFactory implements Factory {
+
+        private final Supplier<?> instanceSupplier;
+
+        /**
+         * @param instanceSupplier Supplier of new service instances.
+         */
+        public PerRequestInstanceFactory(Supplier<?> instanceSupplier) {
+            this.instanceSupplier = instanceSupplier;
+        }
+
+        @Override
+        public Object create(Exchange exchange) {
+            return newInstance(instanceSupplier, exchange);
+        }
+
+        @Override
+        public void release(Exchange exchange, Object instance) {
+            // nothing to release, the instance is discarded
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.validation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Metadata about the operations of a service class, collected by a single reflection scan of the class.
+ * <p>
+ * Each public method is scanned once, together with the methods it implements on the service endpoint interfaces,
+ * so annotations such as {@code @Timed} or {@code @UnitOfWork} may be declared on either. Annotations declared on
+ * the service class take precedence. Models are cached per class, so publishing the same service class on
+ * several endpoints or bundles scans it only once.
+ * <p>
+ * The invoker factories and {@link ValidatingInvoker} read their configuration from this model.
+ */
+public final class ServiceModel {
+
+    private static final Class<?>[] EMPTY_CLASS_ARRAY = {};
+    private static final Class<?>[] DEFAULT_GROUP_ARRAY = new Class<?>[] { Default.class };
+
+    private static final ClassValue<ServiceModel> MODELS = new ClassValue<>() {
+        @Override
+        protected ServiceModel computeValue(Class<?> type) {
+            return new ServiceModel(type);
+        }
+    };
+
+    private final Class<?> serviceClass;
+    private final ImmutableMap<Method, Operation> operations;
+
+    private ServiceModel(Class<?> serviceClass) {
+        this.serviceClass = serviceClass;
+
+        var interfaces = new LinkedHashSet<Class<?>>();
+        collectInterfaces(serviceClass, interfaces);
+
+        var operationsBuilder = new ImmutableMap.Builder<Method, Operation>();
+        for (var method : serviceClass.getMethods()) {
+            if (method.getDeclaringClass() != Object.class) {
+                operationsBuilder.put(method, new Operation(method, interfaceMethods(method, interfaces)));
+            }
+        }
+        this.operations = operationsBuilder.build();
+    }
+
+    /**
+     * Returns the model of the given service class, scanning the class on first use.
+     */
+    public static ServiceModel of(Class<?> serviceClass) {
+        return MODELS.get(serviceClass);
+    }
+
+    public Class<?> getServiceClass() {
+        return serviceClass;
+    }
+
+    public ImmutableList<Operation> getOperations() {
+        return operations.values().asList();
+    }
+
+    /**
+     * Returns the operations annotated with the given annotation, either on the service class or on a service
+     * endpoint interface.
+     */
+    public List<Operation> getOperationsAnnotatedWith(Class<? extends Annotation> annotationType) {
+        return operations.values().stream()
+                .filter(operation -> operation.isAnnotationPresent(annotationType))
+                .toList();
+    }
+
+    /**
+     * Returns the operation for the given method, or null if the method is not a public method of the service
+     * class. The method may also be the service endpoint interface method implemented by the operation.
+     */
+    @Nullable
+    public Operation getOperation(Method method) {
+        var operation = operations.get(method);
+        if (nonNull(operation) || method.getDeclaringClass() == serviceClass) {
+            return operation;
+        }
+        try {
+            return operations.get(serviceClass.getMethod(method.getName(), method.getParameterTypes()));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (var current = type; nonNull(current); current = current.getSuperclass()) {
+            for (var anInterface : current.getInterfaces()) {
+                if (interfaces.add(anInterface)) {
+                    collectInterfaces(anInterface, interfaces);
+                }
+            }
+        }
+    }
+
+    private static List<Method> interfaceMethods(Method method, Set<Class<?>> interfaces) {
+        var interfaceMethods = new ArrayList<Method>();
+        for (var anInterface : interfaces) {
+            try {
+                interfaceMethods.add(anInterface.getMethod(method.getName(), method.getParameterTypes()));
+            } catch (NoSuchMethodException e) {
+                // not declared by this interface
+            }
+        }
+        return interfaceMethods;
+    }
+
+    /**
+     * Copied from com.yammer.dropwizard.jersey.jackson.JacksonMessageBodyProvider#findValidationGroups()
+     */
+    private static Class<?>[] findValidationGroups(Annotation[] annotations) {
+        for (var annotation : annotations) {
+            if (annotation.annotationType() == Valid.class) {
+                return DEFAULT_GROUP_ARRAY;
+            } else if (annotation.annotationType() == Validated.class) {
+                return ((Validated) annotation).value();
+            }
+        }
+        return EMPTY_CLASS_ARRAY;
+    }
+
+    /**
+     * A service operation, i.e. a public method of the service class, with the annotations declared on it and on
+     * the service endpoint interface methods it implements.
+     */
+    public static final class Operation {
+
+        private final Method method;
+        private final ImmutableList<Method> interfaceMethods;
+        private final ImmutableMap<Class<? extends Annotation>, Annotation> annotations;
+        private final Class<?>[][] validationGroups;
+        private final boolean validated;
+
+        private Operation(Method method, List<Method> interfaceMethods) {
+            this.method = method;
+            this.interfaceMethods = ImmutableList.copyOf(interfaceMethods);
+
+            Map<Class<? extends Annotation>, Annotation> allAnnotations = new LinkedHashMap<>();
+            for (var annotation : method.getAnnotations()) {
+                allAnnotations.put(annotation.annotationType(), annotation);
+            }
+            for (var interfaceMethod : interfaceMethods) {
+                for (var annotation : interfaceMethod.getAnnotations()) {
+                    allAnnotations.putIfAbsent(annotation.annotationType(), annotation);
+                }
+            }
+            this.annotations = ImmutableMap.copyOf(allAnnotations);
+
+            var parameterAnnotations = method.getParameterAnnotations();
+            this.validationGroups = new Class<?>[parameterAnnotations.length][];
+            var anyValidated = false;
+            for (var i = 0; i < parameterAnnotations.length; i++) {
+                var groups = findValidationGroups(parameterAnnotations[i]);
+                for (var iterator = interfaceMethods.iterator(); groups.length == 0 && iterator.hasNext(); ) {
+                    groups = findValidationGroups(iterator.next().getParameterAnnotations()[i]);
+                }
+                validationGroups[i] = groups;
+                anyValidated |= groups.length > 0;
+            }
+            this.validated = anyValidated;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public String getName() {
+            return method.getName();
+        }
+
+        /**
+         * Returns the service endpoint interface methods implemented by this operation.
+         */
+        public ImmutableList<Method> getInterfaceMethods() {
+            return interfaceMethods;
+        }
+
+        public boolean isAnnotationPresent(Class<? extends Annotation> annotationType) {
+            return annotations.containsKey(annotationType);
+        }
+
+        @Nullable
+        public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+            var annotation = annotations.get(annotationType);
+            return isNull(annotation) ? null : annotationType.cast(annotation);
+        }
+
+        /**
+         * Returns whether any parameter of this operation is annotated with {@code @Valid} or {@code @Validated}.
+         */
+        public boolean isValidated() {
+            return validated;
+        }
+
+        /**
+         * Returns the validation groups of the parameter at the given index, or an empty array if the parameter
+         * is not validated.
+         */
+        Class<?>[] getValidationGroups(int parameterIndex) {
+            return validationGroups[parameterIndex];
+        }
+    }
+}
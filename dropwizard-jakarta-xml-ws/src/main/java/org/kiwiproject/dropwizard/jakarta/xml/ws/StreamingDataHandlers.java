@@ -0,0 +1,171 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Provides factory methods for {@link DataHandler DataHandlers} that stream binary content from disk, so that
+ * large MTOM attachments never have to be held in the heap as byte arrays.
+ *
+ * @see AbstractBuilder#attachmentMemoryThreshold(long)
+ * @see AbstractBuilder#attachmentDirectory(Path)
+ */
+public class StreamingDataHandlers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingDataHandlers.class);
+
+    private static final String SPOOL_FILE_PREFIX = "jakarta-xml-ws-";
+    private static final String SPOOL_FILE_SUFFIX = ".att";
+
+    private StreamingDataHandlers() {
+        // utility class
+    }
+
+    /**
+     * Create a DataHandler that streams the contents of the given file each time its input stream is requested.
+     *
+     * @param path        File to stream.
+     * @param contentType MIME content type of the file.
+     * @return DataHandler backed by the file.
+     */
+    public static DataHandler fromPath(Path path, String contentType) {
+        checkArgument(nonNull(path), "path is null");
+        checkArgument(nonNull(contentType), "contentType is null");
+        return new DataHandler(new PathDataSource(path, contentType, false));
+    }
+
+    /**
+     * Copy the content of the given DataHandler to a temporary file in the given directory and return a
+     * DataHandler that streams from that file, which makes it suitable for returning from a service operation.
+     * <p>
+     * The returned DataHandler can only be read once: the temporary file is deleted when its input stream is
+     * closed, and requesting the input stream again fails with an IOException. If the DataHandler is never read,
+     * the temporary file is deleted once the DataHandler is garbage collected.
+     *
+     * @param source    DataHandler to spool, e.g. an incoming MTOM attachment.
+     * @param directory Directory in which to create the temporary file.
+     * @return DataHandler backed by the temporary file.
+     * @throws IOException if the content cannot be copied.
+     */
+    public static DataHandler spoolToFile(DataHandler source, Path directory) throws IOException {
+        checkArgument(nonNull(source), "source is null");
+        checkArgument(nonNull(directory), "directory is null");
+
+        var spoolFile = Files.createTempFile(directory, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        try (var in = source.getInputStream()) {
+            Files.copy(in, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+        return new DataHandler(new PathDataSource(spoolFile, source.getContentType(), true));
+    }
+
+    /**
+     * Stream the content of the given DataHandler to the given output stream using a fixed-size buffer.
+     *
+     * @param source DataHandler to read.
+     * @param out    Destination stream, which is not closed.
+     * @return The number of bytes transferred.
+     * @throws IOException if reading or writing fails.
+     */
+    public static long transferTo(DataHandler source, OutputStream out) throws IOException {
+        checkArgument(nonNull(source), "source is null");
+        checkArgument(nonNull(out), "out is null");
+        try (var in = source.getInputStream()) {
+            return in.transferTo(out);
+        }
+    }
+
+    /**
+     * A DataSource reading from a file, optionally deleting the file when the stream is closed, or when the
+     * DataSource is garbage collected if it is never read.
+     */
+    static class PathDataSource implements DataSource {
+
+        private static final Cleaner CLEANER = Cleaner.create();
+
+        private final Path path;
+        private final String contentType;
+        private final Cleaner.@Nullable Cleanable fileDeletion;
+
+        PathDataSource(Path path, String contentType, boolean deleteOnClose) {
+            this.path = path;
+            this.contentType = contentType;
+            this.fileDeletion = deleteOnClose ? CLEANER.register(this, new FileDeletion(path)) : null;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            var deletion = this.fileDeletion;
+            if (isNull(deletion)) {
+                return Files.newInputStream(path);
+            }
+
+            InputStream in;
+            try {
+                in = Files.newInputStream(path);
+            } catch (NoSuchFileException e) {
+                throw new IOException("File " + path + " has already been read and deleted", e);
+            }
+            // The stream references this DataSource, so the file is not deleted while the stream is open
+            return new FilterInputStream(in) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deletion.clean();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException("PathDataSource is read-only");
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getName() {
+            return path.getFileName().toString();
+        }
+    }
+
+    /**
+     * Deletes a file, at most once. Must not reference the DataSource it is registered for.
+     */
+    private record FileDeletion(Path path) implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOG.warn("Unable to delete file {}", path, e);
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.collect.ImmutableMap;
 import io.dropwizard.hibernate.UnitOfWork;
 import org.apache.cxf.service.invoker.Invoker;
@@ -14,10 +17,9 @@ public class UnitOfWorkInvokerFactory {
 
         var unitOfWorkMethodsMapBuilder = new ImmutableMap.Builder<String, UnitOfWork>();
 
-        for (var method : service.getClass().getMethods()) {
-            if (method.isAnnotationPresent(UnitOfWork.class)) {
-                unitOfWorkMethodsMapBuilder.put(method.getName(), method.getAnnotation(UnitOfWork.class));
-            }
+        for (var operation : ServiceModel.of(service.getClass()).getOperationsAnnotatedWith(UnitOfWork.class)) {
+            unitOfWorkMethodsMapBuilder.put(operation.getName(),
+                    requireNonNull(operation.getAnnotation(UnitOfWork.class)));
         }
         var unitOfWorkMethodsMap = unitOfWorkMethodsMapBuilder.build();
 
@@ -28,4 +30,18 @@ public class UnitOfWorkInvokerFactory {
         return new UnitOfWorkInvoker(rootInvoker, unitOfWorkMethodsMap, sessionFactory);
     }
 
+    /**
+     * Factory method for creating UnitOfWorkInvoker for a single operation. Returns the given invoker if the
+     * operation is not annotated with @UnitOfWork.
+     */
+    public Invoker create(ServiceModel.Operation operation, Invoker rootInvoker, SessionFactory sessionFactory) {
+
+        var unitOfWork = operation.getAnnotation(UnitOfWork.class);
+        if (isNull(unitOfWork)) {
+            return rootInvoker;
+        }
+
+        return new UnitOfWorkInvoker(rootInvoker, ImmutableMap.of(operation.getName(), unitOfWork), sessionFactory);
+    }
+
 }
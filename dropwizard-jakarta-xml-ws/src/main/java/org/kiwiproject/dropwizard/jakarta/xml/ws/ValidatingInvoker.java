@@ -5,19 +5,16 @@ import static java.util.Objects.nonNull;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.dropwizard.validation.ConstraintViolations;
-import io.dropwizard.validation.Validated;
-import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import jakarta.validation.Validator;
-import jakarta.validation.groups.Default;
 import jakarta.xml.ws.AsyncHandler;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.FaultMode;
 import org.apache.cxf.message.MessageContentsList;
 import org.apache.cxf.service.invoker.Invoker;
+import org.jspecify.annotations.Nullable;
 
-import java.lang.annotation.Annotation;
 import java.util.List;
 
 /**
@@ -27,21 +24,39 @@ import java.util.List;
  */
 public class ValidatingInvoker extends AbstractInvoker {
 
-    private static final Class<?>[] EMPTY_CLASS_ARRAY = {};
-    private static final Class<?>[] DEFAULT_GROUP_ARRAY = new Class<?>[] { Default.class };
-
     private final Validator validator;
+    private final ServiceModel.@Nullable Operation operation;
 
+    /**
+     * Creates an invoker that validates the parameters of any operation, with the validation groups of the target
+     * method that CXF invokes, looked up on each call.
+     */
     public ValidatingInvoker(Invoker underlying, Validator validator) {
+        this(underlying, validator, null);
+    }
+
+    /**
+     * Creates an invoker that validates the parameters of the given operation, with the validation groups declared
+     * on the service implementation method and on the interface methods it implements.
+     *
+     * @param underlying Invoker to wrap.
+     * @param validator  Validator.
+     * @param operation  Service operation invoked through this invoker, or null to look up the target method on
+     *                   each call.
+     */
+    public ValidatingInvoker(Invoker underlying, Validator validator, ServiceModel.@Nullable Operation operation) {
         super(underlying);
         this.validator = validator;
+        this.operation = operation;
     }
 
     @Override
     public Object invoke(Exchange exchange, Object o) {
 
-        // get annotations declared on parameters
-        Annotation[][] parameterAnnotations = this.getTargetMethod(exchange).getParameterAnnotations();
+        var invokedOperation = nonNull(operation) ? operation : targetOperation(exchange);
+        if (isNull(invokedOperation) || !invokedOperation.isValidated()) {
+            return underlying.invoke(exchange, o);
+        }
 
         /* Begin: Get the actual parameter list (code copied from org.apache.cxf.service.invoker.AbstractInvoker.invoke) */
         List<Object> params = null;
@@ -58,7 +73,7 @@ public class ValidatingInvoker extends AbstractInvoker {
             try {
                 for (var parameter : params) {
                     if (isNull(parameter) || !AsyncHandler.class.isAssignableFrom(parameter.getClass())) {
-                        validate(parameterAnnotations[i++], parameter);
+                        validate(invokedOperation.getValidationGroups(i++), parameter);
                     }
                 }
             } catch (ValidationException ve) {
@@ -72,6 +87,11 @@ public class ValidatingInvoker extends AbstractInvoker {
         return underlying.invoke(exchange, o);
     }
 
+    private ServiceModel.@Nullable Operation targetOperation(Exchange exchange) {
+        var method = this.getTargetMethod(exchange);
+        return ServiceModel.of(method.getDeclaringClass()).getOperation(method);
+    }
+
     /**
      * Copied and modified from com.yammer.dropwizard.jersey.jackson#JacksonMessageBodyProvider.validate()
      * Notes on Hibernate Validator:
@@ -81,10 +101,8 @@ public class ValidatingInvoker extends AbstractInvoker {
      * java.lang.IllegalArgumentException: HV000116: The object to be validated must not be null.
      */
     @CanIgnoreReturnValue
-    private Object validate(Annotation[] annotations, Object value) {
-        var classes = findValidationGroups(annotations);
-
-        if (nonNull(classes) && classes.length > 0) {
+    private Object validate(Class<?>[] classes, Object value) {
+        if (classes.length > 0) {
             var errors = ConstraintViolations.format(validator.validate(value, classes));
             if (errors.isEmpty()) {
                 return value;
@@ -99,18 +117,4 @@ public class ValidatingInvoker extends AbstractInvoker {
 
         return value;
     }
-
-    /**
-     * Copied from com.yammer.dropwizard.jersey.jackson.JacksonMessageBodyProvider#findValidationGroups()
-     */
-    private Class<?>[] findValidationGroups(Annotation[] annotations) {
-        for (var annotation : annotations) {
-            if (annotation.annotationType() == Valid.class) {
-                return DEFAULT_GROUP_ARRAY;
-            } else if (annotation.annotationType() == Validated.class) {
-                return ((Validated) annotation).value();
-            }
-        }
-        return EMPTY_CLASS_ARRAY;
-    }
 }
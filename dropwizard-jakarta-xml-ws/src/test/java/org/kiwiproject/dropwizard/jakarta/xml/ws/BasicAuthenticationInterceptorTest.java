@@ -1,11 +1,13 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.kiwiproject.dropwizard.jakarta.xml.ws.BasicAuthenticationInterceptor.PRINCIPAL_KEY;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.Meter;
 import org.apache.cxf.configuration.security.AuthorizationPolicy;
 import org.apache.cxf.interceptor.InterceptorChain;
 import org.apache.cxf.message.ExchangeImpl;
@@ -78,6 +80,19 @@ class BasicAuthenticationInterceptorTest {
         verify(outMessageMock).put(Message.RESPONSE_CODE, HttpURLConnection.HTTP_UNAUTHORIZED);
     }
 
+    @Test
+    void shouldMarkRejectedMeterForInvalidCredentials() {
+        var interceptor = new BasicAuthenticationInterceptor<User>();
+        interceptor.setAuthenticator(basicAuthentication);
+        var rejectedMeter = new Meter();
+        interceptor.setRejectedMeter(rejectedMeter);
+
+        interceptor.handleMessage(createMessageWithUsernameAndPassword(USERNAME, "foo"));
+        interceptor.handleMessage(createMessageWithUsernameAndPassword(USERNAME, CORRECT_PASSWORD));
+
+        assertThat(rejectedMeter.getCount()).isEqualTo(1);
+    }
+
     @Test
     void shouldNotCrashOnNullPassword() {
         var interceptor = new BasicAuthenticationInterceptor<User>();
@@ -0,0 +1,232 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.frontend.WSDLGetUtils;
+import org.apache.cxf.interceptor.InterceptorChain;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.Destination;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+class CachingWsdlGetInterceptorTest {
+
+    private MetricRegistry metricRegistry;
+    private WSDLGetUtils wsdlGetUtils;
+    private ByteArrayOutputStream responseBody;
+    private Message lastOutMessage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metricRegistry = new MetricRegistry();
+        wsdlGetUtils = mock(WSDLGetUtils.class);
+
+        var document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        document.appendChild(document.createElement("definitions"));
+        when(wsdlGetUtils.getDocument(any(), any(), any(), any(), any())).thenReturn(document);
+    }
+
+    private Message createRequest(String method, String query, Map<String, List<String>> headers) throws IOException {
+        var endpoint = mock(Endpoint.class);
+        when(endpoint.getEndpointInfo()).thenReturn(new EndpointInfo());
+
+        responseBody = new ByteArrayOutputStream();
+        var conduit = mock(Conduit.class);
+        doAnswer(invocation -> {
+            lastOutMessage = invocation.getArgument(0);
+            lastOutMessage.setContent(OutputStream.class, responseBody);
+            return null;
+        }).when(conduit).prepare(any(Message.class));
+
+        var destination = mock(Destination.class);
+        when(destination.getBackChannel(any(Message.class))).thenReturn(conduit);
+
+        var exchange = new ExchangeImpl();
+        exchange.put(Endpoint.class, endpoint);
+        exchange.setDestination(destination);
+
+        var message = new MessageImpl();
+        message.setExchange(exchange);
+        exchange.setInMessage(message);
+        message.setInterceptorChain(mock(InterceptorChain.class));
+        message.put(Message.HTTP_REQUEST_METHOD, method);
+        message.put(Message.QUERY_STRING, query);
+        message.put(Message.REQUEST_URL, "http://localhost:8080/soap/simple");
+        message.put(Message.PROTOCOL_HEADERS, headers);
+        message.put(WSDLGetUtils.class.getName(), wsdlGetUtils);
+        return message;
+    }
+
+    private static Map<String, List<String>> headers(String name, String value) {
+        var headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        headers.put(name, List.of(value));
+        return headers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String responseHeader(String name) {
+        var headers = (Map<String, List<String>>) lastOutMessage.get(Message.PROTOCOL_HEADERS);
+        var values = headers.get(name);
+        return values == null ? null : values.get(0);
+    }
+
+    @Test
+    void ignoresNonWsdlRequests() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        var post = createRequest("POST", "wsdl", null);
+        interceptor.handleMessage(post);
+        var otherQuery = createRequest("GET", "foo=bar", null);
+        interceptor.handleMessage(otherQuery);
+
+        assertAll(
+                () -> verifyNoInteractions(wsdlGetUtils),
+                () -> verifyNoInteractions(post.getInterceptorChain()),
+                () -> assertThat(interceptor.cachedDocumentCount()).isZero()
+        );
+    }
+
+    @Test
+    void rendersOnceAndServesFromCache() throws Exception {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        var first = createRequest("GET", "wsdl", null);
+        interceptor.handleMessage(first);
+        var firstBody = responseBody.toString(StandardCharsets.UTF_8);
+        var etag = responseHeader("ETag");
+
+        var second = createRequest("GET", "wsdl", null);
+        interceptor.handleMessage(second);
+
+        verify(wsdlGetUtils, times(1)).getDocument(any(), any(), any(), any(), any());
+        verify(second.getInterceptorChain()).abort();
+        assertAll(
+                () -> assertThat(firstBody).contains("definitions"),
+                () -> assertThat(responseBody.toString(StandardCharsets.UTF_8)).isEqualTo(firstBody),
+                () -> assertThat(lastOutMessage.get(Message.RESPONSE_CODE)).isEqualTo(200),
+                () -> assertThat(etag).startsWith("\"").endsWith("\""),
+                () -> assertThat(responseHeader("ETag")).isEqualTo(etag),
+                () -> assertThat(responseHeader("Last-Modified")).isNotBlank(),
+                () -> assertThat(metricRegistry.meter("wsdl.misses").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("wsdl.hits").getCount()).isEqualTo(1),
+                () -> assertThat(interceptor.cachedDocumentCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void cachesEachQuerySeparately() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", null));
+        interceptor.handleMessage(createRequest("GET", "xsd=1", null));
+
+        assertThat(interceptor.cachedDocumentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cachesByNormalizedBaseAddressAndDocument() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", null));
+        interceptor.handleMessage(createRequest("GET", "wsdl&foo=bar", null));
+        var request = createRequest("GET", "wsdl", null);
+        request.put(Message.REQUEST_URL, "HTTP://LocalHost:8080/soap/simple");
+        interceptor.handleMessage(request);
+
+        assertAll(
+                () -> assertThat(interceptor.cachedDocumentCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("wsdl.hits").getCount()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void evictsDocumentsPastMaximum() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        for (var i = 0; i < 300; i++) {
+            interceptor.handleMessage(createRequest("GET", "xsd=" + i, null));
+        }
+        interceptor.handleMessage(createRequest("GET", "xsd=299", null));
+
+        assertAll(
+                () -> assertThat(interceptor.cachedDocumentCount()).isLessThanOrEqualTo(256),
+                () -> assertThat(metricRegistry.meter("wsdl.hits").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void normalizeBaseUri() {
+        assertAll(
+                () -> assertThat(CachingWsdlGetInterceptor.normalizeBaseUri("HTTP://Example.COM:80/soap/Simple"))
+                        .isEqualTo("http://example.com/soap/Simple"),
+                () -> assertThat(CachingWsdlGetInterceptor.normalizeBaseUri("https://example.com:443/soap"))
+                        .isEqualTo("https://example.com/soap"),
+                () -> assertThat(CachingWsdlGetInterceptor.normalizeBaseUri("http://example.com:8080/soap"))
+                        .isEqualTo("http://example.com:8080/soap"),
+                () -> assertThat(CachingWsdlGetInterceptor.normalizeBaseUri("local://soap"))
+                        .isEqualTo("local://soap"),
+                () -> assertThat(CachingWsdlGetInterceptor.normalizeBaseUri(null)).isNull()
+        );
+    }
+
+    @Test
+    void respondsNotModifiedWhenETagMatches() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(false, metricRegistry, "wsdl");
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", null));
+        var etag = responseHeader("ETag");
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", headers("If-None-Match", etag)));
+
+        assertAll(
+                () -> assertThat(lastOutMessage.get(Message.RESPONSE_CODE)).isEqualTo(304),
+                () -> assertThat(responseBody.size()).isZero(),
+                () -> assertThat(metricRegistry.meter("wsdl.notModified").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void servesGzipWhenAccepted() throws IOException {
+        var interceptor = new CachingWsdlGetInterceptor(true, metricRegistry, "wsdl");
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", headers("Accept-Encoding", "gzip, deflate")));
+
+        assertThat(responseHeader("Content-Encoding")).isEqualTo("gzip");
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(responseBody.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("definitions");
+        }
+
+        interceptor.handleMessage(createRequest("GET", "wsdl", null));
+
+        assertAll(
+                () -> assertThat(responseHeader("Content-Encoding")).isNull(),
+                () -> assertThat(responseBody.toString(StandardCharsets.UTF_8)).contains("definitions")
+        );
+    }
+}
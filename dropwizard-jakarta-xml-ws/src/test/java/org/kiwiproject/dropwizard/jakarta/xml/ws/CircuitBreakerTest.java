@@ -0,0 +1,74 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class CircuitBreakerTest {
+
+    long nanos;
+    CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        var ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        };
+        circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), ticker);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.onFailure();
+        assertAll(
+                () -> assertThat(circuitBreaker.isOpen()).isTrue(),
+                () -> assertThat(circuitBreaker.tryAcquire()).isFalse()
+        );
+    }
+
+    @Test
+    void allowsSingleTrialCallAfterOpenDuration() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        nanos += Duration.ofSeconds(10).toNanos();
+        assertAll(
+                () -> assertThat(circuitBreaker.tryAcquire()).isTrue(),
+                () -> assertThat(circuitBreaker.tryAcquire()).isFalse()
+        );
+
+        circuitBreaker.onSuccess();
+        assertAll(
+                () -> assertThat(circuitBreaker.isOpen()).isFalse(),
+                () -> assertThat(circuitBreaker.tryAcquire()).isTrue()
+        );
+    }
+
+    @Test
+    void reopensWhenTrialCallFails() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        nanos += Duration.ofSeconds(10).toNanos();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onFailure();
+
+        assertAll(
+                () -> assertThat(circuitBreaker.isOpen()).isTrue(),
+                () -> assertThat(circuitBreaker.tryAcquire()).isFalse()
+        );
+    }
+}
@@ -9,6 +9,10 @@ import jakarta.xml.ws.handler.Handler;
 import org.apache.cxf.interceptor.Interceptor;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+
 class ClientBuilderTest {
 
     @Test
@@ -67,4 +71,128 @@ class ClientBuilderTest {
                 () -> assertThat(builder.getCxfOutFaultInterceptors()).contains(outFaultInterceptor, outFaultInterceptor)
         );
     }
+
+    @Test
+    void buildClientWithMtomOptions() {
+        var builder = new ClientBuilder<>(Object.class, "address")
+                .enableMtom()
+                .mtomThreshold(2048)
+                .attachmentMemoryThreshold(131_072L)
+                .attachmentDirectory(Path.of("/tmp/spool"))
+                .attachmentMaxSize(1_048_576L);
+
+        assertAll(
+                () -> assertThat(builder.isMtomEnabled()).isTrue(),
+                () -> assertThat(builder.getMtomThreshold()).isEqualTo(2048),
+                () -> assertThat(builder.getAttachmentMemoryThreshold()).isEqualTo(131_072L),
+                () -> assertThat(builder.getAttachmentDirectory()).isEqualTo(Path.of("/tmp/spool")),
+                () -> assertThat(builder.getAttachmentMaxSize()).isEqualTo(1_048_576L),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.attachmentMaxSize(0))
+                        .withMessage("attachmentMaxSize must be positive")
+        );
+    }
+
+    @Test
+    void buildClientWithCompressionAndFastInfoset() {
+        var builder = new ClientBuilder<>(Object.class, "address")
+                .compression(512, true)
+                .enableFastInfoset(true);
+
+        assertAll(
+                () -> assertThat(builder.isCompressionEnabled()).isTrue(),
+                () -> assertThat(builder.getCompressionThreshold()).isEqualTo(512),
+                () -> assertThat(builder.isRequestCompressionForced()).isTrue(),
+                () -> assertThat(builder.isFastInfosetEnabled()).isTrue(),
+                () -> assertThat(builder.isFastInfosetRequestsForced()).isTrue()
+        );
+    }
+
+    @Test
+    void buildClientWithResilienceOptions() {
+        var builder = new ClientBuilder<>(Object.class, "address")
+                .idempotentOperations("get", "find")
+                .retry(3, Duration.ofMillis(100))
+                .circuitBreaker(5, Duration.ofSeconds(30))
+                .hedge(0.95);
+
+        assertAll(
+                () -> assertThat(builder.isResilienceEnabled()).isTrue(),
+                () -> assertThat(builder.getIdempotentOperations()).containsExactly("get", "find"),
+                () -> assertThat(builder.getRetryMaxAttempts()).isEqualTo(3),
+                () -> assertThat(builder.getRetryBackoff()).isEqualTo(Duration.ofMillis(100)),
+                () -> assertThat(builder.getRetryMaxBackoff()).isEqualTo(ClientBuilder.DEFAULT_RETRY_MAX_BACKOFF),
+                () -> assertThat(builder.isCircuitBreakerEnabled()).isTrue(),
+                () -> assertThat(builder.getCircuitBreakerFailureThreshold()).isEqualTo(5),
+                () -> assertThat(builder.getCircuitBreakerOpenDuration()).isEqualTo(Duration.ofSeconds(30)),
+                () -> assertThat(builder.isHedgingEnabled()).isTrue(),
+                () -> assertThat(builder.getHedgePercentile()).isEqualTo(0.95)
+        );
+    }
+
+    @Test
+    void buildClientWithRetryMaxBackoff() {
+        var builder = new ClientBuilder<>(Object.class, "address")
+                .retry(5, Duration.ofMillis(100), Duration.ofSeconds(1));
+        var builderWithLongBackoff = new ClientBuilder<>(Object.class, "address")
+                .retry(5, Duration.ofMinutes(1));
+
+        assertAll(
+                () -> assertThat(builder.getRetryBackoff()).isEqualTo(Duration.ofMillis(100)),
+                () -> assertThat(builder.getRetryMaxBackoff()).isEqualTo(Duration.ofSeconds(1)),
+                () -> assertThat(builderWithLongBackoff.getRetryMaxBackoff()).isEqualTo(Duration.ofMinutes(1))
+        );
+    }
+
+    @Test
+    void resilienceOptionsArgumentChecks() {
+        var builder = new ClientBuilder<>(Object.class, "address");
+
+        assertAll(
+                () -> assertThat(builder.isResilienceEnabled()).isFalse(),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.retry(0, Duration.ZERO))
+                        .withMessage("maxAttempts must be positive"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.retry(2, Duration.ofSeconds(2), Duration.ofSeconds(1)))
+                        .withMessage("maxBackoff must not be less than backoff"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.circuitBreaker(0, Duration.ofSeconds(1)))
+                        .withMessage("failureThreshold must be positive"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.hedge(1.0))
+                        .withMessage("percentile must be between 0 and 1")
+        );
+    }
+
+    @Test
+    void buildClientWithLoadBalancing() {
+        var builder = new ClientBuilder<>(Object.class, "http://a")
+                .loadBalancing(LoadBalancingInterceptor.Strategy.LEAST_IN_FLIGHT, "http://b", "http://c");
+
+        assertAll(
+                () -> assertThat(builder.isLoadBalancingEnabled()).isTrue(),
+                () -> assertThat(builder.getLoadBalancingStrategy())
+                        .isEqualTo(LoadBalancingInterceptor.Strategy.LEAST_IN_FLIGHT),
+                () -> assertThat(builder.getAddress()).isEqualTo("http://a"),
+                () -> assertThat(builder.getAddresses()).containsExactly("http://a", "http://b", "http://c"),
+                () -> assertThat(builder.isResilienceEnabled()).isTrue()
+        );
+    }
+
+    @Test
+    void buildClientWithWarmUp() {
+        Consumer<Object> invocation = proxy -> proxy.hashCode();
+        var builder = new ClientBuilder<>(Object.class, "address")
+                .warmUp(4, invocation);
+
+        assertAll(
+                () -> assertThat(builder.isWarmUpEnabled()).isTrue(),
+                () -> assertThat(builder.getWarmUpConnections()).isEqualTo(4),
+                () -> assertThat(builder.getWarmUpInvocation()).isSameAs(invocation),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> builder.warmUp(0, invocation))
+                        .withMessage("connections must be positive")
+        );
+    }
 }
@@ -0,0 +1,163 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.interceptor.AbstractBasicInterceptorProvider;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.phase.PhaseManagerImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.transport.http.HTTPException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.Executors;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+class ClientMetricsInterceptorTest {
+
+    MetricRegistry metricRegistry;
+    ClientMetricsInterceptor interceptor;
+    AbstractBasicInterceptorProvider interceptorProvider;
+    Interceptor<Message> responseInterceptor;
+    ExchangeImpl exchange;
+    MessageImpl outMessage;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        interceptor = new ClientMetricsInterceptor(metricRegistry, "Service");
+
+        interceptorProvider = new AbstractBasicInterceptorProvider() {
+        };
+        interceptor.install(interceptorProvider);
+        responseInterceptor = (Interceptor<Message>) interceptorProvider.getInInterceptors().get(0);
+
+        exchange = new ExchangeImpl();
+        var bindingOperationInfo = mock(BindingOperationInfo.class);
+        when(bindingOperationInfo.getName()).thenReturn(new QName("http://test", "foo"));
+        exchange.put(BindingOperationInfo.class, bindingOperationInfo);
+        outMessage = new MessageImpl();
+        outMessage.setExchange(exchange);
+        exchange.setOutMessage(outMessage);
+    }
+
+    @Test
+    void recordsSuccessfulCall() {
+        interceptor.handleMessage(outMessage);
+        assertThat(metricRegistry.counter("Service.foo.inFlight").getCount()).isEqualTo(1);
+
+        var inMessage = new MessageImpl();
+        inMessage.setExchange(exchange);
+        exchange.setInMessage(inMessage);
+        responseInterceptor.handleMessage(inMessage);
+        responseInterceptor.handleMessage(inMessage);
+
+        assertAll(
+                () -> assertThat(metricRegistry.timer("Service.foo").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.counter("Service.foo.inFlight").getCount()).isZero(),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors").getCount()).isZero()
+        );
+    }
+
+    @Test
+    void recordsSoapFault() {
+        interceptor.handleMessage(outMessage);
+
+        var faultMessage = new MessageImpl();
+        faultMessage.setExchange(exchange);
+        faultMessage.setContent(Exception.class, new Fault(new IllegalStateException("failed")));
+        exchange.setInFaultMessage(faultMessage);
+        responseInterceptor.handleMessage(faultMessage);
+
+        assertAll(
+                () -> assertThat(metricRegistry.timer("Service.foo").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors.soapFault").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void recordsTransportError() {
+        interceptor.handleMessage(outMessage);
+
+        outMessage.setContent(Exception.class, new Fault(new SocketTimeoutException("Read timed out")));
+        interceptor.handleFault(outMessage);
+
+        assertAll(
+                () -> assertThat(metricRegistry.counter("Service.foo.inFlight").getCount()).isZero(),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors.receiveTimeout").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void recordsAsyncCallWithMalformedResponse() throws Exception {
+        interceptor.handleMessage(outMessage);
+
+        var chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        chain.add(interceptorProvider.getInInterceptors());
+        chain.add(new AbstractPhaseInterceptor<>(Phase.READ) {
+            @Override
+            public void handleMessage(Message message) throws Fault {
+                throw new Fault(new XMLStreamException("Unexpected character '<'"));
+            }
+        });
+        var inMessage = new MessageImpl();
+        inMessage.setExchange(exchange);
+        inMessage.setInterceptorChain(chain);
+        exchange.setInMessage(inMessage);
+
+        // Asynchronous responses are read on another thread, once the outgoing chain has completed
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> chain.doIntercept(inMessage)).get()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertAll(
+                () -> assertThat(metricRegistry.timer("Service.foo").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.counter("Service.foo.inFlight").getCount()).isZero(),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors.other").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("Service.foo.errors.soapFault").getCount()).isZero()
+        );
+    }
+
+    @Test
+    void transportErrorType() {
+        assertAll(
+                () -> assertThat(ClientMetricsInterceptor.transportErrorType(
+                        new Fault(new HttpConnectTimeoutException("HTTP connect timed out"))))
+                        .isEqualTo("connectTimeout"),
+                () -> assertThat(ClientMetricsInterceptor.transportErrorType(
+                        new Fault(new SocketTimeoutException("Connect timed out"))))
+                        .isEqualTo("connectTimeout"),
+                () -> assertThat(ClientMetricsInterceptor.transportErrorType(
+                        new Fault(new SocketTimeoutException("Read timed out"))))
+                        .isEqualTo("receiveTimeout"),
+                () -> assertThat(ClientMetricsInterceptor.transportErrorType(
+                        new Fault(new HTTPException(503, "Service Unavailable", new URL("http://address")))))
+                        .isEqualTo("httpError"),
+                () -> assertThat(ClientMetricsInterceptor.transportErrorType(new Fault(new IOException("failed"))))
+                        .isEqualTo("other")
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+class CompressionMetricsInterceptorTest {
+
+    @Test
+    void ordering() {
+        var histogram = new MetricRegistry().histogram("bytes");
+        var uncompressed = CompressionMetricsInterceptor.uncompressed(histogram);
+        var compressed = CompressionMetricsInterceptor.compressed(histogram);
+
+        assertAll(
+                () -> assertThat(uncompressed.getAfter())
+                        .contains(GZIPOutInterceptor.class.getName(), MessageSenderInterceptor.class.getName()),
+                () -> assertThat(compressed.getAfter()).contains(MessageSenderInterceptor.class.getName()),
+                () -> assertThat(compressed.getBefore()).contains(GZIPOutInterceptor.class.getName())
+        );
+    }
+
+    @Test
+    void recordsBytesWrittenOnClose() throws IOException {
+        var histogram = new MetricRegistry().histogram("bytes");
+        var interceptor = CompressionMetricsInterceptor.compressed(histogram);
+
+        var message = new MessageImpl();
+        var target = new ByteArrayOutputStream();
+        message.setContent(OutputStream.class, target);
+
+        interceptor.handleMessage(message);
+
+        var outputStream = message.getContent(OutputStream.class);
+        outputStream.write("<soap:Envelope/>".getBytes());
+        assertThat(histogram.getCount()).isZero();
+
+        outputStream.close();
+        outputStream.close();
+
+        assertAll(
+                () -> assertThat(target.toString()).isEqualTo("<soap:Envelope/>"),
+                () -> assertThat(histogram.getCount()).isEqualTo(1),
+                () -> assertThat(histogram.getSnapshot().getMax()).isEqualTo(16)
+        );
+    }
+}
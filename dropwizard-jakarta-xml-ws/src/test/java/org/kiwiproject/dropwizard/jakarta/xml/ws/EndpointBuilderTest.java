@@ -1,6 +1,8 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.mock;
 
@@ -9,8 +11,11 @@ import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.kiwiproject.dropwizard.jakarta.xml.ws.auth.User;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 class EndpointBuilderTest {
 
@@ -51,4 +56,83 @@ class EndpointBuilderTest {
                 () -> assertThat(builder.getProperties()).containsEntry("key", "value")
         );
     }
+
+    @Test
+    void buildEndpointWithMtomOptions() {
+        var builder = new EndpointBuilder("/foo", new Object())
+                .enableMtom()
+                .mtomThreshold(1024)
+                .attachmentMemoryThreshold(65_536L)
+                .attachmentDirectory(Path.of("/var/spool/soap"))
+                .attachmentMaxSize(10_485_760L);
+
+        assertAll(
+                () -> assertThat(builder.isMtomEnabled()).isTrue(),
+                () -> assertThat(builder.getMtomThreshold()).isEqualTo(1024),
+                () -> assertThat(builder.getAttachmentMemoryThreshold()).isEqualTo(65_536L),
+                () -> assertThat(builder.getAttachmentDirectory()).isEqualTo(Path.of("/var/spool/soap")),
+                () -> assertThat(builder.getAttachmentMaxSize()).isEqualTo(10_485_760L),
+                () -> assertThat(builder.getMtomProperties()).containsOnly(
+                        entry("mtom-threshold", 1024),
+                        entry("attachment-memory-threshold", 65_536L),
+                        entry("attachment-directory", Path.of("/var/spool/soap").toString()),
+                        entry("attachment-max-size", 10_485_760L))
+        );
+    }
+
+    @Test
+    void buildEndpointWithoutMtomOptions() {
+        var builder = new EndpointBuilder("/foo", new Object());
+
+        assertThat(builder.getMtomProperties()).isEmpty();
+    }
+
+    @Test
+    void buildEndpointWithServiceInstances() {
+        Supplier<Object> instanceSupplier = Object::new;
+
+        var pooled = new EndpointBuilder("/foo", new Object()).pooled(instanceSupplier, 4);
+        var perRequest = new EndpointBuilder("/foo", new Object()).perRequest(instanceSupplier);
+
+        assertAll(
+                () -> assertThat(new EndpointBuilder("/foo", new Object()).getInstanceSupplier()).isNull(),
+                () -> assertThat(pooled.getInstanceSupplier()).isSameAs(instanceSupplier),
+                () -> assertThat(pooled.getMaxInstances()).isEqualTo(4),
+                () -> assertThat(pooled.getPoolMaxWait())
+                        .isEqualTo(ServiceInstanceFactories.PooledInstanceFactory.DEFAULT_MAX_WAIT),
+                () -> assertThat(new EndpointBuilder("/foo", new Object())
+                        .pooled(instanceSupplier, 4, Duration.ofSeconds(1)).getPoolMaxWait())
+                        .isEqualTo(Duration.ofSeconds(1)),
+                () -> assertThat(perRequest.getInstanceSupplier()).isSameAs(instanceSupplier),
+                () -> assertThat(perRequest.getMaxInstances()).isZero(),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new EndpointBuilder("/foo", new Object()).pooled(instanceSupplier, 0))
+                        .withMessage("maxInstances must be positive"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new EndpointBuilder("/foo", new Object())
+                                .pooled(instanceSupplier, 1, Duration.ofSeconds(-1)))
+                        .withMessage("maxWait must not be negative"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new EndpointBuilder("/foo", new Object()).perRequest(null))
+                        .withMessage("instanceSupplier is null")
+        );
+    }
+
+    @Test
+    void buildEndpointWithWarmUp() {
+        var builder = new EndpointBuilder("/foo", new Object()).warmUp(1000, "<request1/>", "<request2/>");
+
+        assertAll(
+                () -> assertThat(new EndpointBuilder("/foo", new Object()).isWarmUpEnabled()).isFalse(),
+                () -> assertThat(builder.isWarmUpEnabled()).isTrue(),
+                () -> assertThat(builder.getWarmUpMaxIterations()).isEqualTo(1000),
+                () -> assertThat(builder.getWarmUpRequests()).containsExactly("<request1/>", "<request2/>"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new EndpointBuilder("/foo", new Object()).warmUp(0, "<request/>"))
+                        .withMessage("maxIterations must be positive"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new EndpointBuilder("/foo", new Object()).warmUp(10))
+                        .withMessage("soapRequests is empty")
+        );
+    }
 }
@@ -0,0 +1,104 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.validation.ValidationException;
+import jakarta.xml.ws.WebFault;
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.Soap12;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+
+class FaultMetricsInterceptorTest {
+
+    @WebFault
+    static class DeclaredException extends Exception {
+        DeclaredException() {
+            super("declared");
+        }
+    }
+
+    MetricRegistry metricRegistry;
+    FaultMetricsInterceptor interceptor;
+    SoapMessage message;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        interceptor = new FaultMetricsInterceptor(metricRegistry, "prefix");
+
+        message = new SoapMessage(new MessageImpl());
+        message.setVersion(Soap11.getInstance());
+        var exchange = new ExchangeImpl();
+        var bindingOperationInfo = mock(BindingOperationInfo.class);
+        when(bindingOperationInfo.getName()).thenReturn(new QName("http://test", "foo"));
+        exchange.put(BindingOperationInfo.class, bindingOperationInfo);
+        message.setExchange(exchange);
+    }
+
+    private long count(String name) {
+        return metricRegistry.meter(name).getCount();
+    }
+
+    @Test
+    void countsDeclaredFaults() {
+        message.setContent(Exception.class, new Fault(new DeclaredException()));
+
+        interceptor.handleMessage(message);
+
+        assertAll(
+                () -> assertThat(count("prefix.foo.faults")).isEqualTo(1),
+                () -> assertThat(count("prefix.foo.faults.code.Server")).isEqualTo(1),
+                () -> assertThat(count("prefix.foo.faults.declared.DeclaredException")).isEqualTo(1),
+                () -> assertThat(count("prefix.foo.faults.unexpected")).isZero()
+        );
+    }
+
+    @Test
+    void countsValidationAndClientFaults() {
+        var fault = new Fault(new ValidationException("invalid"));
+        fault.setFaultCode(Fault.FAULT_CODE_CLIENT);
+        message.setContent(Exception.class, fault);
+
+        interceptor.handleMessage(message);
+
+        assertAll(
+                () -> assertThat(count("prefix.foo.faults.code.Client")).isEqualTo(1),
+                () -> assertThat(count("prefix.foo.faults.validation")).isEqualTo(1),
+                () -> assertThat(count("prefix.foo.faults.unexpected")).isZero()
+        );
+    }
+
+    @Test
+    void countsUnexpectedFaultsBeforeOperationIsKnown() {
+        message.setVersion(Soap12.getInstance());
+        message.setExchange(new ExchangeImpl());
+        message.setContent(Exception.class, new Fault(new IllegalStateException("unexpected")));
+
+        interceptor.handleMessage(message);
+
+        assertAll(
+                () -> assertThat(count("prefix.faults")).isEqualTo(1),
+                () -> assertThat(count("prefix.faults.code.Receiver")).isEqualTo(1),
+                () -> assertThat(count("prefix.faults.unexpected")).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void ignoresMessagesWithoutException() {
+        interceptor.handleMessage(message);
+
+        assertThat(metricRegistry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.Meter;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.transport.Destination;
+import org.apache.cxf.transport.MessageObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+class InProcessTransportTest {
+
+    private Bus bus;
+    private InProcessTransport inProcessTransport;
+
+    @BeforeEach
+    void setup() {
+        bus = BusFactory.newInstance().createBus();
+        inProcessTransport = new InProcessTransport(bus);
+    }
+
+    @AfterEach
+    void teardown() {
+        bus.shutdown(true);
+    }
+
+    @Test
+    void bindsEndpointWhenFirstClientIsInstalled() {
+        var server = mockServer();
+        inProcessTransport.register("/path", server);
+        inProcessTransport.register("/other", mockServer());
+
+        verify(server, never()).getDestination();
+
+        inProcessTransport.install(new JaxWsProxyFactoryBean(), "/path", new Meter(), () -> { });
+        inProcessTransport.install(new JaxWsProxyFactoryBean(), "/path", new Meter(), () -> { });
+
+        verify(server).getDestination();
+    }
+
+    @Test
+    void bindsEndpointRegisteredAfterClientIsInstalled() {
+        inProcessTransport.install(new JaxWsProxyFactoryBean(), "/path", new Meter(), () -> { });
+
+        var server = mockServer();
+        inProcessTransport.register("/path", server);
+
+        verify(server).getDestination();
+    }
+
+    @Test
+    void readBasicAuthorization() {
+        var message = messageWithAuthorization("Basic "
+                + Base64.getEncoder().encodeToString("user:secret".getBytes(StandardCharsets.UTF_8)));
+
+        InProcessTransport.readBasicAuthorization(message);
+
+        var policy = message.get(AuthorizationPolicy.class);
+        assertAll(
+                () -> assertThat(policy.getAuthorizationType()).isEqualTo("Basic"),
+                () -> assertThat(policy.getUserName()).isEqualTo("user"),
+                () -> assertThat(policy.getPassword()).isEqualTo("secret")
+        );
+    }
+
+    @Test
+    void readMalformedBasicAuthorizationAsUnauthenticated() {
+        var message = messageWithAuthorization("Basic not*base64!");
+
+        InProcessTransport.readBasicAuthorization(message);
+
+        assertThat(message.get(AuthorizationPolicy.class)).isNull();
+    }
+
+    private static Server mockServer() {
+        var destination = mock(Destination.class);
+        when(destination.getMessageObserver()).thenReturn(mock(MessageObserver.class));
+        var server = mock(Server.class);
+        when(server.getDestination()).thenReturn(destination);
+        return server;
+    }
+
+    private static Message messageWithAuthorization(String authorization) {
+        var message = new MessageImpl();
+        message.put(Message.PROTOCOL_HEADERS, Map.of("Authorization", List.of(authorization)));
+        return message;
+    }
+}
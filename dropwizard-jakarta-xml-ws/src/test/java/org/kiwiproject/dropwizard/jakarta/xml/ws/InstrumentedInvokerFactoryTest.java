@@ -9,6 +9,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SlidingWindowReservoir;
 import com.codahale.metrics.annotation.ExceptionMetered;
 import com.codahale.metrics.annotation.Metered;
 import com.codahale.metrics.annotation.Timed;
@@ -240,4 +241,148 @@ class InstrumentedInvokerFactoryTest {
         );
     }
 
+    @Test
+    void operationChainOnlyContainsApplicableInvokers() throws NoSuchMethodException {
+        var timer = testMetricRegistry.timer("timed");
+        when(mockMetricRegistry.timer(anyString())).thenReturn(timer);
+
+        var model = ServiceModel.of(InstrumentedService.class);
+        var rootInvoker = new TimedInvoker();
+        var fooInvoker = invokerBuilder.create(
+                model.getOperation(InstrumentedService.class.getMethod("foo")), rootInvoker);
+        var timedInvoker = invokerBuilder.create(
+                model.getOperation(InstrumentedService.class.getMethod("timed")), rootInvoker);
+        this.setTargetMethod(exchange, "timed"); // simulate CXF behavior
+
+        var result = timedInvoker.invoke(exchange, null);
+
+        assertAll(
+                () -> assertThat(fooInvoker).isSameAs(rootInvoker),
+                () -> assertThat(timedInvoker).isInstanceOf(InstrumentedInvokers.TimedInvoker.class),
+                () -> assertThat(result).isEqualTo("timedReturn"),
+                () -> assertThat(timer.getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void operationChainWithEndpointName() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry);
+        var model = ServiceModel.of(InstrumentedService.class);
+
+        var timedInvoker = factory.create(
+                model.getOperation(InstrumentedService.class.getMethod("timed")), new TimedInvoker(), "soap.simple");
+        this.setTargetMethod(exchange, "timed"); // simulate CXF behavior
+        timedInvoker.invoke(exchange, null);
+
+        assertAll(
+                () -> assertThat(testMetricRegistry.getTimers())
+                        .containsOnlyKeys(MetricRegistry.name(InstrumentedService.class, "soap.simple", "timed")),
+                () -> assertThat(testMetricRegistry.getTimers().values().iterator().next().getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void defaultMetricsWithoutAnnotations() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry);
+        var operation = ServiceModel.of(InstrumentedService.class)
+                .getOperation(InstrumentedService.class.getMethod("foo"));
+        var inFlightName = MetricRegistry.name(InstrumentedService.class, "foo", "inFlight");
+
+        var inFlightDuringInvocation = new long[1];
+        var invoker = factory.createDefaultMetrics(operation, (exchange, o) -> {
+            inFlightDuringInvocation[0] = testMetricRegistry.counter(inFlightName).getCount();
+            return instrumentedService.foo();
+        }, null);
+        this.setTargetMethod(exchange, "foo"); // simulate CXF behavior
+        var result = invoker.invoke(exchange, null);
+
+        assertAll(
+                () -> assertThat(result).isEqualTo("fooReturn"),
+                () -> assertThat(inFlightDuringInvocation[0]).isEqualTo(1),
+                () -> assertThat(testMetricRegistry.counter(inFlightName).getCount()).isZero(),
+                () -> assertThat(testMetricRegistry.timer(MetricRegistry.name(InstrumentedService.class, "foo"))
+                        .getCount()).isEqualTo(1),
+                () -> assertThat(testMetricRegistry.meter(MetricRegistry.name(InstrumentedService.class, "foo",
+                        ExceptionMetered.DEFAULT_NAME_SUFFIX)).getCount()).isZero()
+        );
+    }
+
+    @Test
+    void defaultMetricsCountErrors() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry);
+        var operation = ServiceModel.of(InstrumentedService.class)
+                .getOperation(InstrumentedService.class.getMethod("foo"));
+
+        var invoker = factory.createDefaultMetrics(operation, (exchange, o) -> {
+            throw new RuntimeException("failed");
+        }, "soap.simple");
+        this.setTargetMethod(exchange, "foo"); // simulate CXF behavior
+
+        assertThatRuntimeException().isThrownBy(() -> invoker.invoke(exchange, null));
+        assertAll(
+                () -> assertThat(testMetricRegistry.meter(MetricRegistry.name(InstrumentedService.class,
+                        "soap.simple", "foo", ExceptionMetered.DEFAULT_NAME_SUFFIX)).getCount()).isEqualTo(1),
+                () -> assertThat(testMetricRegistry.counter(MetricRegistry.name(InstrumentedService.class,
+                        "soap.simple", "foo", "inFlight")).getCount()).isZero()
+        );
+    }
+
+    @Test
+    void defaultMetricsDoNotCollideWithMeteredOperations() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry);
+        var operation = ServiceModel.of(InstrumentedService.class)
+                .getOperation(InstrumentedService.class.getMethod("metered"));
+
+        var invoker = factory.createDefaultMetrics(operation, factory.create(operation, new MeteredInvoker()), null);
+        this.setTargetMethod(exchange, "metered"); // simulate CXF behavior
+        invoker.invoke(exchange, null);
+
+        assertAll(
+                () -> assertThat(testMetricRegistry.meter(MetricRegistry.name(InstrumentedService.class, "metered"))
+                        .getCount()).isEqualTo(1),
+                () -> assertThat(testMetricRegistry.getTimers())
+                        .containsOnlyKeys(MetricRegistry.name(InstrumentedService.class, "metered", "defaultTimer")),
+                () -> assertThat(testMetricRegistry.getTimers().values().iterator().next().getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void defaultMetricsDoNotDuplicateAnnotationMetrics() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry);
+        var operation = ServiceModel.of(InstrumentedService.class)
+                .getOperation(InstrumentedService.class.getMethod("timed"));
+
+        var invoker = factory.createDefaultMetrics(operation, factory.create(operation, new TimedInvoker()), null);
+        this.setTargetMethod(exchange, "timed"); // simulate CXF behavior
+        invoker.invoke(exchange, null);
+
+        assertAll(
+                () -> assertThat(testMetricRegistry.getTimers())
+                        .containsOnlyKeys(MetricRegistry.name(InstrumentedService.class, "timed")),
+                () -> assertThat(testMetricRegistry.getTimers().values().iterator().next().getCount()).isEqualTo(1),
+                () -> assertThat(testMetricRegistry.getMeters()).containsOnlyKeys(
+                        MetricRegistry.name(InstrumentedService.class, "timed", ExceptionMetered.DEFAULT_NAME_SUFFIX)),
+                () -> assertThat(testMetricRegistry.getCounters())
+                        .containsOnlyKeys(MetricRegistry.name(InstrumentedService.class, "timed", "inFlight"))
+        );
+    }
+
+    @Test
+    void timersWithReservoir() throws NoSuchMethodException {
+        var factory = new InstrumentedInvokerFactory(testMetricRegistry)
+                .withReservoir(() -> new SlidingWindowReservoir(1));
+        var operation = ServiceModel.of(InstrumentedService.class)
+                .getOperation(InstrumentedService.class.getMethod("timed"));
+
+        var invoker = factory.create(operation, new TimedInvoker());
+        this.setTargetMethod(exchange, "timed"); // simulate CXF behavior
+        invoker.invoke(exchange, null);
+        invoker.invoke(exchange, null);
+
+        var timer = testMetricRegistry.timer(MetricRegistry.name(InstrumentedService.class, "timed"));
+        assertAll(
+                () -> assertThat(timer.getCount()).isEqualTo(2),
+                () -> assertThat(timer.getSnapshot().size()).isEqualTo(1)
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -8,21 +9,29 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheckRegistry;
 import io.dropwizard.core.Configuration;
 import io.dropwizard.core.setup.Bootstrap;
 import io.dropwizard.core.setup.Environment;
 import io.dropwizard.jetty.setup.ServletEnvironment;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.lifecycle.ServerLifecycleListener;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRegistration;
 import jakarta.servlet.http.HttpServlet;
+import org.apache.cxf.Bus;
+import org.eclipse.jetty.server.Server;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
 
 class JakartaXmlWsBundleTest {
 
@@ -32,6 +41,7 @@ class JakartaXmlWsBundleTest {
     ServletRegistration.Dynamic servlet;
     JakartaXmlWsEnvironment jwsEnvironment;
     LifecycleEnvironment lifecycleEnvironment;
+    HealthCheckRegistry healthCheckRegistry;
 
     @BeforeEach
     void setUp() {
@@ -41,9 +51,11 @@ class JakartaXmlWsBundleTest {
         servlet = mock(ServletRegistration.Dynamic.class);
         jwsEnvironment = mock(JakartaXmlWsEnvironment.class);
         lifecycleEnvironment = mock(LifecycleEnvironment.class);
+        healthCheckRegistry = new HealthCheckRegistry();
 
         when(environment.servlets()).thenReturn(servletEnvironment);
         when(environment.lifecycle()).thenReturn(lifecycleEnvironment);
+        when(environment.healthChecks()).thenReturn(healthCheckRegistry);
         when(bootstrap.getMetricRegistry()).thenReturn(mock(MetricRegistry.class));
         when(servletEnvironment.addServlet(anyString(), any(HttpServlet.class))).thenReturn(servlet);
         when(jwsEnvironment.buildServlet()).thenReturn(mock(HttpServlet.class));
@@ -70,6 +82,23 @@ class JakartaXmlWsBundleTest {
         );
     }
 
+    @Test
+    void sharingBusWith() {
+        var bus = mock(Bus.class);
+        when(jwsEnvironment.getBus()).thenReturn(bus);
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+
+        JakartaXmlWsBundle<Configuration> anotherJwsBundle = JakartaXmlWsBundle.sharingBusWith("/api2", jwsBundle);
+
+        assertAll(
+                () -> assertThat(anotherJwsBundle.jwsEnvironment.getBus()).isSameAs(bus),
+                () -> assertThat(anotherJwsBundle.jwsEnvironment.getDefaultPath()).isEqualTo("/api2"),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> JakartaXmlWsBundle.sharingBusWith("/api2", null))
+                        .withMessage("busOwner is null")
+        );
+    }
+
     @Test
     void initializeAndRun() {
         var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
@@ -80,6 +109,7 @@ class JakartaXmlWsBundleTest {
 
         jwsBundle.initialize(bootstrap);
         verify(jwsEnvironment).setInstrumentedInvokerBuilder(any(InstrumentedInvokerFactory.class));
+        verify(jwsEnvironment).setMetricRegistry(any(MetricRegistry.class));
 
         jwsBundle.run(null, environment);
         verify(servletEnvironment).addServlet(startsWith("CXF Servlet"), any(Servlet.class));
@@ -111,6 +141,103 @@ class JakartaXmlWsBundleTest {
         verify(jwsEnvironment).setPublishedEndpointUrlPrefix("http://some/prefix");
     }
 
+    /**
+     * Simulates the configuration of the first warm-up of the given environment.
+     */
+    private static void configureWarmUp(JakartaXmlWsEnvironment jwsEnvironment) {
+        var listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(jwsEnvironment).onWarmUpConfigured(listener.capture());
+        listener.getValue().run();
+    }
+
+    @Test
+    void runWarmUpsAtStartup() throws Exception {
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+        jwsBundle.run(null, environment);
+        configureWarmUp(jwsEnvironment);
+
+        when(jwsEnvironment.isWarmUpPending()).thenReturn(true);
+        assertThat(healthCheckRegistry.runHealthCheck("jakarta-xml-ws-warm-up:/soap").isHealthy())
+                .isFalse();
+
+        var managed = ArgumentCaptor.forClass(Managed.class);
+        verify(lifecycleEnvironment, times(2)).manage(managed.capture());
+        for (var value : managed.getAllValues()) {
+            value.start();
+        }
+        verify(jwsEnvironment).warmUpEndpoints();
+        verify(jwsEnvironment, never()).warmUpClients();
+
+        var listener = ArgumentCaptor.forClass(ServerLifecycleListener.class);
+        verify(lifecycleEnvironment, times(2)).addServerLifecycleListener(listener.capture());
+        for (var value : listener.getAllValues()) {
+            value.serverStarted(mock(Server.class));
+        }
+        verify(jwsEnvironment).warmUpClients();
+        verify(jwsEnvironment).logEndpoints();
+
+        when(jwsEnvironment.isWarmUpPending()).thenReturn(false);
+        assertThat(healthCheckRegistry.runHealthCheck("jakarta-xml-ws-warm-up:/soap").isHealthy())
+                .isTrue();
+    }
+
+    @Test
+    void registerWarmUpsOnlyWhenConfigured() throws Exception {
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+        jwsBundle.run(null, environment);
+
+        var managed = ArgumentCaptor.forClass(Managed.class);
+        verify(lifecycleEnvironment).manage(managed.capture());
+        managed.getValue().start();
+
+        var listener = ArgumentCaptor.forClass(ServerLifecycleListener.class);
+        verify(lifecycleEnvironment).addServerLifecycleListener(listener.capture());
+        listener.getValue().serverStarted(mock(Server.class));
+
+        assertAll(
+                () -> assertThat(healthCheckRegistry.getNames()).doesNotContain("jakarta-xml-ws-warm-up:/soap"),
+                () -> verify(jwsEnvironment, never()).warmUpEndpoints(),
+                () -> verify(jwsEnvironment, never()).warmUpClients(),
+                () -> verify(jwsEnvironment).logEndpoints()
+        );
+    }
+
+    @Test
+    void stopReleasesEnvironment() throws Exception {
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+        jwsBundle.run(null, environment);
+
+        var managed = ArgumentCaptor.forClass(Managed.class);
+        verify(lifecycleEnvironment).manage(managed.capture());
+        managed.getValue().stop();
+
+        verify(jwsEnvironment).stop();
+    }
+
+    @Test
+    void runSeveralBundles() {
+        var anotherJwsEnvironment = mock(JakartaXmlWsEnvironment.class);
+        when(anotherJwsEnvironment.buildServlet()).thenReturn(mock(HttpServlet.class));
+        when(anotherJwsEnvironment.getDefaultPath()).thenReturn("/api2");
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+        var anotherJwsBundle = new JakartaXmlWsBundle<>("/api2", anotherJwsEnvironment);
+
+        jwsBundle.run(null, environment);
+        anotherJwsBundle.run(null, environment);
+        configureWarmUp(jwsEnvironment);
+        configureWarmUp(anotherJwsEnvironment);
+
+        when(anotherJwsEnvironment.isWarmUpPending()).thenReturn(true);
+        assertAll(
+                () -> assertThat(healthCheckRegistry.getNames())
+                        .contains("jakarta-xml-ws-warm-up:/soap", "jakarta-xml-ws-warm-up:/api2"),
+                () -> assertThat(healthCheckRegistry.runHealthCheck(jwsBundle.getWarmUpHealthCheckName())
+                        .isHealthy()).isTrue(),
+                () -> assertThat(healthCheckRegistry.runHealthCheck(anotherJwsBundle.getWarmUpHealthCheckName())
+                        .isHealthy()).isFalse()
+        );
+    }
+
     @Test
     void publishEndpoint() {
         var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
@@ -135,6 +262,24 @@ class JakartaXmlWsBundleTest {
         verify(jwsEnvironment).publishEndpoint(builder);
     }
 
+    @Test
+    void publishEndpoints() {
+        var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
+        var builder1 = mock(EndpointBuilder.class);
+        var builder2 = mock(EndpointBuilder.class);
+
+        jwsBundle.publishEndpoints(builder1, builder2);
+        verify(jwsEnvironment).publishEndpoints(List.of(builder1, builder2),
+                Runtime.getRuntime().availableProcessors());
+
+        jwsBundle.publishEndpoints(3, List.of(builder2));
+        verify(jwsEnvironment).publishEndpoints(List.of(builder2), 3);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> jwsBundle.publishEndpoints(2, null))
+                .withMessage("EndpointBuilders is null");
+    }
+
     @Test
     void getClient() {
         var jwsBundle = new JakartaXmlWsBundle<>("/soap", jwsEnvironment);
@@ -1,16 +1,25 @@
 package org.kiwiproject.dropwizard.jakarta.xml.ws;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import ch.qos.logback.classic.Level;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.annotation.Metered;
+import jakarta.jws.Oneway;
 import jakarta.jws.WebMethod;
 import jakarta.jws.WebService;
 import jakarta.mail.internet.MimeMultipart;
@@ -20,8 +29,11 @@ import jakarta.xml.ws.handler.Handler;
 import jakarta.xml.ws.soap.SOAPBinding;
 import org.apache.cxf.Bus;
 import org.apache.cxf.binding.soap.SoapBindingFactory;
+import org.apache.cxf.feature.FastInfosetFeature;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.frontend.WSDLGetUtils;
+import org.apache.cxf.interceptor.FIStaxInInterceptor;
+import org.apache.cxf.interceptor.FIStaxOutInterceptor;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
@@ -31,6 +43,10 @@ import org.apache.cxf.service.invoker.Invoker;
 import org.apache.cxf.staxutils.StaxUtils;
 import org.apache.cxf.test.TestUtilities;
 import org.apache.cxf.transport.AbstractDestination;
+import org.apache.cxf.transport.common.gzip.GZIPFeature;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.apache.cxf.transport.http.AbstractHTTPDestination;
+import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.cxf.transport.http.HTTPConduit;
 import org.apache.cxf.transport.local.LocalTransportFactory;
 import org.apache.cxf.transport.servlet.CXFNonSpringServlet;
@@ -41,8 +57,12 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.wsdl.WSDLException;
 
@@ -67,6 +87,28 @@ class JakartaXmlWsEnvironmentTest {
         void foo();
     }
 
+    // MeteredDummyService is used by instrumentation tests
+    @WebService
+    public static class MeteredDummyService {
+        @WebMethod
+        @Metered
+        @SuppressWarnings("EmptyMethod")
+        public void foo() {
+            // This is a fake service that does nothing.
+        }
+    }
+
+    // OneWayDummyService is used by warm-up tests
+    @WebService
+    public static class OneWayDummyService {
+        @WebMethod
+        @Oneway
+        @SuppressWarnings("EmptyMethod")
+        public void foo() {
+            // This is a fake service that does nothing.
+        }
+    }
+
     // TestInterceptor is used for testing CXF interceptors
     static class TestInterceptor extends AbstractPhaseInterceptor<Message> {
         private int invocationCount = 0;
@@ -112,11 +154,12 @@ class JakartaXmlWsEnvironmentTest {
             }
         };
 
-        when(mockInvokerBuilder.create(any(), any(Invoker.class))).thenReturn(mockInvoker);
+        when(mockInvokerBuilder.create(any(ServiceModel.Operation.class), any(Invoker.class), any()))
+                .thenReturn(mockInvoker);
         jwsEnvironment.setInstrumentedInvokerBuilder(mockInvokerBuilder);
 
         when(mockUnitOfWorkInvokerBuilder
-                .create(any(), any(Invoker.class), any(SessionFactory.class)))
+                .create(any(ServiceModel.Operation.class), any(Invoker.class), any(SessionFactory.class)))
                 .thenReturn(mockInvoker);
         jwsEnvironment.setUnitOfWorkInvokerBuilder(mockUnitOfWorkInvokerBuilder);
 
@@ -147,7 +190,7 @@ class JakartaXmlWsEnvironmentTest {
         var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
         assertThat(endpoint).isNotNull();
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var soapResponseNode = testutils.invoke("local://path",
@@ -158,6 +201,72 @@ class JakartaXmlWsEnvironmentTest {
         testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
     }
 
+    @Test
+    void publishEndpointWithWarmUp() throws Exception {
+        var soapRequest = new String(getClass().getResourceAsStream("/" + SOAP_REQUEST_FILE_NAME).readAllBytes(),
+                StandardCharsets.UTF_8);
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service)
+                .warmUp(3, soapRequest));
+
+        assertThat(jwsEnvironment.isWarmUpPending()).isTrue();
+        verifyNoInteractions(mockInvoker);
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.warmUpEndpoints()).isTrue(),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isFalse()
+        );
+        verify(mockInvoker, times(3)).invoke(any(Exchange.class), any());
+    }
+
+    @Test
+    void notifiesOnceWhenWarmUpIsConfigured() throws Exception {
+        var soapRequest = new String(getClass().getResourceAsStream("/" + SOAP_REQUEST_FILE_NAME).readAllBytes(),
+                StandardCharsets.UTF_8);
+        var notifications = new AtomicInteger();
+        jwsEnvironment.onWarmUpConfigured(notifications::incrementAndGet);
+
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+        assertThat(notifications).hasValue(0);
+
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path1", service).warmUp(1, soapRequest));
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path2", service).warmUp(1, soapRequest));
+        assertThat(notifications).hasValue(1);
+
+        var lateNotifications = new AtomicInteger();
+        jwsEnvironment.onWarmUpConfigured(lateNotifications::incrementAndGet);
+        assertThat(lateNotifications).hasValue(1);
+    }
+
+    @Test
+    void publishEndpointWithOneWayWarmUp() throws Exception {
+        var soapRequest = new String(getClass().getResourceAsStream("/" + SOAP_REQUEST_FILE_NAME).readAllBytes(),
+                StandardCharsets.UTF_8);
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", new OneWayDummyService())
+                .warmUp(3, soapRequest));
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.warmUpEndpoints()).isTrue(),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isFalse()
+        );
+        // One-way requests may be processed after the request has been sent
+        verify(mockInvoker, timeout(5_000).times(3)).invoke(any(Exchange.class), any());
+    }
+
+    @Test
+    void publishEndpointWithFailingWarmUp() throws Exception {
+        var soapRequest = new String(getClass().getResourceAsStream("/" + SOAP_REQUEST_FILE_NAME).readAllBytes(),
+                StandardCharsets.UTF_8);
+        when(mockInvoker.invoke(any(Exchange.class), any())).thenThrow(new IllegalStateException("failed"));
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service)
+                .warmUp(3, soapRequest));
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.warmUpEndpoints()).isFalse(),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isFalse()
+        );
+        verify(mockInvoker, times(1)).invoke(any(Exchange.class), any());
+    }
+
     @Test
     void publishEndpointWithAnotherEnvironment() throws Exception {
 
@@ -170,7 +279,7 @@ class JakartaXmlWsEnvironmentTest {
 
         anotherJwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var soapResponseNode = testutils.invoke("local://path",
@@ -181,6 +290,203 @@ class JakartaXmlWsEnvironmentTest {
         testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
     }
 
+    @Test
+    void publishEndpointWithSharedBus() throws Exception {
+        var anotherJwsEnvironment = new JakartaXmlWsEnvironment("soap2", jwsEnvironment.getBus());
+        anotherJwsEnvironment.setInstrumentedInvokerBuilder(mockInvokerBuilder);
+        anotherJwsEnvironment.setUnitOfWorkInvokerBuilder(mockUnitOfWorkInvokerBuilder);
+
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+        anotherJwsEnvironment.publishEndpoint(new EndpointBuilder("local://anotherPath", new DummyService()));
+
+        var soapResponseNode = testutils.invoke("local://anotherPath",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        assertAll(
+                () -> assertThat(anotherJwsEnvironment.getBus()).isSameAs(jwsEnvironment.getBus()),
+                () -> assertThat(((CXFNonSpringServlet) anotherJwsEnvironment.buildServlet()).getBus())
+                        .isSameAs(jwsEnvironment.getBus()),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> new JakartaXmlWsEnvironment("soap2", null))
+                        .withMessage("bus is null")
+        );
+    }
+
+    @Test
+    void servletOnlyServesEndpointsOfItsEnvironmentWithSharedBus() {
+        var anotherJwsEnvironment = new JakartaXmlWsEnvironment("soap2", jwsEnvironment.getBus());
+        anotherJwsEnvironment.setInstrumentedInvokerBuilder(mockInvokerBuilder);
+        anotherJwsEnvironment.setUnitOfWorkInvokerBuilder(mockUnitOfWorkInvokerBuilder);
+
+        var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+        var anotherEndpoint = anotherJwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://anotherPath", new DummyService()));
+
+        // The servlets of both environments look up destinations in the same registry
+        var destination = mock(AbstractHTTPDestination.class);
+        when(destination.getEndpointInfo()).thenReturn(endpoint.getServer().getEndpoint().getEndpointInfo());
+        var anotherDestination = mock(AbstractHTTPDestination.class);
+        when(anotherDestination.getEndpointInfo())
+                .thenReturn(anotherEndpoint.getServer().getEndpoint().getEndpointInfo());
+        var destinationRegistry = mock(DestinationRegistry.class);
+        when(destinationRegistry.getDestinationForPath("/path", true)).thenReturn(destination);
+        when(destinationRegistry.getDestinationForPath("/anotherPath", true)).thenReturn(anotherDestination);
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.servesPath(destinationRegistry, "/path")).isTrue(),
+                () -> assertThat(jwsEnvironment.servesPath(destinationRegistry, "/anotherPath")).isFalse(),
+                () -> assertThat(anotherJwsEnvironment.servesPath(destinationRegistry, "/path")).isFalse(),
+                () -> assertThat(anotherJwsEnvironment.servesPath(destinationRegistry, "/anotherPath")).isTrue(),
+                () -> assertThat(jwsEnvironment.servesPath(destinationRegistry, "/services")).isTrue(),
+                () -> assertThat(jwsEnvironment.servesPath(destinationRegistry, null)).isTrue(),
+                () -> assertThat(jwsEnvironment.servesPath(null, "/anotherPath")).isTrue()
+        );
+    }
+
+    @Test
+    void busCreationTime() {
+        var metricRegistry = new MetricRegistry();
+
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+        new JakartaXmlWsEnvironment("soap2", jwsEnvironment.getBus()).setMetricRegistry(metricRegistry);
+
+        assertThat(metricRegistry.timer("org.kiwiproject.dropwizard.jakarta.xml.ws.JakartaXmlWsEnvironment.busCreation")
+                .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publishEndpointBuildsInvokerChainPerOperation() throws Exception {
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(new MetricRegistry()));
+
+        var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+
+        // DummyService.foo has neither validated parameters nor metrics annotations
+        var invoker = (OperationDispatchingInvoker) endpoint.getService().getInvoker();
+        assertThat(invoker.describeChains()).containsExactly(entry("foo", "JAXWSMethodInvoker"));
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpointWithMethodHandleInvocation() throws Exception {
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(new MetricRegistry()));
+
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .methodHandleInvocation());
+
+        var invoker = (OperationDispatchingInvoker) endpoint.getService().getInvoker();
+        assertThat(invoker.describeChains()).containsExactly(entry("foo", "MethodHandleInvoker"));
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpointWithPooledInstances() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(metricRegistry));
+
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .pooled(DummyService::new, 2));
+
+        var invoker = (OperationDispatchingInvoker) endpoint.getService().getInvoker();
+        assertThat(invoker.describeChains()).containsExactly(entry("foo", "JAXWSMethodInvoker"));
+
+        for (var i = 0; i < 2; i++) {
+            var soapResponseNode = testutils.invoke("local://path",
+                    LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+            testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+        }
+
+        var gauges = metricRegistry.getGauges();
+        assertAll(
+                () -> assertThat(gauges.get(MetricRegistry.name(DummyService.class, "pool", "size")).getValue())
+                        .isEqualTo(1),
+                () -> assertThat(gauges.get(MetricRegistry.name(DummyService.class, "pool", "inUse")).getValue())
+                        .isEqualTo(0)
+        );
+    }
+
+    @Test
+    void publishEndpointInstrumentingAllOperations() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(metricRegistry));
+
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .instrumentAllOperations());
+
+        var invoker = (OperationDispatchingInvoker) endpoint.getService().getInvoker();
+        assertThat(invoker.describeChains()).containsExactly(
+                entry("foo", "InFlightInvoker -> ExceptionMeteredInvoker -> TimedInvoker -> JAXWSMethodInvoker"));
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        assertAll(
+                () -> assertThat(metricRegistry.timer(MetricRegistry.name(DummyService.class, "foo")).getCount())
+                        .isEqualTo(1),
+                () -> assertThat(metricRegistry.getMeters())
+                        .containsKey(MetricRegistry.name(DummyService.class, "foo", "exceptions")),
+                () -> assertThat(metricRegistry.counter(MetricRegistry.name(DummyService.class, "foo", "inFlight"))
+                        .getCount()).isZero()
+        );
+    }
+
+    @Test
+    void publishMeteredEndpointInstrumentingAllOperations() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(metricRegistry));
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", new MeteredDummyService())
+                        .instrumentAllOperations());
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        assertAll(
+                () -> assertThat(metricRegistry.meter(MetricRegistry.name(MeteredDummyService.class, "foo"))
+                        .getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.timer(
+                        MetricRegistry.name(MeteredDummyService.class, "foo", "defaultTimer")).getCount())
+                        .isEqualTo(1)
+        );
+    }
+
+    @Test
+    void publishEndpointWithTimerReservoir() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setInstrumentedInvokerBuilder(new InstrumentedInvokerFactory(metricRegistry));
+        jwsEnvironment.setTimerReservoirSupplier(() -> new SlidingWindowReservoir(100));
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .instrumentAllOperations()
+                        .timerReservoir(() -> new SlidingWindowReservoir(1)));
+
+        for (var i = 0; i < 2; i++) {
+            var soapResponseNode = testutils.invoke("local://path",
+                    LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+            testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+        }
+
+        var timer = metricRegistry.timer(MetricRegistry.name(DummyService.class, "foo"));
+        assertAll(
+                () -> assertThat(timer.getCount()).isEqualTo(2),
+                () -> assertThat(timer.getSnapshot().size()).isEqualTo(1)
+        );
+    }
+
     @Test
     void publishEndpointWithAuthentication() throws Exception {
         BasicAuthentication<? extends Principal> authentication = mock();
@@ -189,7 +495,7 @@ class JakartaXmlWsEnvironmentTest {
                 new EndpointBuilder("local://path", service)
                         .authentication(authentication));
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var soapResponseNode = testutils.invoke("local://path",
@@ -208,8 +514,9 @@ class JakartaXmlWsEnvironmentTest {
                 new EndpointBuilder("local://path", service)
                         .sessionFactory(mock(SessionFactory.class)));
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
-        verify(mockUnitOfWorkInvokerBuilder).create(any(), any(Invoker.class), any(SessionFactory.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
+        verify(mockUnitOfWorkInvokerBuilder)
+                .create(any(ServiceModel.Operation.class), any(Invoker.class), any(SessionFactory.class));
 
         var soapResponseNode = testutils.invoke("local://path",
                 LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
@@ -230,7 +537,7 @@ class JakartaXmlWsEnvironmentTest {
                         .cxfInInterceptors(inInterceptor, inInterceptor2)
                         .cxfOutInterceptors(outInterceptor));
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
 
         var soapResponseNode = testutils.invoke("local://path",
                 LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
@@ -264,7 +571,7 @@ class JakartaXmlWsEnvironmentTest {
                 new EndpointBuilder("local://path", service)
                         .enableMtom());
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
 
         var bytes = testutils.invokeBytes("local://path", LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
 
@@ -277,6 +584,227 @@ class JakartaXmlWsEnvironmentTest {
                 StaxUtils.read(mimeMultipart.getBodyPart(0).getInputStream()));
     }
 
+    @Test
+    void publishEndpointWithMtomOptions() throws Exception {
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .enableMtom()
+                        .mtomThreshold(4096)
+                        .attachmentMemoryThreshold(1024L)
+                        .attachmentMaxSize(2048L));
+
+        assertThat(endpoint.getServer().getEndpoint())
+                .containsEntry("mtom-threshold", 4096)
+                .containsEntry("attachment-memory-threshold", 1024L)
+                .containsEntry("attachment-max-size", 2048L);
+
+        testutils.invokeBytes("local://path", LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+    }
+
+    @Test
+    void publishEndpointWithCompression() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .compression(0));
+
+        assertThat(endpoint.getFeatures()).hasAtLeastOneElementOfType(GZIPFeature.class);
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        var uncompressed = metricRegistry.histogram(
+                MetricRegistry.name(DummyService.class, "compression", "uncompressedBytes"));
+        var compressed = metricRegistry.histogram(
+                MetricRegistry.name(DummyService.class, "compression", "compressedBytes"));
+        assertAll(
+                () -> assertThat(uncompressed.getCount()).isEqualTo(1),
+                () -> assertThat(compressed.getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void publishEndpointWithPayloadSizeMetrics() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .payloadSizeMetrics());
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        var requestBytes = metricRegistry.histogram(MetricRegistry.name(DummyService.class, "foo", "requestBytes"));
+        var responseBytes = metricRegistry.histogram(MetricRegistry.name(DummyService.class, "foo", "responseBytes"));
+        assertAll(
+                () -> assertThat(requestBytes.getCount()).isEqualTo(1),
+                () -> assertThat(requestBytes.getSnapshot().getMax()).isPositive(),
+                () -> assertThat(responseBytes.getCount()).isEqualTo(1),
+                () -> assertThat(responseBytes.getSnapshot().getMax()).isPositive()
+        );
+    }
+
+    @Test
+    void publishEndpointWithPhaseTimingMetrics() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .phaseTimingMetrics());
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+
+        assertThat(metricRegistry.getHistograms()).containsKeys(
+                MetricRegistry.name(DummyService.class, "foo", "phases", "in", "unmarshal"),
+                MetricRegistry.name(DummyService.class, "foo", "phases", "in", "invoke"),
+                MetricRegistry.name(DummyService.class, "foo", "phases", "out", "marshal"));
+    }
+
+    @Test
+    void publishEndpointWithFaultMetrics() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+        when(mockInvoker.invoke(any(Exchange.class), any())).thenThrow(new IllegalStateException("failed"));
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .faultMetrics());
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/soap:Fault", soapResponseNode);
+
+        assertAll(
+                () -> assertThat(metricRegistry.meter(MetricRegistry.name(DummyService.class, "foo", "faults"))
+                        .getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter(
+                        MetricRegistry.name(DummyService.class, "foo", "faults", "code", "Server")).getCount())
+                        .isEqualTo(1),
+                () -> assertThat(metricRegistry.meter(
+                        MetricRegistry.name(DummyService.class, "foo", "faults", "unexpected")).getCount())
+                        .isEqualTo(1)
+        );
+    }
+
+    @Test
+    void publishEndpointsWithMetricsPerEndpoint() {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .metricsPerEndpoint()
+                        .compression(0));
+        jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://anotherPath", new DummyService())
+                        .metricsPerEndpoint()
+                        .compression(0));
+
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), eq("soap.path"));
+        verify(mockInvokerBuilder)
+                .create(any(ServiceModel.Operation.class), any(Invoker.class), eq("soap.anotherPath"));
+        assertThat(metricRegistry.getHistograms()).containsKeys(
+                MetricRegistry.name(DummyService.class, "soap", "path", "compression", "uncompressedBytes"),
+                MetricRegistry.name(DummyService.class, "soap", "anotherPath", "compression", "uncompressedBytes"));
+    }
+
+    @Test
+    void publishEndpointWithFastInfosetFallsBackToTextualXml() throws Exception {
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .enableFastInfoset());
+
+        assertThat(endpoint.getFeatures()).hasAtLeastOneElementOfType(FastInfosetFeature.class);
+
+        // the test request is textual XML and does not advertise Fast Infoset
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpointWithWsdlCaching() throws Exception {
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .cacheWsdl(true));
+
+        assertThat(endpoint.getInInterceptors()).hasAtLeastOneElementOfType(CachingWsdlGetInterceptor.class);
+
+        // SOAP requests pass through the caching interceptor untouched
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpointsReuseJaxbContext() throws Exception {
+        var jaxbContextCache = new JaxbContextCache();
+        jwsEnvironment.setJaxbContextCache(jaxbContextCache);
+
+        var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://anotherPath", new DummyService()));
+
+        assertAll(
+                () -> assertThat(endpoint.getDataBinding()).isInstanceOf(JaxbContextCache.CachingJaxbDataBinding.class),
+                () -> assertThat(jaxbContextCache.getCreatedCount()).isEqualTo(1),
+                () -> assertThat(jaxbContextCache.getReusedCount()).isEqualTo(1),
+                () -> assertThat(jaxbContextCache.size()).isEqualTo(1)
+        );
+
+        var soapResponseNode = testutils.invoke("local://anotherPath",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void jaxbContextCacheIsScopedToBusAndClearedOnStop() {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+        var jaxbContextCache = jwsEnvironment.getJaxbContextCache();
+
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+
+        assertAll(
+                () -> assertThat(jaxbContextCache).isNotNull(),
+                () -> assertThat(new JakartaXmlWsEnvironment("soap2", jwsEnvironment.getBus()).getJaxbContextCache())
+                        .isSameAs(jaxbContextCache),
+                () -> assertThat(new JakartaXmlWsEnvironment("soap3").getJaxbContextCache())
+                        .isNotSameAs(jaxbContextCache),
+                () -> assertThat(metricRegistry.getGauges()
+                        .get("org.kiwiproject.dropwizard.jakarta.xml.ws.JaxbContextCache.soap.size").getValue())
+                        .isEqualTo(1)
+        );
+
+        jwsEnvironment.stop();
+
+        assertThat(jaxbContextCache.size()).isZero();
+    }
+
+    @Test
+    void publishEndpointWithoutJaxbContextCache() {
+        jwsEnvironment.setJaxbContextCache(null);
+
+        var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://path", service));
+
+        assertThat(endpoint.getDataBinding()).isNotInstanceOf(JaxbContextCache.CachingJaxbDataBinding.class);
+    }
+
     @Test
     void publishEndpointWithCustomPublishedUrl() throws Exception {
 
@@ -285,7 +813,7 @@ class JakartaXmlWsEnvironmentTest {
                         .publishedEndpointUrl("http://external.server/external/path")
         );
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var server = testutils.getServerForAddress("local://path");
@@ -308,7 +836,7 @@ class JakartaXmlWsEnvironmentTest {
         assertThat(endpoint).isNotNull();
         assertThat(endpoint.getProperties()).containsEntry("key", "value");
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var soapResponseNode = testutils.invoke("local://path",
@@ -327,7 +855,7 @@ class JakartaXmlWsEnvironmentTest {
                 new EndpointBuilder("/path", service)
         );
 
-        verify(mockInvokerBuilder).create(any(), any(Invoker.class));
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
         verifyNoInteractions(mockUnitOfWorkInvokerBuilder);
 
         var server = testutils.getServerForAddress("/path");
@@ -338,6 +866,88 @@ class JakartaXmlWsEnvironmentTest {
         assertThat(publishedEndpointUrl).isEqualTo("http://external/prefix/path");
     }
 
+    @Test
+    void initializeLazyEndpointWithLongestMatchingPath() {
+        var endpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://a", service).lazy());
+        var nestedEndpoint = jwsEnvironment.publishEndpoint(new EndpointBuilder("local://a/b", new DummyService())
+                .lazy());
+
+        jwsEnvironment.initializeLazyEndpoint("local://a/b/c");
+
+        assertAll(
+                () -> assertThat(nestedEndpoint.isPublished()).isTrue(),
+                () -> assertThat(endpoint.isPublished()).isFalse()
+        );
+
+        jwsEnvironment.initializeLazyEndpoint("local://a/bc");
+
+        assertThat(endpoint.isPublished()).isTrue();
+    }
+
+    @Test
+    void publishLazyEndpoint() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+
+        var endpoint = jwsEnvironment.publishEndpoint(
+                new EndpointBuilder("local://path", service)
+                        .lazy());
+
+        assertThat(endpoint.isPublished()).isFalse();
+        verifyNoInteractions(mockInvokerBuilder);
+        assertThatCode(() -> jwsEnvironment.logEndpoints()).doesNotThrowAnyException();
+
+        jwsEnvironment.initializeLazyEndpoint("local://other");
+        assertThat(endpoint.isPublished()).isFalse();
+
+        jwsEnvironment.initializeLazyEndpoint("local://path");
+        jwsEnvironment.initializeLazyEndpoint("local://path");
+
+        assertThat(endpoint.isPublished()).isTrue();
+        verify(mockInvokerBuilder).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
+        assertThat(metricRegistry.timer(MetricRegistry.name(DummyService.class, "lazyInitialization")).getCount())
+                .isEqualTo(1);
+
+        var soapResponseNode = testutils.invoke("local://path",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpoints() throws Exception {
+        var endpoints = jwsEnvironment.publishEndpoints(List.of(
+                new EndpointBuilder("local://path1", service),
+                new EndpointBuilder("local://path2", service),
+                new EndpointBuilder("local://path3", service)), 2);
+
+        assertThat(endpoints).hasSize(3).doesNotContainNull();
+        assertThat(endpoints).extracting(endpoint -> endpoint.getServer().getEndpoint().getEndpointInfo().getAddress())
+                .containsExactly("local://path1", "local://path2", "local://path3");
+
+        verify(mockInvokerBuilder, times(3)).create(any(ServiceModel.Operation.class), any(Invoker.class), any());
+
+        var soapResponseNode = testutils.invoke("local://path2",
+                LocalTransportFactory.TRANSPORT_ID, SOAP_REQUEST_FILE_NAME);
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        testutils.assertValid("/soap:Envelope/soap:Body/a:fooResponse", soapResponseNode);
+    }
+
+    @Test
+    void publishEndpointsRethrowsFailure() {
+        var failingBuilder = mock(EndpointBuilder.class);
+        when(failingBuilder.getService()).thenThrow(new IllegalStateException("service unavailable"));
+        var endpointBuilders = List.of(
+                new EndpointBuilder("local://path1", service),
+                failingBuilder);
+
+        assertThatThrownBy(() -> jwsEnvironment.publishEndpoints(endpointBuilders, 2))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("service unavailable");
+    }
+
     @Test
     void publishEndpointWithInvalidArguments() {
         assertAll(
@@ -419,4 +1029,183 @@ class JakartaXmlWsEnvironmentTest {
                 () -> assertThat(httpClientPolicy.getReceiveTimeout()).isEqualTo(456L)
         );
     }
+
+    @Test
+    void getClientWithCompression() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .compression(1024, true));
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertThat(client.getOutInterceptors())
+                .hasAtLeastOneElementOfType(GZIPOutInterceptor.class)
+                .hasAtLeastOneElementOfType(CompressionMetricsInterceptor.class);
+    }
+
+    @Test
+    void getClientWithPayloadSizeMetrics() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .payloadSizeMetrics());
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertAll(
+                () -> assertThat(client.getInInterceptors())
+                        .hasAtLeastOneElementOfType(PayloadSizeMetricsInterceptor.class),
+                () -> assertThat(client.getOutInterceptors())
+                        .hasAtLeastOneElementOfType(PayloadSizeMetricsInterceptor.class)
+        );
+    }
+
+    @Test
+    void getClientWithOperationMetrics() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .operationMetrics());
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertAll(
+                () -> assertThat(client.getOutInterceptors())
+                        .hasAtLeastOneElementOfType(ClientMetricsInterceptor.class),
+                () -> assertThat(client.getInInterceptors()).isNotEmpty(),
+                () -> assertThat(client.getInFaultInterceptors()).isNotEmpty()
+        );
+    }
+
+    @Test
+    void getClientWithResilienceOptions() {
+        var clientBuilder = new ClientBuilder<>(DummyInterface.class, "http://address")
+                .idempotentOperations("foo")
+                .retry(2, Duration.ZERO)
+                .circuitBreaker(3, Duration.ofSeconds(10))
+                .hedge(0.99);
+        var clientProxy = jwsEnvironment.getClient(clientBuilder);
+
+        assertAll(
+                () -> assertThat(Proxy.getInvocationHandler(clientProxy)).isInstanceOf(ResilientClientProxy.class),
+                () -> assertThat(clientProxy).isInstanceOf(BindingProvider.class),
+                () -> assertThat(ClientProxy.getClient(clientProxy).getEndpoint().getEndpointInfo().getAddress())
+                        .isEqualTo("http://address")
+        );
+    }
+
+    @Test
+    void getClientWithLoadBalancing() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .loadBalancing(LoadBalancingInterceptor.Strategy.ROUND_ROBIN, "http://anotherAddress"));
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertAll(
+                () -> assertThat(Proxy.getInvocationHandler(clientProxy)).isInstanceOf(ResilientClientProxy.class),
+                () -> assertThat(client.getOutInterceptors())
+                        .hasAtLeastOneElementOfType(LoadBalancingInterceptor.class)
+        );
+    }
+
+    @Test
+    void getClientWithWarmUp() {
+        var invocations = new AtomicInteger();
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .warmUp(3, proxy -> invocations.incrementAndGet()));
+
+        assertAll(
+                () -> assertThat(clientProxy).isNotNull(),
+                () -> assertThat(invocations).hasValue(0),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isTrue()
+        );
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.warmUpClients()).isTrue(),
+                () -> assertThat(invocations).hasValue(3),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isFalse()
+        );
+    }
+
+    @Test
+    void failedClientWarmUpDoesNotStopOtherWarmUps() {
+        var invocations = new AtomicInteger();
+        jwsEnvironment.getClient(new ClientBuilder<>(DummyInterface.class, "http://address")
+                .warmUp(proxy -> proxy.foo()));
+        jwsEnvironment.getClient(new ClientBuilder<>(DummyInterface.class, "http://anotherAddress")
+                .warmUp(proxy -> invocations.incrementAndGet()));
+
+        assertAll(
+                () -> assertThat(jwsEnvironment.warmUpClients()).isFalse(),
+                () -> assertThat(invocations).hasValue(1),
+                () -> assertThat(jwsEnvironment.isWarmUpPending()).isFalse()
+        );
+    }
+
+    @Test
+    void getClientCallingEndpointInProcess() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        jwsEnvironment.setMetricRegistry(metricRegistry);
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://localhost:8080/soap/inProcess")
+                        .inProcess());
+        jwsEnvironment.publishEndpoint(new EndpointBuilder("/inProcess", service));
+
+        clientProxy.foo();
+
+        verify(mockInvoker).invoke(any(Exchange.class), any());
+        assertAll(
+                () -> assertThat(ClientProxy.getClient(clientProxy).getConduit())
+                        .isNotInstanceOf(HTTPConduit.class),
+                () -> assertThat(metricRegistry.meter(
+                        "org.kiwiproject.dropwizard.jakarta.xml.ws.JakartaXmlWsEnvironmentTest$DummyInterface"
+                                + ".inProcess").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void getClientDetectingEndpointInProcess() {
+        jwsEnvironment.setPublishedEndpointUrlPrefix("http://localhost:8080/soap");
+        jwsEnvironment.setInProcessDispatch(true);
+
+        var inProcessClient = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://localhost:8080/soap/inProcess"));
+        var httpClient = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://localhost:9090/soap/inProcess"));
+
+        assertAll(
+                () -> assertThat(ClientProxy.getClient(inProcessClient).getConduit())
+                        .isNotInstanceOf(HTTPConduit.class),
+                () -> assertThat(ClientProxy.getClient(httpClient).getConduit()).isInstanceOf(HTTPConduit.class),
+                () -> assertThatIllegalArgumentException()
+                        .isThrownBy(() -> jwsEnvironment.getClient(
+                                new ClientBuilder<>(DummyInterface.class, "http://localhost:8080/other/path")
+                                        .inProcess()))
+                        .withMessage("http://localhost:8080/other/path is not an endpoint address under /soap")
+        );
+    }
+
+    @Test
+    void getClientWithFastInfoset() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .enableFastInfoset());
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertAll(
+                () -> assertThat(client.getInInterceptors()).hasAtLeastOneElementOfType(FIStaxInInterceptor.class),
+                () -> assertThat(client.getOutInterceptors()).hasAtLeastOneElementOfType(FIStaxOutInterceptor.class)
+        );
+    }
+
+    @Test
+    void getClientWithMtomOptions() {
+        var clientProxy = jwsEnvironment.getClient(
+                new ClientBuilder<>(DummyInterface.class, "http://address")
+                        .enableMtom()
+                        .mtomThreshold(512)
+                        .attachmentMemoryThreshold(8192L));
+
+        var client = ClientProxy.getClient(clientProxy);
+        assertThat(client.getEndpoint())
+                .containsEntry("mtom-threshold", 512)
+                .containsEntry("attachment-memory-threshold", 8192L)
+                .doesNotContainKey("attachment-max-size");
+    }
 }
@@ -0,0 +1,115 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+
+import jakarta.xml.bind.JAXBException;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.common.jaxb.JAXBContextCache.CachedContextAndSchemas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class JaxbContextCacheTest {
+
+    private JaxbContextCache cache;
+    private AtomicInteger factoryCalls;
+    private CachedContextAndSchemas contextAndSchemas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JaxbContextCache();
+        factoryCalls = new AtomicInteger();
+        contextAndSchemas = mock(CachedContextAndSchemas.class);
+    }
+
+    private CachedContextAndSchemas create(Set<Class<?>> classes) {
+        factoryCalls.incrementAndGet();
+        // CXF adds the classes it discovers while building the context
+        classes.add(Integer.class);
+        return contextAndSchemas;
+    }
+
+    @Test
+    void reusesContextForSameClassesAndNamespace() throws JAXBException {
+        var first = cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+        var second = cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+
+        assertAll(
+                () -> assertThat(first).isSameAs(contextAndSchemas),
+                () -> assertThat(second).isSameAs(contextAndSchemas),
+                () -> assertThat(factoryCalls).hasValue(1),
+                () -> assertThat(cache.getCreatedCount()).isEqualTo(1),
+                () -> assertThat(cache.getReusedCount()).isEqualTo(1),
+                () -> assertThat(cache.size()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void addsDiscoveredClassesOnReuse() throws JAXBException {
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+
+        Set<Class<?>> classes = new HashSet<>(Set.of(String.class));
+        cache.get(classes, "urn:test", Map.of(), this::create);
+
+        assertThat(classes).containsExactlyInAnyOrder(String.class, Integer.class);
+    }
+
+    @Test
+    void createsSeparateContextsForDifferentClassesOrNamespaces() throws JAXBException {
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+        cache.get(new HashSet<>(Set.of(Long.class)), "urn:test", Map.of(), this::create);
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:other", Map.of(), this::create);
+
+        assertAll(
+                () -> assertThat(factoryCalls).hasValue(3),
+                () -> assertThat(cache.getCreatedCount()).isEqualTo(3),
+                () -> assertThat(cache.getReusedCount()).isZero(),
+                () -> assertThat(cache.size()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    void createsSeparateContextsForDifferentContextProperties() throws JAXBException {
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of("retainReferenceToInfo", true), this::create);
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of("retainReferenceToInfo", true), this::create);
+
+        assertAll(
+                () -> assertThat(factoryCalls).hasValue(2),
+                () -> assertThat(cache.getReusedCount()).isEqualTo(1),
+                () -> assertThat(cache.size()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void clear() throws JAXBException {
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+
+        cache.clear();
+        cache.get(new HashSet<>(Set.of(String.class)), "urn:test", Map.of(), this::create);
+
+        assertAll(
+                () -> assertThat(factoryCalls).hasValue(2),
+                () -> assertThat(cache.size()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void cachePerBus() {
+        var bus = BusFactory.newInstance().createBus();
+        try {
+            assertAll(
+                    () -> assertThat(JaxbContextCache.of(bus)).isSameAs(JaxbContextCache.of(bus)),
+                    () -> assertThat(bus.getExtension(JaxbContextCache.class)).isSameAs(JaxbContextCache.of(bus))
+            );
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+}
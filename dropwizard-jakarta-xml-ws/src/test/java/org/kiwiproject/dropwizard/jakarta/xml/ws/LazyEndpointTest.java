@@ -0,0 +1,96 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LazyEndpointTest {
+
+    private Timer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new MetricRegistry().timer("lazyInitialization");
+    }
+
+    @Test
+    void matches() {
+        var lazyEndpoint = new LazyEndpoint("/simple", () -> { }, timer);
+
+        assertAll(
+                () -> assertThat(lazyEndpoint.matches("/simple")).isTrue(),
+                () -> assertThat(lazyEndpoint.matches("/simple/sub")).isTrue(),
+                () -> assertThat(lazyEndpoint.matches("/simpler")).isFalse(),
+                () -> assertThat(lazyEndpoint.matches("/other")).isFalse()
+        );
+    }
+
+    @Test
+    void initializesOnceForConcurrentRequests() throws Exception {
+        var initializations = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var lazyEndpoint = new LazyEndpoint("/simple", () -> {
+            initializations.incrementAndGet();
+            try {
+                started.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, timer);
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var i = 0; i < 4; i++) {
+                futures.add(executor.submit(lazyEndpoint::initialize));
+            }
+            started.countDown();
+            for (var future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertAll(
+                () -> assertThat(initializations).hasValue(1),
+                () -> assertThat(lazyEndpoint.isInitialized()).isTrue(),
+                () -> assertThat(timer.getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void retriesAfterFailedInitialization() {
+        var attempts = new AtomicInteger();
+        var lazyEndpoint = new LazyEndpoint("/simple", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+        }, timer);
+
+        assertThatIllegalStateException()
+                .isThrownBy(lazyEndpoint::initialize)
+                .withMessage("first attempt fails");
+        assertThat(lazyEndpoint.isInitialized()).isFalse();
+
+        lazyEndpoint.initialize();
+        lazyEndpoint.initialize();
+
+        assertAll(
+                () -> assertThat(lazyEndpoint.isInitialized()).isTrue(),
+                () -> assertThat(attempts).hasValue(2)
+        );
+    }
+}
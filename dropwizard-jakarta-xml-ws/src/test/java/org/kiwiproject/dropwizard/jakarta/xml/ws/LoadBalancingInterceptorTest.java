@@ -0,0 +1,214 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Ticker;
+import jakarta.xml.ws.WebServiceException;
+import org.apache.cxf.interceptor.AbstractBasicInterceptorProvider;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class LoadBalancingInterceptorTest {
+
+    static final List<String> ADDRESSES = List.of("http://a", "http://b", "http://c");
+
+    long nanos;
+    Ticker ticker;
+    MetricRegistry metricRegistry;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        };
+    }
+
+    private LoadBalancingInterceptor interceptor(LoadBalancingInterceptor.Strategy strategy) {
+        return interceptor(strategy, Map.of());
+    }
+
+    private LoadBalancingInterceptor interceptor(LoadBalancingInterceptor.Strategy strategy,
+                                                 Map<String, CircuitBreaker> circuitBreakers) {
+        return new LoadBalancingInterceptor(ADDRESSES, strategy, circuitBreakers, metricRegistry, "Service",
+                Duration.ofSeconds(10), ticker);
+    }
+
+    private static MessageImpl outMessage() {
+        var exchange = new ExchangeImpl();
+        var message = new MessageImpl();
+        message.setExchange(exchange);
+        exchange.setOutMessage(message);
+        return message;
+    }
+
+    @Test
+    void selectsAddressesInTurn() {
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.ROUND_ROBIN);
+
+        assertThat(List.of(interceptor.selectAddress(), interceptor.selectAddress(), interceptor.selectAddress(),
+                interceptor.selectAddress()))
+                .containsExactly("http://a", "http://b", "http://c", "http://a");
+    }
+
+    @Test
+    void setsAddressOfRequestsAndRecordsMetrics() {
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.ROUND_ROBIN);
+        var interceptorProvider = new AbstractBasicInterceptorProvider() {
+        };
+        interceptor.install(interceptorProvider);
+        @SuppressWarnings("unchecked")
+        var responseInterceptor = (Interceptor<Message>) interceptorProvider.getInInterceptors().get(0);
+
+        var message = outMessage();
+        interceptor.handleMessage(message);
+        assertAll(
+                () -> assertThat(message.get(Message.ENDPOINT_ADDRESS)).isEqualTo("http://a"),
+                () -> assertThat(metricRegistry.counter("Service.addresses.http://a.inFlight").getCount())
+                        .isEqualTo(1)
+        );
+
+        var inMessage = new MessageImpl();
+        inMessage.setExchange(message.getExchange());
+        responseInterceptor.handleMessage(inMessage);
+        assertAll(
+                () -> assertThat(metricRegistry.counter("Service.addresses.http://a.inFlight").getCount())
+                        .isZero(),
+                () -> assertThat(metricRegistry.timer("Service.addresses.http://a.requests").getCount())
+                        .isEqualTo(1),
+                () -> assertThat(interceptorProvider.getOutInterceptors()).hasSize(2),
+                () -> assertThat(interceptorProvider.getInFaultInterceptors()).containsExactly(responseInterceptor)
+        );
+    }
+
+    @Test
+    void skipsUnhealthyAddressesUntilUnhealthyDurationElapsed() {
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.ROUND_ROBIN);
+
+        var message = outMessage();
+        interceptor.handleMessage(message);
+        message.setContent(Exception.class, new Fault(new ConnectException("Connection refused")));
+        interceptor.handleFault(message);
+
+        assertAll(
+                () -> assertThat(metricRegistry.meter("Service.addresses.http://a.failures").getCount())
+                        .isEqualTo(1),
+                () -> assertThat(metricRegistry.getGauges().get("Service.addresses.http://a.healthy").getValue())
+                        .isEqualTo(false),
+                () -> assertThat(List.of(interceptor.selectAddress(), interceptor.selectAddress(),
+                        interceptor.selectAddress())).doesNotContain("http://a")
+        );
+
+        nanos += Duration.ofSeconds(10).toNanos();
+        assertThat(List.of(interceptor.selectAddress(), interceptor.selectAddress(), interceptor.selectAddress()))
+                .contains("http://a");
+    }
+
+    @Test
+    void selectsAddressWithFewestRequestsInFlight() {
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.LEAST_IN_FLIGHT);
+        interceptor.handleMessage(outMessage());
+        interceptor.handleMessage(outMessage());
+
+        assertThat(interceptor.selectAddress()).isEqualTo("http://c");
+    }
+
+    @Test
+    void selectsUnusedAddressesFirstWhenLatencyWeighted() {
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.LATENCY_WEIGHTED);
+
+        assertThat(List.of(interceptor.selectAddress(), interceptor.selectAddress(), interceptor.selectAddress()))
+                .containsExactlyInAnyOrderElementsOf(ADDRESSES);
+    }
+
+    @Test
+    void skipsAddressesWithOpenCircuitBreaker() {
+        var circuitBreakerA = new CircuitBreaker(1, Duration.ofSeconds(10), ticker);
+        var circuitBreakerB = new CircuitBreaker(1, Duration.ofSeconds(10), ticker);
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.ROUND_ROBIN,
+                Map.of("http://a", circuitBreakerA, "http://b", circuitBreakerB));
+
+        var message = outMessage();
+        interceptor.handleMessage(message);
+        message.setContent(Exception.class, new Fault(new SocketTimeoutException("Read timed out")));
+        interceptor.handleFault(message);
+
+        assertAll(
+                () -> assertThat(circuitBreakerA.isOpen()).isTrue(),
+                () -> assertThat(circuitBreakerB.isOpen()).isFalse(),
+                () -> assertThat(metricRegistry.getGauges().get("Service.addresses.http://a.healthy").getValue())
+                        .isEqualTo(true),
+                () -> assertThat(List.of(interceptor.selectAddress(), interceptor.selectAddress(),
+                        interceptor.selectAddress(), interceptor.selectAddress()))
+                        .containsOnly("http://b", "http://c")
+        );
+    }
+
+    @Test
+    void recordsSoapFaultsAsCircuitBreakerSuccesses() {
+        var circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), ticker);
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.ROUND_ROBIN,
+                Map.of("http://a", circuitBreaker));
+
+        var message = outMessage();
+        interceptor.handleMessage(message);
+        message.setContent(Exception.class, new Fault(new IllegalArgumentException("invalid")));
+        interceptor.handleFault(message);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+
+    @Test
+    void rejectsRequestsWhenAllCircuitBreakersAreOpen() {
+        var circuitBreakers = ADDRESSES.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        address -> new CircuitBreaker(1, Duration.ofSeconds(10), ticker)));
+        circuitBreakers.values().forEach(CircuitBreaker::onFailure);
+        var interceptor = interceptor(LoadBalancingInterceptor.Strategy.LEAST_IN_FLIGHT, circuitBreakers);
+
+        var message = outMessage();
+        assertAll(
+                () -> assertThatThrownBy(() -> interceptor.handleMessage(message))
+                        .isInstanceOf(Fault.class)
+                        .hasCauseInstanceOf(CircuitBreaker.OpenException.class)
+                        .hasMessageContaining("Circuit breakers are open for all addresses"),
+                () -> assertThat(message.get(Message.ENDPOINT_ADDRESS)).isNull(),
+                () -> assertThat(metricRegistry.meter("Service.circuitBreaker.shortCircuits").getCount())
+                        .isEqualTo(1)
+        );
+
+        nanos += Duration.ofSeconds(10).toNanos();
+        assertThat(interceptor.selectAddress()).isNotNull();
+    }
+
+    @Test
+    void detectsConnectionFailures() {
+        assertAll(
+                () -> assertThat(LoadBalancingInterceptor.isConnectionFailure(
+                        new WebServiceException(new ConnectException("Connection refused")))).isTrue(),
+                () -> assertThat(LoadBalancingInterceptor.isConnectionFailure(
+                        new WebServiceException(new SocketTimeoutException("Connect timed out")))).isTrue(),
+                () -> assertThat(LoadBalancingInterceptor.isConnectionFailure(
+                        new WebServiceException(new SocketTimeoutException("Read timed out")))).isFalse()
+        );
+    }
+}
@@ -0,0 +1,135 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+
+import org.apache.cxf.message.Exchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+class MethodHandleInvokerTest {
+
+    @SuppressWarnings("unused")
+    static class FooService {
+        public String echo(String value, int times) {
+            return value.repeat(times);
+        }
+
+        public void noResult() {
+        }
+
+        public String fail() throws IOException {
+            throw new IOException("failed");
+        }
+
+        public String failWithClassCastException() {
+            throw new ClassCastException("failed");
+        }
+
+        public String withExchange(Exchange exchange) {
+            return "exchange";
+        }
+    }
+
+    interface GreetingService {
+        String greet(String name);
+    }
+
+    static class GreetingServiceImpl implements GreetingService {
+        @Override
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    FooService service;
+    MethodHandleInvoker invoker;
+    Exchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        service = new FooService();
+        invoker = new MethodHandleInvoker(service);
+        exchange = mock(Exchange.class);
+    }
+
+    @Test
+    void invokesThroughMethodHandle() throws Exception {
+        var echo = FooService.class.getMethod("echo", String.class, int.class);
+        var noResult = FooService.class.getMethod("noResult");
+
+        assertAll(
+                () -> assertThat(invoker.hasMethodHandle(echo)).isTrue(),
+                () -> assertThat(invoker.performInvocation(exchange, service, echo, new Object[] { "ab", 2 }))
+                        .isEqualTo("abab"),
+                () -> assertThat(invoker.performInvocation(exchange, service, noResult, new Object[] {})).isNull()
+        );
+    }
+
+    @Test
+    void invokesServiceEndpointInterfaceMethodsThroughMethodHandle() throws Exception {
+        var greetingService = new GreetingServiceImpl();
+        var greetingInvoker = new MethodHandleInvoker(greetingService);
+        // CXF passes the interface method of the operation when the service has an endpoint interface
+        var greet = GreetingService.class.getMethod("greet", String.class);
+
+        assertAll(
+                () -> assertThat(greetingInvoker.hasMethodHandle(greet)).isTrue(),
+                () -> assertThat(greetingInvoker.hasMethodHandle(GreetingServiceImpl.class.getMethod("greet",
+                        String.class))).isTrue(),
+                () -> assertThat(greetingInvoker.performInvocation(exchange, greetingService, greet,
+                        new Object[] { "Bob" })).isEqualTo("Hello Bob")
+        );
+    }
+
+    @Test
+    void wrapsExceptionsLikeReflectiveInvocation() throws NoSuchMethodException {
+        var fail = FooService.class.getMethod("fail");
+
+        assertThatThrownBy(() -> invoker.performInvocation(exchange, service, fail, new Object[] {}))
+                .isInstanceOf(InvocationTargetException.class)
+                .cause()
+                .isInstanceOf(IOException.class)
+                .hasMessage("failed");
+    }
+
+    @Test
+    void wrapsArgumentExceptionsThrownByTheService() throws NoSuchMethodException {
+        var fail = FooService.class.getMethod("failWithClassCastException");
+
+        assertThatThrownBy(() -> invoker.performInvocation(exchange, service, fail, null))
+                .isInstanceOf(InvocationTargetException.class)
+                .cause()
+                .isInstanceOf(ClassCastException.class)
+                .hasMessage("failed");
+    }
+
+    @Test
+    void rejectsMismatchedArgumentsLikeReflectiveInvocation() throws NoSuchMethodException {
+        var echo = FooService.class.getMethod("echo", String.class, int.class);
+
+        assertAll(
+                () -> assertThatIllegalArgumentException().isThrownBy(() ->
+                        invoker.performInvocation(exchange, service, echo, new Object[] { "ab", "2" })),
+                () -> assertThatIllegalArgumentException().isThrownBy(() ->
+                        invoker.performInvocation(exchange, service, echo, new Object[] { "ab", null })),
+                () -> assertThatIllegalArgumentException().isThrownBy(() ->
+                        invoker.performInvocation(exchange, service, echo, new Object[] { "ab" })),
+                () -> assertThatIllegalArgumentException().isThrownBy(() ->
+                        invoker.performInvocation(exchange, new Object(), echo, new Object[] { "ab", 2 }))
+        );
+    }
+
+    @Test
+    void invokesMethodsTakingExchangeReflectively() throws NoSuchMethodException {
+        var withExchange = FooService.class.getMethod("withExchange", Exchange.class);
+
+        assertThat(invoker.hasMethodHandle(withExchange)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import jakarta.validation.Validation;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.service.invoker.Invoker;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.service.model.OperationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+class OperationDispatchingInvokerTest {
+
+    @SuppressWarnings("unused")
+    static class FooService {
+        public void foo() {
+        }
+
+        public void bar() {
+        }
+    }
+
+    static class RootInvoker implements Invoker {
+        @Override
+        public Object invoke(Exchange exchange, Object o) {
+            return "root";
+        }
+    }
+
+    Exchange exchange;
+    OperationInfo operationInfo;
+    Invoker underlying;
+    Invoker fooChain;
+    OperationDispatchingInvoker invoker;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        exchange = mock(Exchange.class);
+        var bindingOperationInfo = mock(BindingOperationInfo.class);
+        when(exchange.getBindingOperationInfo()).thenReturn(bindingOperationInfo);
+        operationInfo = mock(OperationInfo.class);
+        when(bindingOperationInfo.getOperationInfo()).thenReturn(operationInfo);
+
+        underlying = mock(Invoker.class);
+        fooChain = new ValidatingInvoker(new RootInvoker(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        invoker = new OperationDispatchingInvoker(underlying,
+                ImmutableMap.of(FooService.class.getMethod("foo"), fooChain));
+    }
+
+    private void setTargetMethod(String methodName) throws NoSuchMethodException {
+        when(operationInfo.getProperty(Method.class.getName())).thenReturn(FooService.class.getMethod(methodName));
+    }
+
+    @Test
+    void dispatchesToOperationChain() throws NoSuchMethodException {
+        setTargetMethod("foo");
+
+        var result = invoker.invoke(exchange, null);
+
+        assertThat(result).isEqualTo("root");
+        verifyNoInteractions(underlying);
+    }
+
+    @Test
+    void dispatchesToUnderlyingWithoutOperationChain() throws NoSuchMethodException {
+        setTargetMethod("bar");
+
+        invoker.invoke(exchange, null);
+
+        verify(underlying).invoke(exchange, null);
+    }
+
+    @Test
+    void describeChains() {
+        assertThat(invoker.describeChains()).containsExactly(entry("foo", "ValidatingInvoker -> RootInvoker"));
+    }
+}
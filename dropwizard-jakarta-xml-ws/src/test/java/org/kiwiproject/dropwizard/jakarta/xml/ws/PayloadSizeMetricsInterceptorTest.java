@@ -0,0 +1,117 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.attachment.AttachmentInInterceptor;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.xml.namespace.QName;
+
+class PayloadSizeMetricsInterceptorTest {
+
+    MetricRegistry metricRegistry;
+    MessageImpl message;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        message = new MessageImpl();
+        var exchange = new ExchangeImpl();
+        var bindingOperationInfo = mock(BindingOperationInfo.class);
+        when(bindingOperationInfo.getName()).thenReturn(new QName("http://test", "foo"));
+        exchange.put(BindingOperationInfo.class, bindingOperationInfo);
+        message.setExchange(exchange);
+    }
+
+    @Test
+    void ordering() {
+        var in = PayloadSizeMetricsInterceptor.in(metricRegistry, "prefix", "requestBytes");
+        var out = PayloadSizeMetricsInterceptor.out(metricRegistry, "prefix", "responseBytes");
+
+        assertAll(
+                () -> assertThat(in.getAfter()).contains(GZIPInInterceptor.class.getName()),
+                () -> assertThat(in.getBefore()).contains(AttachmentInInterceptor.class.getName()),
+                () -> assertThat(out.getAfter()).contains(GZIPOutInterceptor.class.getName())
+        );
+    }
+
+    @Test
+    void recordsOutgoingBytesOnClose() throws IOException {
+        var interceptor = PayloadSizeMetricsInterceptor.out(metricRegistry, "prefix", "responseBytes");
+        var target = new ByteArrayOutputStream();
+        message.setContent(OutputStream.class, target);
+
+        interceptor.handleMessage(message);
+
+        var outputStream = message.getContent(OutputStream.class);
+        outputStream.write("<soap:Envelope/>".getBytes());
+        outputStream.close();
+
+        var histogram = metricRegistry.histogram("prefix.foo.responseBytes");
+        assertAll(
+                () -> assertThat(target.toString()).isEqualTo("<soap:Envelope/>"),
+                () -> assertThat(histogram.getCount()).isEqualTo(1),
+                () -> assertThat(histogram.getSnapshot().getMax()).isEqualTo(16)
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsIncomingBytesOnceProcessed() throws IOException {
+        var interceptor = PayloadSizeMetricsInterceptor.in(metricRegistry, "prefix", "requestBytes");
+        var chain = mock(PhaseInterceptorChain.class);
+        message.setInterceptorChain(chain);
+        message.setContent(InputStream.class, new ByteArrayInputStream("<soap:Envelope/>".getBytes()));
+
+        interceptor.handleMessage(message);
+
+        var recordingInterceptor = ArgumentCaptor.forClass(Interceptor.class);
+        verify(chain).add(recordingInterceptor.capture());
+
+        message.getContent(InputStream.class).readAllBytes();
+        ((Interceptor<Message>) recordingInterceptor.getValue()).handleMessage(message);
+
+        var histogram = metricRegistry.histogram("prefix.foo.requestBytes");
+        assertAll(
+                () -> assertThat(histogram.getCount()).isEqualTo(1),
+                () -> assertThat(histogram.getSnapshot().getMax()).isEqualTo(16)
+        );
+    }
+
+    @Test
+    void ignoresMessagesWithoutOperation() throws IOException {
+        var interceptor = PayloadSizeMetricsInterceptor.out(metricRegistry, "prefix", "responseBytes");
+        message.setExchange(new ExchangeImpl());
+        var target = new ByteArrayOutputStream();
+        message.setContent(OutputStream.class, target);
+
+        interceptor.handleMessage(message);
+        message.getContent(OutputStream.class).close();
+
+        assertAll(
+                () -> assertThat(message.getContent(OutputStream.class)).isSameAs(target),
+                () -> assertThat(metricRegistry.getHistograms()).isEmpty()
+        );
+    }
+}
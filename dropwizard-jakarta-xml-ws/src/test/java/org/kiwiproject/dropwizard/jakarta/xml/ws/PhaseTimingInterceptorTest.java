@@ -0,0 +1,93 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.phase.PhaseManagerImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+class PhaseTimingInterceptorTest {
+
+    MetricRegistry metricRegistry;
+    MessageImpl message;
+    PhaseInterceptorChain chain;
+    List<String> invokedPhases;
+
+    class PhaseRecordingInterceptor extends AbstractPhaseInterceptor<Message> {
+
+        PhaseRecordingInterceptor(String phase) {
+            super(phase);
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            invokedPhases.add(getPhase());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        invokedPhases = new ArrayList<>();
+
+        message = new MessageImpl();
+        var exchange = new ExchangeImpl();
+        var bindingOperationInfo = mock(BindingOperationInfo.class);
+        when(bindingOperationInfo.getName()).thenReturn(new QName("http://test", "foo"));
+        exchange.put(BindingOperationInfo.class, bindingOperationInfo);
+        message.setExchange(exchange);
+
+        chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        message.setInterceptorChain(chain);
+    }
+
+    @Test
+    void recordsDurationOfEachPhase() {
+        chain.add(PhaseTimingInterceptor.in(metricRegistry, "prefix"));
+        chain.add(new PhaseRecordingInterceptor(Phase.UNMARSHAL));
+        chain.add(new PhaseRecordingInterceptor(Phase.INVOKE));
+
+        chain.doIntercept(message);
+
+        assertAll(
+                () -> assertThat(invokedPhases).containsExactly(Phase.UNMARSHAL, Phase.INVOKE),
+                () -> assertThat(metricRegistry.getHistograms()).containsOnlyKeys(
+                        "prefix.foo.phases.in.receive",
+                        "prefix.foo.phases.in.unmarshal",
+                        "prefix.foo.phases.in.invoke"),
+                () -> assertThat(metricRegistry.getHistograms().values())
+                        .allSatisfy(histogram -> assertThat(histogram.getCount()).isEqualTo(1))
+        );
+    }
+
+    @Test
+    void ignoresMessagesWithoutOperation() {
+        message.setExchange(new ExchangeImpl());
+        chain.add(PhaseTimingInterceptor.in(metricRegistry, "prefix"));
+        chain.add(new PhaseRecordingInterceptor(Phase.INVOKE));
+
+        chain.doIntercept(message);
+
+        assertAll(
+                () -> assertThat(invokedPhases).containsExactly(Phase.INVOKE),
+                () -> assertThat(metricRegistry.getHistograms()).isEmpty()
+        );
+    }
+}
@@ -0,0 +1,276 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.xml.ws.WebServiceException;
+import jakarta.xml.ws.soap.SOAPFaultException;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.frontend.ClientProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ResilientClientProxyTest {
+
+    public interface Service {
+        String get();
+
+        String put(String value);
+    }
+
+    static class FakeService implements Service {
+        final AtomicInteger getCalls = new AtomicInteger();
+        final AtomicInteger putCalls = new AtomicInteger();
+        Callable<String> get = () -> "result";
+        Callable<String> put = () -> "result";
+
+        @Override
+        public String get() {
+            getCalls.incrementAndGet();
+            return call(get);
+        }
+
+        @Override
+        public String put(String value) {
+            putCalls.incrementAndGet();
+            return call(put);
+        }
+
+        private static String call(Callable<String> callable) {
+            try {
+                return callable.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    MetricRegistry metricRegistry;
+    Client client;
+    FakeService delegate;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        client = mock(Client.class);
+        delegate = new FakeService();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Service resilientProxy(ClientBuilder<Service> clientBuilder, CircuitBreaker circuitBreaker) {
+        return new ResilientClientProxy(delegate, client, clientBuilder, circuitBreaker, executor, metricRegistry)
+                .newProxy(Service.class);
+    }
+
+    private static WebServiceException transportFailure() {
+        return new WebServiceException("Could not send Message.", new ConnectException("Connection refused"));
+    }
+
+    @Test
+    void keepsCxfClient() {
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address"), null);
+
+        assertThat(ClientProxy.getClient(proxy)).isSameAs(client);
+    }
+
+    @Test
+    void retriesIdempotentOperationsOnTransportFailures() {
+        var calls = new AtomicInteger();
+        delegate.get = () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw transportFailure();
+            }
+            return "result";
+        };
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address")
+                .idempotentOperations("get")
+                .retry(3, Duration.ZERO), null);
+
+        assertAll(
+                () -> assertThat(proxy.get()).isEqualTo("result"),
+                () -> assertThat(delegate.getCalls).hasValue(2),
+                () -> assertThat(metricRegistry.meter("org.kiwiproject.dropwizard.jakarta.xml.ws"
+                        + ".ResilientClientProxyTest$Service.get.retries").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void doesNotRetryNonIdempotentOperationsOrFaults() {
+        delegate.put = () -> {
+            throw transportFailure();
+        };
+        delegate.get = () -> {
+            throw mock(SOAPFaultException.class);
+        };
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address")
+                .idempotentOperations("get")
+                .retry(3, Duration.ZERO), null);
+
+        assertThatThrownBy(() -> proxy.put("value")).isInstanceOf(WebServiceException.class);
+        assertThatThrownBy(proxy::get).isInstanceOf(SOAPFaultException.class);
+        assertAll(
+                () -> assertThat(delegate.putCalls).hasValue(1),
+                () -> assertThat(delegate.getCalls).hasValue(1)
+        );
+    }
+
+    @Test
+    void failsOverConnectionFailuresToOtherAddresses() {
+        var calls = new AtomicInteger();
+        delegate.put = () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw transportFailure();
+            }
+            return "result";
+        };
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://a")
+                .loadBalancing(LoadBalancingInterceptor.Strategy.ROUND_ROBIN, "http://b"), null);
+
+        assertAll(
+                () -> assertThat(proxy.put("value")).isEqualTo("result"),
+                () -> assertThat(delegate.putCalls).hasValue(2),
+                () -> assertThat(metricRegistry.meter("org.kiwiproject.dropwizard.jakarta.xml.ws"
+                        + ".ResilientClientProxyTest$Service.put.failovers").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void shortCircuitsCallsWhenCircuitBreakerIsOpen() {
+        delegate.put = () -> {
+            throw transportFailure();
+        };
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address"),
+                new CircuitBreaker(2, Duration.ofMinutes(1)));
+
+        assertThatThrownBy(() -> proxy.put("value")).hasCauseInstanceOf(ConnectException.class);
+        assertThatThrownBy(() -> proxy.put("value")).hasCauseInstanceOf(ConnectException.class);
+        assertThatThrownBy(proxy::get)
+                .isInstanceOf(WebServiceException.class)
+                .hasMessage("Circuit breaker is open for http://address");
+
+        assertAll(
+                () -> assertThat(delegate.getCalls).hasValue(0),
+                () -> assertThat(metricRegistry.meter("org.kiwiproject.dropwizard.jakarta.xml.ws"
+                        + ".ResilientClientProxyTest$Service.circuitBreaker.shortCircuits").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void hedgesSlowCalls() {
+        var calls = new AtomicInteger();
+        delegate.get = () -> {
+            if (calls.incrementAndGet() == ResilientClientProxy.MIN_HEDGE_SAMPLES + 1) {
+                Thread.sleep(5_000);
+                return "slow";
+            }
+            return "fast";
+        };
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address")
+                .idempotentOperations("get")
+                .hedge(0.9), null);
+
+        for (var i = 0; i < ResilientClientProxy.MIN_HEDGE_SAMPLES; i++) {
+            proxy.get();
+        }
+
+        assertAll(
+                () -> assertThat(proxy.get()).isEqualTo("fast"),
+                () -> assertThat(calls).hasValue(ResilientClientProxy.MIN_HEDGE_SAMPLES + 2),
+                () -> assertThat(metricRegistry.meter("org.kiwiproject.dropwizard.jakarta.xml.ws"
+                        + ".ResilientClientProxyTest$Service.get.hedges").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void callsWithoutHedgingWhenHedgeExecutorRejectsCalls() {
+        var proxy = resilientProxy(new ClientBuilder<>(Service.class, "http://address")
+                .idempotentOperations("get")
+                .hedge(0.9), null);
+        for (var i = 0; i < ResilientClientProxy.MIN_HEDGE_SAMPLES; i++) {
+            proxy.get();
+        }
+
+        executor.shutdownNow();
+
+        assertAll(
+                () -> assertThat(proxy.get()).isEqualTo("result"),
+                () -> assertThat(delegate.getCalls).hasValue(ResilientClientProxy.MIN_HEDGE_SAMPLES + 1),
+                () -> assertThat(metricRegistry.meter("org.kiwiproject.dropwizard.jakarta.xml.ws"
+                        + ".ResilientClientProxyTest$Service.get.hedges").getCount()).isZero()
+        );
+    }
+
+    @Test
+    void refreshesHedgeDelayPeriodically() {
+        var operationLatencies = new ResilientClientProxy.OperationLatencies();
+        for (var i = 0; i < ResilientClientProxy.MIN_HEDGE_SAMPLES; i++) {
+            operationLatencies.histogram.update(10);
+        }
+        var refreshInterval = ResilientClientProxy.HEDGE_DELAY_REFRESH_INTERVAL.toNanos();
+
+        var initialDelay = operationLatencies.hedgeDelayNanos(0.9, 0);
+        for (var i = 0; i < 10 * ResilientClientProxy.MIN_HEDGE_SAMPLES; i++) {
+            operationLatencies.histogram.update(1_000);
+        }
+
+        assertAll(
+                () -> assertThat(initialDelay).isEqualTo(10),
+                () -> assertThat(operationLatencies.hedgeDelayNanos(0.9, refreshInterval - 1)).isEqualTo(10),
+                () -> assertThat(operationLatencies.hedgeDelayNanos(0.9, refreshInterval)).isEqualTo(1_000)
+        );
+    }
+
+    @Test
+    void computesCappedBackoffWithJitter() {
+        var random = new Random(0);
+        var backoff = Duration.ofMillis(100).toNanos();
+        var maxBackoff = Duration.ofSeconds(1).toNanos();
+
+        assertAll(
+                () -> assertThat(ResilientClientProxy.backoffNanos(1, backoff, maxBackoff, random))
+                        .isBetween(backoff / 2, backoff),
+                () -> assertThat(ResilientClientProxy.backoffNanos(3, backoff, maxBackoff, random))
+                        .isBetween(2 * backoff, 4 * backoff),
+                () -> assertThat(ResilientClientProxy.backoffNanos(5, backoff, maxBackoff, random))
+                        .isBetween(maxBackoff / 2, maxBackoff),
+                () -> assertThat(ResilientClientProxy.backoffNanos(100, backoff, maxBackoff, random))
+                        .isBetween(maxBackoff / 2, maxBackoff),
+                () -> assertThat(ResilientClientProxy.backoffNanos(3, 0, maxBackoff, random)).isZero()
+        );
+    }
+
+    @Test
+    void detectsTransportFailures() {
+        assertAll(
+                () -> assertThat(ResilientClientProxy.isTransportFailure(transportFailure())).isTrue(),
+                () -> assertThat(ResilientClientProxy.isTransportFailure(new WebServiceException("error")))
+                        .isFalse(),
+                () -> assertThat(ResilientClientProxy.isTransportFailure(new WebServiceException("error",
+                        new CircuitBreaker.OpenException("Circuit breakers are open")))).isFalse(),
+                () -> assertThat(ResilientClientProxy.isTransportFailure(mock(SOAPFaultException.class)))
+                        .isFalse(),
+                () -> assertThat(ResilientClientProxy.isTransportFailure(new IllegalStateException()))
+                        .isFalse()
+        );
+    }
+}
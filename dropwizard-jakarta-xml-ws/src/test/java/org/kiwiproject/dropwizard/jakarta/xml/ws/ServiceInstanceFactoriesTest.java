@@ -0,0 +1,167 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+
+import com.codahale.metrics.MetricRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.xml.ws.WebServiceContext;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class ServiceInstanceFactoriesTest {
+
+    public static class ContextService {
+        @Resource
+        WebServiceContext context;
+        boolean constructed;
+
+        @PostConstruct
+        public void init() {
+            constructed = true;
+        }
+    }
+
+    MetricRegistry metricRegistry;
+    Exchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        exchange = mock(Exchange.class);
+    }
+
+    @Test
+    void pooledInstanceFactoryReusesReleasedInstances() throws Throwable {
+        var factory = new ServiceInstanceFactories.PooledInstanceFactory(Object::new, 2, metricRegistry, "pool");
+
+        var first = factory.create(exchange);
+        var second = factory.create(exchange);
+        assertThat(factory.getInUse()).isEqualTo(2);
+
+        factory.release(exchange, first);
+        var third = factory.create(exchange);
+
+        assertAll(
+                () -> assertThat(second).isNotSameAs(first),
+                () -> assertThat(third).isSameAs(first),
+                () -> assertThat(factory.getSize()).isEqualTo(2),
+                () -> assertThat(metricRegistry.getGauges().get("pool.size").getValue()).isEqualTo(2),
+                () -> assertThat(metricRegistry.getGauges().get("pool.inUse").getValue()).isEqualTo(2),
+                () -> assertThat(metricRegistry.meter("pool.saturated").getCount()).isZero()
+        );
+    }
+
+    @Test
+    void pooledInstanceFactoryWaitsWhenSaturated() throws Throwable {
+        var factory = new ServiceInstanceFactories.PooledInstanceFactory(Object::new, 1, metricRegistry, "pool");
+        var instance = factory.create(exchange);
+
+        var waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return factory.create(exchange);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+
+        // wait until the second request is blocked waiting for the instance
+        while (metricRegistry.meter("pool.saturated").getCount() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(waiting).isNotDone();
+
+        factory.release(exchange, instance);
+
+        assertAll(
+                () -> assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(instance),
+                () -> assertThat(factory.getSize()).isEqualTo(1),
+                () -> assertThat(metricRegistry.timer("pool.wait").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void pooledInstanceFactoryFailsAfterMaxWait() throws Throwable {
+        var factory = new ServiceInstanceFactories.PooledInstanceFactory(Object::new, 1, Duration.ofMillis(10),
+                metricRegistry, "pool");
+        factory.create(exchange);
+
+        assertAll(
+                () -> assertThatThrownBy(() -> factory.create(exchange))
+                        .isInstanceOf(Fault.class)
+                        .hasCauseInstanceOf(TimeoutException.class)
+                        .hasRootCauseMessage("No service instance available after waiting 10 ms"),
+                () -> assertThat(factory.getInUse()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("pool.saturated").getCount()).isEqualTo(1),
+                () -> assertThat(metricRegistry.meter("pool.timeouts").getCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void pooledInstanceFactoryReleasesPermitWhenInstanceCreationFails() throws Throwable {
+        var calls = new AtomicInteger();
+        Supplier<Object> instanceSupplier = () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new NoClassDefFoundError("Service");
+            }
+            return new Object();
+        };
+        var factory = new ServiceInstanceFactories.PooledInstanceFactory(instanceSupplier, 1, Duration.ZERO,
+                metricRegistry, "pool");
+
+        assertThatThrownBy(() -> factory.create(exchange)).isInstanceOf(NoClassDefFoundError.class);
+
+        assertAll(
+                () -> assertThat(factory.getInUse()).isZero(),
+                () -> assertThat(factory.getSize()).isZero(),
+                () -> assertThat(factory.create(exchange)).isNotNull()
+        );
+    }
+
+    @Test
+    void perRequestInstanceFactoryCreatesNewInstances() {
+        var factory = new ServiceInstanceFactories.PerRequestInstanceFactory(Object::new);
+
+        var first = factory.create(exchange);
+        factory.release(exchange, first);
+
+        assertThat(factory.create(exchange)).isNotSameAs(first);
+    }
+
+    @Test
+    void pooledInstanceFactoryInjectsResources() throws Throwable {
+        var factory = new ServiceInstanceFactories.PooledInstanceFactory(ContextService::new, 1, metricRegistry,
+                "pool");
+
+        var instance = (ContextService) factory.create(exchange);
+
+        assertAll(
+                () -> assertThat(instance.context).isNotNull(),
+                () -> assertThat(instance.constructed).isTrue()
+        );
+    }
+
+    @Test
+    void perRequestInstanceFactoryInjectsResources() {
+        var factory = new ServiceInstanceFactories.PerRequestInstanceFactory(ContextService::new);
+
+        var instance = (ContextService) factory.create(exchange);
+
+        assertAll(
+                () -> assertThat(instance.context).isNotNull(),
+                () -> assertThat(instance.constructed).isTrue()
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.codahale.metrics.annotation.Metered;
+import com.codahale.metrics.annotation.Timed;
+import io.dropwizard.hibernate.UnitOfWork;
+import io.dropwizard.validation.Validated;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.junit.jupiter.api.Test;
+
+class ServiceModelTest {
+
+    interface FooServiceInterface {
+        @Timed(name = "interfaceTimer")
+        String timedOnInterface();
+
+        @Metered
+        void meteredOnBoth(@Valid String value);
+    }
+
+    @SuppressWarnings("unused")
+    static class FooService implements FooServiceInterface {
+        @Override
+        public String timedOnInterface() {
+            return "foo";
+        }
+
+        @Override
+        @Metered(name = "classMeter")
+        public void meteredOnBoth(String value) {
+        }
+
+        @UnitOfWork
+        public void unitOfWork(@Validated(Default.class) String value, String notValidated) {
+        }
+
+        public void plain() {
+        }
+    }
+
+    @Test
+    void cachesModelPerClass() {
+        assertThat(ServiceModel.of(FooService.class)).isSameAs(ServiceModel.of(FooService.class));
+    }
+
+    @Test
+    void scansPublicMethodsExceptObjectMethods() throws NoSuchMethodException {
+        var model = ServiceModel.of(FooService.class);
+
+        assertAll(
+                () -> assertThat(model.getServiceClass()).isEqualTo(FooService.class),
+                () -> assertThat(model.getOperations())
+                        .extracting(ServiceModel.Operation::getName)
+                        .containsExactlyInAnyOrder("timedOnInterface", "meteredOnBoth", "unitOfWork", "plain"),
+                () -> assertThat(model.getOperation(FooService.class.getMethod("plain"))).isNotNull(),
+                () -> assertThat(model.getOperation(Object.class.getMethod("hashCode"))).isNull()
+        );
+    }
+
+    @Test
+    void mergesInterfaceAnnotations() throws NoSuchMethodException {
+        var model = ServiceModel.of(FooService.class);
+        var timedOperation = model.getOperation(FooService.class.getMethod("timedOnInterface"));
+        var meteredOperation = model.getOperation(FooService.class.getMethod("meteredOnBoth", String.class));
+
+        assertAll(
+                () -> assertThat(model.getOperationsAnnotatedWith(Timed.class))
+                        .extracting(ServiceModel.Operation::getName)
+                        .containsExactly("timedOnInterface"),
+                () -> assertThat(timedOperation.getAnnotation(Timed.class).name()).isEqualTo("interfaceTimer"),
+                // annotations on the service class take precedence
+                () -> assertThat(meteredOperation.getAnnotation(Metered.class).name()).isEqualTo("classMeter"),
+                () -> assertThat(model.getOperationsAnnotatedWith(UnitOfWork.class))
+                        .extracting(ServiceModel.Operation::getName)
+                        .containsExactly("unitOfWork")
+        );
+    }
+
+    @Test
+    void collectsValidationGroups() throws NoSuchMethodException {
+        var model = ServiceModel.of(FooService.class);
+        var unitOfWork = model.getOperation(FooService.class.getMethod("unitOfWork", String.class, String.class));
+        var meteredOnBoth = model.getOperation(FooService.class.getMethod("meteredOnBoth", String.class));
+        var plain = model.getOperation(FooService.class.getMethod("plain"));
+
+        assertAll(
+                () -> assertThat(unitOfWork.isValidated()).isTrue(),
+                () -> assertThat(unitOfWork.getValidationGroups(0)).containsExactly(Default.class),
+                () -> assertThat(unitOfWork.getValidationGroups(1)).isEmpty(),
+                () -> assertThat(meteredOnBoth.isValidated()).isTrue(),
+                () -> assertThat(meteredOnBoth.getValidationGroups(0)).containsExactly(Default.class),
+                () -> assertThat(plain.isValidated()).isFalse()
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package org.kiwiproject.dropwizard.jakarta.xml.ws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class StreamingDataHandlersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fromPath() throws IOException {
+        var file = Files.writeString(tempDir.resolve("data.txt"), "file content");
+
+        var dataHandler = StreamingDataHandlers.fromPath(file, "text/plain");
+
+        try (var in = dataHandler.getInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("file content");
+        }
+        assertAll(
+                () -> assertThat(dataHandler.getContentType()).isEqualTo("text/plain"),
+                () -> assertThat(file).exists()
+        );
+    }
+
+    @Test
+    void spoolToFile() throws IOException {
+        var source = new DataHandler(new ByteArrayDataSource("attachment".getBytes(), "application/octet-stream"));
+
+        var spooled = StreamingDataHandlers.spoolToFile(source, tempDir);
+
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).hasSize(1);
+        }
+
+        var out = new ByteArrayOutputStream();
+        var transferred = StreamingDataHandlers.transferTo(spooled, out);
+
+        assertAll(
+                () -> assertThat(transferred).isEqualTo(10),
+                () -> assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("attachment"),
+                () -> assertThat(spooled.getContentType()).isEqualTo("application/octet-stream")
+        );
+
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void spoolToFileCanOnlyBeReadOnce() throws IOException {
+        var source = new DataHandler(new ByteArrayDataSource("attachment".getBytes(), "application/octet-stream"));
+        var spooled = StreamingDataHandlers.spoolToFile(source, tempDir);
+
+        StreamingDataHandlers.transferTo(spooled, new ByteArrayOutputStream());
+
+        assertThatIOException()
+                .isThrownBy(spooled::getInputStream)
+                .withMessageContaining("has already been read and deleted");
+    }
+
+    @Test
+    void dataSourcesAreReadOnly() throws IOException {
+        var file = Files.writeString(tempDir.resolve("data.txt"), "file content");
+
+        var dataHandler = StreamingDataHandlers.fromPath(file, "text/plain");
+
+        assertThatIOException()
+                .isThrownBy(() -> dataHandler.getDataSource().getOutputStream())
+                .withMessage("PathDataSource is read-only");
+    }
+}
@@ -172,4 +172,27 @@ class UnitOfWorkInvokerFactoryTest {
         verify(transaction, times(1)).rollback();
         verify(session, times(1)).close();
     }
+
+    @Test
+    void operationWithoutAnnotationIsNotWrapped() throws NoSuchMethodException {
+        var fooInvoker = new FooInvoker();
+        var operation = ServiceModel.of(FooService.class).getOperation(FooService.class.getMethod("foo"));
+
+        assertThat(invokerBuilder.create(operation, fooInvoker, sessionFactory)).isSameAs(fooInvoker);
+        verifyNoInteractions(sessionFactory);
+    }
+
+    @Test
+    void operationWithUnitOfWorkAnnotation() throws NoSuchMethodException {
+        var operation = ServiceModel.of(FooService.class)
+                .getOperation(FooService.class.getMethod("unitOfWork", boolean.class));
+        var invoker = invokerBuilder.create(operation, new UnitOfWorkInvoker(false), sessionFactory);
+        this.setTargetMethod(exchange, FooService.class, "unitOfWork", boolean.class); // simulate CXF behavior
+
+        var result = invoker.invoke(exchange, null);
+        assertThat(result).isEqualTo("unitOfWork return");
+
+        verify(transaction, times(1)).commit();
+        verify(session, times(1)).close();
+    }
 }
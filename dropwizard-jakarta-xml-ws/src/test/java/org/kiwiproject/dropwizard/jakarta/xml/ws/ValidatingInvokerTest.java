@@ -88,6 +88,18 @@ class ValidatingInvokerTest {
         }
     }
 
+    @SuppressWarnings("all")
+    interface DummyServiceInterface {
+        void withImplementationValidation(RootParam1 rootParam1);
+    }
+
+    @SuppressWarnings("all")
+    static class DummyServiceImpl implements DummyServiceInterface {
+        @Override
+        public void withImplementationValidation(@Valid RootParam1 rootParam1) {
+        }
+    }
+
     @BeforeEach
     void setup() {
         underlying = mock(Invoker.class);
@@ -175,4 +187,22 @@ class ValidatingInvokerTest {
 
         verify(underlying).invoke(exchange, params);
     }
+
+    @Test
+    void invokeWithValidationOfResolvedOperation() throws NoSuchMethodException {
+        // CXF invokes the service endpoint interface method, which has no @Valid annotation
+        var interfaceMethod = DummyServiceInterface.class.getMethod("withImplementationValidation", RootParam1.class);
+        var operationInfo = exchange.getBindingOperationInfo().getOperationInfo();
+        when(operationInfo.getProperty(Method.class.getName())).thenReturn(interfaceMethod);
+        var operation = ServiceModel.of(DummyServiceImpl.class).getOperation(
+                DummyServiceImpl.class.getMethod("withImplementationValidation", RootParam1.class));
+        var operationInvoker = new ValidatingInvoker(underlying,
+                Validation.buildDefaultValidatorFactory().getValidator(), operation);
+
+        var params = List.of(new RootParam1(new ChildParam("")));
+        assertThatThrownBy(() -> operationInvoker.invoke(exchange, params))
+                .isExactlyInstanceOf(ValidationException.class);
+
+        verifyNoMoreInteractions(underlying);
+    }
 }